@@ -0,0 +1,14 @@
+package com.dio.santander.apimanagerpoints.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+    public static final String ACCESS_LEVELS = "accessLevels";
+    public static final String DATE_TYPES = "dateTypes";
+    public static final String OCCURRENCES = "occurrences";
+    public static final String USER_CATEGORIES = "userCategories";
+    public static final String WORK_DAYS = "workDays";
+}
@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.dtos.AccessLevelDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.services.AccessLevelService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class AccessLevelController {
     private AccessLevelService accessLevelService;
 
     @GetMapping
-    public List<AccessLevelDTO> findAll() {
-        return accessLevelService.findAll();
+    public ResponseEntity<List<AccessLevelDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(accessLevelService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(accessLevelService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AccessLevelDTO> find(@PathVariable Long id) {
-        return ResponseEntity.ok().body(accessLevelService.find(id));
+    public ResponseEntity<AccessLevelDTO> find(@PathVariable Long id, WebRequest request) {
+        String eTag = ETags.of(accessLevelService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(accessLevelService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class AccessLevelController {
     }
 
     @PutMapping
-    public ResponseEntity<AccessLevelDTO> update(@RequestBody @Valid AccessLevelDTO objDto) {
-        return ResponseEntity.ok().body(accessLevelService.update(objDto));
+    public ResponseEntity<AccessLevelDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid AccessLevelDTO objDto) {
+        return ResponseEntity.ok().body(accessLevelService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        accessLevelService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        accessLevelService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class AccessLevelController {
         Page<AccessLevelDTO> listDto = accessLevelService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<AccessLevelDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<AccessLevelDTO> listDto = accessLevelService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
@@ -0,0 +1,41 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.dtos.BalanceRecomputationJobDTO;
+import com.dio.santander.apimanagerpoints.services.BalanceRecomputationService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/admin/balance_recomputations")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BalanceRecomputationController {
+    private BalanceRecomputationService balanceRecomputationService;
+
+    @PostMapping
+    public ResponseEntity<BalanceRecomputationJobDTO> start(
+            @RequestParam(value = "companyId", required = false) Long companyId,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        BalanceRecomputationJobDTO objDto = balanceRecomputationService.start(companyId, from);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+                .buildAndExpand(objDto.getId()).toUri();
+        return ResponseEntity.accepted().location(uri).body(objDto);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BalanceRecomputationJobDTO> find(@PathVariable String id) {
+        return ResponseEntity.ok().body(balanceRecomputationService.find(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BalanceRecomputationJobDTO> cancel(@PathVariable String id) {
+        return ResponseEntity.accepted().body(balanceRecomputationService.cancel(id));
+    }
+}
@@ -1,29 +1,54 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
+import com.dio.santander.apimanagerpoints.dtos.BankOfHourBalanceDTO;
 import com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO;
+import com.dio.santander.apimanagerpoints.dtos.ImportResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.KeysetPageDTO;
 import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.dio.santander.apimanagerpoints.models.BankOfHourPK;
 import com.dio.santander.apimanagerpoints.services.BankOfHourService;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
+import com.dio.santander.apimanagerpoints.services.JsonArrayStreamer;
+import com.dio.santander.apimanagerpoints.services.NdjsonImportService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/v1/bank_of_hours")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BankOfHourController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private BankOfHourService bankOfHourService;
+    private JsonArrayStreamer jsonArrayStreamer;
+    private NdjsonImportService ndjsonImportService;
 
     @GetMapping
-    public List<BankOfHourDTO> findAll() {
-        return bankOfHourService.findAll();
+    public ResponseEntity<StreamingResponseBody> findAll(
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        DataFormat format = DataFormat.negotiate(accept);
+        StreamingResponseBody body = out -> bankOfHourService.streamAll(out, selection, format);
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
     }
 
     @GetMapping("/pk")
@@ -34,9 +59,24 @@ public class BankOfHourController {
         return ResponseEntity.ok().body(bankOfHourService.find(bankOfHourId, movementId, userId));
     }
 
+    @GetMapping("/balance")
+    public ResponseEntity<BankOfHourBalanceDTO> balance(
+            @RequestParam Long userId,
+            @RequestParam(value = "at", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        LocalDateTime reference = at == null ? LocalDateTime.now() : at;
+        return ResponseEntity.ok().body(BankOfHourBalanceDTO.builder()
+                .userId(userId)
+                .at(reference.toString())
+                .balance(bankOfHourService.balance(userId, reference))
+                .build());
+    }
+
     @PostMapping
-    public ResponseEntity<BankOfHourDTO> insert(@RequestBody @Valid BankOfHourDTO objDto) {
-        objDto = bankOfHourService.insert(objDto);
+    public ResponseEntity<BankOfHourDTO> insert(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid BankOfHourDTO objDto) {
+        objDto = bankOfHourService.insert(objDto, idempotencyKey);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/pk?bankOfHourId={bankOfHourId}&movementId={movementId}&userId={userId}")
                 .buildAndExpand(
@@ -46,6 +86,13 @@ public class BankOfHourController {
         return ResponseEntity.created(uri).body(objDto);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResultDTO<BankOfHourPK>> importBatch(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok().body(ndjsonImportService.importBankOfHours(request.getInputStream(), contentEncoding));
+    }
+
     @PutMapping
     public ResponseEntity<BankOfHourDTO> update(@RequestBody @Valid BankOfHourDTO objDto) {
         return ResponseEntity.ok().body(bankOfHourService.update(objDto));
@@ -61,12 +108,45 @@ public class BankOfHourController {
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<BankOfHourDTO>> findPage(
+    public ResponseEntity<StreamingResponseBody> findPage(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "dateWorked") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        Page<BankOfHourDTO> listDto = bankOfHourService.findPage(page, linesPerPage, orderBy, direction, selection);
+        return write(listDto, selection, accept);
+    }
+
+    @GetMapping("/slice")
+    public ResponseEntity<StreamingResponseBody> findSlice(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
             @RequestParam(value = "orderBy", defaultValue = "dateWorked") String orderBy,
-            @RequestParam(value = "direction", defaultValue = "ASC") String direction) {
-        Page<BankOfHourDTO> listDto = bankOfHourService.findPage(page, linesPerPage, orderBy, direction);
-        return ResponseEntity.ok(listDto);
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        SliceDTO<BankOfHourDTO> listDto = bankOfHourService.findSlice(page, linesPerPage, orderBy, direction, withTotal,
+                selection);
+        return write(listDto, selection, accept);
+    }
+
+    @GetMapping("/seek")
+    public ResponseEntity<KeysetPageDTO<BankOfHourDTO>> findSeek(
+            @RequestParam(value = "token", required = false) String token,
+            @RequestParam(value = "limit", defaultValue = "24") Integer limit) {
+        return ResponseEntity.ok(bankOfHourService.findSeek(token, limit));
+    }
+
+    private ResponseEntity<StreamingResponseBody> write(Object value, FieldSelection selection, String accept) {
+        DataFormat format = DataFormat.negotiate(accept);
+        StreamingResponseBody body = out -> jsonArrayStreamer.writeValue(value, out, selection, format);
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
     }
 }
@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.dtos.CalendarDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.services.CalendarService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class CalendarController {
     private CalendarService calendarService;
 
     @GetMapping
-    public List<CalendarDTO> findAll() {
-        return calendarService.findAll();
+    public ResponseEntity<List<CalendarDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(calendarService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(calendarService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CalendarDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(calendarService.find(id));
+    public ResponseEntity<CalendarDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(calendarService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(calendarService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class CalendarController {
     }
 
     @PutMapping
-    public ResponseEntity<CalendarDTO> update(@RequestBody @Valid CalendarDTO objDto) {
-        return ResponseEntity.ok().body(calendarService.update(objDto));
+    public ResponseEntity<CalendarDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid CalendarDTO objDto) {
+        return ResponseEntity.ok().body(calendarService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        calendarService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        calendarService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class CalendarController {
         Page<CalendarDTO> listDto = calendarService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<CalendarDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<CalendarDTO> listDto = calendarService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.dtos.CompanyDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.services.CompanyService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class CompanyController {
     private CompanyService companyService;
 
     @GetMapping
-    public List<CompanyDTO> findAll() {
-        return companyService.findAll();
+    public ResponseEntity<List<CompanyDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(companyService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(companyService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CompanyDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(companyService.find(id));
+    public ResponseEntity<CompanyDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(companyService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(companyService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class CompanyController {
     }
 
     @PutMapping
-    public ResponseEntity<CompanyDTO> update(@RequestBody @Valid CompanyDTO objDto) {
-        return ResponseEntity.ok().body(companyService.update(objDto));
+    public ResponseEntity<CompanyDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid CompanyDTO objDto) {
+        return ResponseEntity.ok().body(companyService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        companyService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        companyService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class CompanyController {
         Page<CompanyDTO> listDto = companyService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<CompanyDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<CompanyDTO> listDto = companyService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.dtos.DateTypeDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.services.DateTypeService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class DateTypeController {
     private DateTypeService dateTypeService;
 
     @GetMapping
-    public List<DateTypeDTO> findAll() {
-        return dateTypeService.findAll();
+    public ResponseEntity<List<DateTypeDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(dateTypeService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(dateTypeService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<DateTypeDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(dateTypeService.find(id));
+    public ResponseEntity<DateTypeDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(dateTypeService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(dateTypeService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class DateTypeController {
     }
 
     @PutMapping
-    public ResponseEntity<DateTypeDTO> update(@RequestBody @Valid DateTypeDTO objDto) {
-        return ResponseEntity.ok().body(dateTypeService.update(objDto));
+    public ResponseEntity<DateTypeDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid DateTypeDTO objDto) {
+        return ResponseEntity.ok().body(dateTypeService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        dateTypeService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        dateTypeService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class DateTypeController {
         Page<DateTypeDTO> listDto = dateTypeService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<DateTypeDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<DateTypeDTO> listDto = dateTypeService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
@@ -0,0 +1,56 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.dtos.UserVersionDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+
+final class ETags {
+    private static final long NO_MATCH = -1L;
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(UserVersionDTO versions) {
+        return "\"" + versions.getVersion() + "." + valueOf(versions.getCompanyVersion()) + "."
+                + valueOf(versions.getWorkDayVersion()) + "." + valueOf(versions.getAccessLevelVersion()) + "."
+                + valueOf(versions.getUserCategoryVersion()) + "\"";
+    }
+
+    static String of(VersionSummaryDTO summary) {
+        return "W/\"" + tagOf(summary) + "\"";
+    }
+
+    static String of(VersionSummaryDTO summary, DataFormat format) {
+        return "W/\"" + tagOf(summary) + "-" + format.name().toLowerCase() + "\"";
+    }
+
+    static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            return NO_MATCH;
+        }
+        String value = eTag.substring(1, eTag.length() - 1);
+        int separator = value.indexOf('.');
+        try {
+            return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    private static String tagOf(VersionSummaryDTO summary) {
+        return summary.getCount() + "-" + valueOf(summary.getMaxVersion()) + "-"
+                + Long.toHexString(valueOf(summary.getChecksum()));
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+}
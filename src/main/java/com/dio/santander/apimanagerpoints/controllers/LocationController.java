@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.dtos.LocationDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.services.LocationService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class LocationController {
     private LocationService locationService;
 
     @GetMapping
-    public List<LocationDTO> findAll() {
-        return locationService.findAll();
+    public ResponseEntity<List<LocationDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(locationService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(locationService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LocationDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(locationService.find(id));
+    public ResponseEntity<LocationDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(locationService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(locationService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class LocationController {
     }
 
     @PutMapping
-    public ResponseEntity<LocationDTO> update(@RequestBody @Valid LocationDTO objDto) {
-        return ResponseEntity.ok().body(locationService.update(objDto));
+    public ResponseEntity<LocationDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid LocationDTO objDto) {
+        return ResponseEntity.ok().body(locationService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        locationService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        locationService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class LocationController {
         Page<LocationDTO> listDto = locationService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<LocationDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<LocationDTO> listDto = locationService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
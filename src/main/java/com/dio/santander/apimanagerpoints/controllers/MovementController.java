@@ -1,15 +1,30 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.ImportResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.KeysetPageDTO;
 import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
+import com.dio.santander.apimanagerpoints.services.JsonArrayStreamer;
 import com.dio.santander.apimanagerpoints.services.MovementService;
+import com.dio.santander.apimanagerpoints.services.MovementWriteBehindBuffer;
+import com.dio.santander.apimanagerpoints.services.NdjsonImportService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
@@ -17,11 +32,22 @@ import java.util.List;
 @RequestMapping("/api/v1/movements")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class MovementController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private MovementService movementService;
+    private JsonArrayStreamer jsonArrayStreamer;
+    private NdjsonImportService ndjsonImportService;
+    private MovementWriteBehindBuffer movementWriteBehindBuffer;
 
     @GetMapping
-    public List<MovementDTO> findAll() {
-        return movementService.findAll();
+    public ResponseEntity<StreamingResponseBody> findAll(
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        DataFormat format = DataFormat.negotiate(accept);
+        StreamingResponseBody body = out -> movementService.streamAll(out, selection, format);
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
     }
 
     @GetMapping("/pk")
@@ -30,13 +56,30 @@ public class MovementController {
     }
 
     @PostMapping
-    public ResponseEntity<MovementDTO> insert(@RequestBody @Valid MovementDTO objDto) {
-        objDto = movementService.insert(objDto);
+    public ResponseEntity<MovementDTO> insert(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid MovementDTO objDto) {
+        if (movementWriteBehindBuffer.isEnabled()) {
+            return ResponseEntity.accepted().body(movementWriteBehindBuffer.offer(objDto, idempotencyKey));
+        }
+        objDto = movementService.insert(objDto, idempotencyKey);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/pk?movementId={movementId}&userId={userId}").buildAndExpand(objDto.getId().getMovementId(), objDto.getId().getUserId()).toUri();
         return ResponseEntity.created(uri).body(objDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<MovementPK>> insertBatch(@RequestBody List<MovementDTO> listDto) {
+        return ResponseEntity.ok().body(movementService.insertBatch(listDto));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResultDTO<MovementPK>> importBatch(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok().body(ndjsonImportService.importMovements(request.getInputStream(), contentEncoding));
+    }
+
     @PutMapping
     public ResponseEntity<MovementDTO> update(@RequestBody @Valid MovementDTO objDto) {
         return ResponseEntity.ok().body(movementService.update(objDto));
@@ -49,12 +92,45 @@ public class MovementController {
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<MovementDTO>> findPage(
+    public ResponseEntity<StreamingResponseBody> findPage(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "dateOfIn") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        Page<MovementDTO> listDto = movementService.findPage(page, linesPerPage, orderBy, direction, selection);
+        return write(listDto, selection, accept);
+    }
+
+    @GetMapping("/slice")
+    public ResponseEntity<StreamingResponseBody> findSlice(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
             @RequestParam(value = "orderBy", defaultValue = "dateOfIn") String orderBy,
-            @RequestParam(value = "direction", defaultValue = "ASC") String direction) {
-        Page<MovementDTO> listDto = movementService.findPage(page, linesPerPage, orderBy, direction);
-        return ResponseEntity.ok(listDto);
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        SliceDTO<MovementDTO> listDto = movementService.findSlice(page, linesPerPage, orderBy, direction, withTotal,
+                selection);
+        return write(listDto, selection, accept);
+    }
+
+    @GetMapping("/seek")
+    public ResponseEntity<KeysetPageDTO<MovementDTO>> findSeek(
+            @RequestParam(value = "token", required = false) String token,
+            @RequestParam(value = "limit", defaultValue = "24") Integer limit) {
+        return ResponseEntity.ok(movementService.findSeek(token, limit));
+    }
+
+    private ResponseEntity<StreamingResponseBody> write(Object value, FieldSelection selection, String accept) {
+        DataFormat format = DataFormat.negotiate(accept);
+        StreamingResponseBody body = out -> jsonArrayStreamer.writeValue(value, out, selection, format);
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
     }
 }
@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.dtos.OccurrenceDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.services.OccurrenceService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class OccurrenceController {
     private OccurrenceService occurrenceService;
 
     @GetMapping
-    public List<OccurrenceDTO> findAll() {
-        return occurrenceService.findAll();
+    public ResponseEntity<List<OccurrenceDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(occurrenceService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(occurrenceService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OccurrenceDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(occurrenceService.find(id));
+    public ResponseEntity<OccurrenceDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(occurrenceService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(occurrenceService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class OccurrenceController {
     }
 
     @PutMapping
-    public ResponseEntity<OccurrenceDTO> update(@RequestBody @Valid OccurrenceDTO objDto) {
-        return ResponseEntity.ok().body(occurrenceService.update(objDto));
+    public ResponseEntity<OccurrenceDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid OccurrenceDTO objDto) {
+        return ResponseEntity.ok().body(occurrenceService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        occurrenceService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        occurrenceService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class OccurrenceController {
         Page<OccurrenceDTO> listDto = occurrenceService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<OccurrenceDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<OccurrenceDTO> listDto = occurrenceService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
@@ -0,0 +1,35 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.services.PunchClockService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class PunchClockController {
+    private PunchClockService punchClockService;
+
+    @PostMapping("/{id}/clock-in")
+    public ResponseEntity<MovementDTO> clockIn(
+            @PathVariable Long id,
+            @RequestParam(value = "occurrenceId", required = false) Long occurrenceId,
+            @RequestParam(value = "calendarId", required = false) Long calendarId) {
+        MovementDTO objDto = punchClockService.clockIn(id, occurrenceId, calendarId);
+        URI uri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/movements/pk?movementId={movementId}&userId={userId}")
+                .buildAndExpand(objDto.getId().getMovementId(), objDto.getId().getUserId()).toUri();
+        return ResponseEntity.created(uri).body(objDto);
+    }
+
+    @PostMapping("/{id}/clock-out")
+    public ResponseEntity<MovementDTO> clockOut(@PathVariable Long id) {
+        return ResponseEntity.ok().body(punchClockService.clockOut(id));
+    }
+}
@@ -0,0 +1,33 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.dtos.TimesheetFormat;
+import com.dio.santander.apimanagerpoints.services.TimesheetExportService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/v1/companies")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class TimesheetController {
+    private TimesheetExportService timesheetExportService;
+
+    @GetMapping("/{id}/timesheets")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable Long id,
+            @RequestParam(value = "month") YearMonth month,
+            @RequestParam(value = "format", defaultValue = "CSV") TimesheetFormat format) {
+        StreamingResponseBody body = out -> timesheetExportService.export(id, month, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"timesheet-" + id + "-" + month + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.dtos.UserCategoryDTO;
 import com.dio.santander.apimanagerpoints.services.UserCategoryService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class UserCategoryController {
     private UserCategoryService userCategoryService;
 
     @GetMapping
-    public List<UserCategoryDTO> findAll() {
-        return userCategoryService.findAll();
+    public ResponseEntity<List<UserCategoryDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(userCategoryService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(userCategoryService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserCategoryDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(userCategoryService.find(id));
+    public ResponseEntity<UserCategoryDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(userCategoryService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(userCategoryService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class UserCategoryController {
     }
 
     @PutMapping
-    public ResponseEntity<UserCategoryDTO> update(@RequestBody @Valid UserCategoryDTO objDto) {
-        return ResponseEntity.ok().body(userCategoryService.update(objDto));
+    public ResponseEntity<UserCategoryDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid UserCategoryDTO objDto) {
+        return ResponseEntity.ok().body(userCategoryService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        userCategoryService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userCategoryService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class UserCategoryController {
         Page<UserCategoryDTO> listDto = userCategoryService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<UserCategoryDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<UserCategoryDTO> listDto = userCategoryService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
@@ -1,32 +1,55 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.dtos.UserDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
+import com.dio.santander.apimanagerpoints.services.JsonArrayStreamer;
 import com.dio.santander.apimanagerpoints.services.UserService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/users")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class UserController {
     private UserService userService;
+    private JsonArrayStreamer jsonArrayStreamer;
 
     @GetMapping
-    public List<UserDTO> findAll() {
-        return userService.findAll();
+    public ResponseEntity<StreamingResponseBody> findAll(
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        DataFormat format = DataFormat.negotiate(accept);
+        String eTag = ETags.of(userService.findVersionSummary(), format);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(eTag).build();
+        }
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        StreamingResponseBody body = out -> userService.streamAll(out, selection, format);
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).eTag(eTag).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(userService.find(id));
+    public ResponseEntity<UserDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(userService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(userService.find(id));
     }
 
     @PostMapping
@@ -38,23 +61,53 @@ public class UserController {
     }
 
     @PutMapping
-    public ResponseEntity<UserDTO> update(@RequestBody @Valid UserDTO objDto) {
-        return ResponseEntity.ok().body(userService.update(objDto));
+    public ResponseEntity<UserDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid UserDTO objDto) {
+        return ResponseEntity.ok().body(userService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        userService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<UserDTO>> findPage(
+    public ResponseEntity<StreamingResponseBody> findPage(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
             @RequestParam(value = "orderBy", defaultValue = "name") String orderBy,
-            @RequestParam(value = "direction", defaultValue = "ASC") String direction) {
-        Page<UserDTO> listDto = userService.findPage(page, linesPerPage, orderBy, direction);
-        return ResponseEntity.ok(listDto);
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        Page<UserDTO> listDto = userService.findPage(page, linesPerPage, orderBy, direction, selection);
+        return write(listDto, selection, accept);
+    }
+
+    @GetMapping("/slice")
+    public ResponseEntity<StreamingResponseBody> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "name") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        SliceDTO<UserDTO> listDto = userService.findSlice(page, linesPerPage, orderBy, direction, withTotal,
+                selection);
+        return write(listDto, selection, accept);
+    }
+
+    private ResponseEntity<StreamingResponseBody> write(Object value, FieldSelection selection, String accept) {
+        DataFormat format = DataFormat.negotiate(accept);
+        StreamingResponseBody body = out -> jsonArrayStreamer.writeValue(value, out, selection, format);
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
     }
 }
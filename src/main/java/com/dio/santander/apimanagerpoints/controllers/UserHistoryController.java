@@ -0,0 +1,60 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.dio.santander.apimanagerpoints.services.BankOfHourService;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
+import com.dio.santander.apimanagerpoints.services.JsonArrayStreamer;
+import com.dio.santander.apimanagerpoints.services.MovementService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class UserHistoryController {
+    private MovementService movementService;
+    private BankOfHourService bankOfHourService;
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @GetMapping("/{id}/movements")
+    public ResponseEntity<StreamingResponseBody> findMovements(
+            @PathVariable Long id,
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        List<MovementDTO> listDto = movementService.findByUserBetween(id, from, to, selection);
+        return write(listDto, selection, accept);
+    }
+
+    @GetMapping("/{id}/bank_of_hours")
+    public ResponseEntity<StreamingResponseBody> findBankOfHours(
+            @PathVariable Long id,
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        List<BankOfHourDTO> listDto = bankOfHourService.findByUserBetween(id, from, to, selection);
+        return write(listDto, selection, accept);
+    }
+
+    private ResponseEntity<StreamingResponseBody> write(Object value, FieldSelection selection, String accept) {
+        DataFormat format = DataFormat.negotiate(accept);
+        StreamingResponseBody body = out -> jsonArrayStreamer.writeValue(value, out, selection, format);
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+}
@@ -1,12 +1,15 @@
 package com.dio.santander.apimanagerpoints.controllers;
 
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.dtos.WorkDayDTO;
 import com.dio.santander.apimanagerpoints.services.WorkDayService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -20,13 +23,21 @@ public class WorkDayController {
     private WorkDayService workDayService;
 
     @GetMapping
-    public List<WorkDayDTO> findAll() {
-        return workDayService.findAll();
+    public ResponseEntity<List<WorkDayDTO>> findAll(WebRequest request) {
+        String eTag = ETags.of(workDayService.findVersionSummary());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(workDayService.findAll());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<WorkDayDTO> find(@PathVariable Long id) throws Exception {
-        return ResponseEntity.ok().body(workDayService.find(id));
+    public ResponseEntity<WorkDayDTO> find(@PathVariable Long id, WebRequest request) throws Exception {
+        String eTag = ETags.of(workDayService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(workDayService.find(id));
     }
 
     @PostMapping
@@ -38,13 +49,17 @@ public class WorkDayController {
     }
 
     @PutMapping
-    public ResponseEntity<WorkDayDTO> update(@RequestBody @Valid WorkDayDTO objDto) {
-        return ResponseEntity.ok().body(workDayService.update(objDto));
+    public ResponseEntity<WorkDayDTO> update(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid WorkDayDTO objDto) {
+        return ResponseEntity.ok().body(workDayService.update(objDto, ETags.versionOf(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        workDayService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        workDayService.delete(id, ETags.versionOf(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -57,4 +72,15 @@ public class WorkDayController {
         Page<WorkDayDTO> listDto = workDayService.findPage(page, linesPerPage, orderBy, direction);
         return ResponseEntity.ok(listDto);
     }
+
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<WorkDayDTO>> findSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage,
+            @RequestParam(value = "orderBy", defaultValue = "description") String orderBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        SliceDTO<WorkDayDTO> listDto = workDayService.findSlice(page, linesPerPage, orderBy, direction, withTotal);
+        return ResponseEntity.ok(listDto);
+    }
 }
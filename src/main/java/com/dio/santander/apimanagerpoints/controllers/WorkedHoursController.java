@@ -0,0 +1,33 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.dtos.Granularity;
+import com.dio.santander.apimanagerpoints.dtos.WorkedHoursDTO;
+import com.dio.santander.apimanagerpoints.services.WorkedHoursService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class WorkedHoursController {
+    private WorkedHoursService workedHoursService;
+
+    @GetMapping("/{id}/hours")
+    public ResponseEntity<List<WorkedHoursDTO>> find(
+            @PathVariable Long id,
+            @RequestParam(value = "granularity", defaultValue = "DAY") Granularity granularity,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.withDayOfYear(1) : from;
+        return ResponseEntity.ok().body(workedHoursService.find(id, granularity, start, end));
+    }
+}
@@ -4,10 +4,15 @@ import javax.servlet.http.HttpServletRequest;
 
 import com.dio.santander.apimanagerpoints.services.exceptions.AuthorizationException;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
+import com.dio.santander.apimanagerpoints.services.exceptions.InvalidCursorException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
+import com.dio.santander.apimanagerpoints.services.exceptions.QueueFullException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -58,4 +63,35 @@ public class ResourceExceptionHandler {
 		StandardError err = new StandardError(HttpStatus.FORBIDDEN.value(), e.getMessage(), System.currentTimeMillis());
 		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(err);
 	}
+
+	@ExceptionHandler(QueueFullException.class)
+	public ResponseEntity<StandardError> queueFull(QueueFullException e, HttpServletRequest request) {
+
+		StandardError err = new StandardError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage(), System.currentTimeMillis());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(err);
+	}
+
+	@ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<StandardError> invalidCursor(InvalidCursorException e, HttpServletRequest request) {
+
+		StandardError err = new StandardError(HttpStatus.BAD_REQUEST.value(), e.getMessage(), System.currentTimeMillis());
+
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+	}
+
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<StandardError> preconditionFailed(PreconditionFailedException e, HttpServletRequest request) {
+
+		StandardError err = new StandardError(HttpStatus.PRECONDITION_FAILED.value(), e.getMessage(), System.currentTimeMillis());
+
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(err);
+	}
+
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<StandardError> optimisticLocking(ObjectOptimisticLockingFailureException e, HttpServletRequest request) {
+
+		StandardError err = new StandardError(HttpStatus.CONFLICT.value(), "Objeto alterado por outra requisição! Tipo: " + e.getPersistentClassName(), System.currentTimeMillis());
+
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
+	}
 }
@@ -0,0 +1,22 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceRecomputationJobDTO {
+    private String id;
+    private Long companyId;
+    private String from;
+    private RecomputationStatus status;
+    private int totalUsers;
+    private int processedUsers;
+    private int failedUsers;
+    private String startedAt;
+    private String finishedAt;
+}
@@ -0,0 +1,18 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BankOfHourBalanceDTO {
+    private Long userId;
+    private String at;
+    private BigDecimal balance;
+}
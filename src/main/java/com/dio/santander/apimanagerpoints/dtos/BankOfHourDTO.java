@@ -11,6 +11,8 @@ import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
 @Builder
@@ -29,4 +31,24 @@ public class BankOfHourDTO {
     private BigDecimal balanceOfHour;
     @NotNull
     private UserCategoryDTO userCategory;
+
+    public BankOfHourDTO(long bankOfHourId, long movementId, long userId, LocalDateTime dateWorked,
+                         BigDecimal amountOfHour, BigDecimal balanceOfHour,
+                         Long userCategoryId, String userCategoryDescription) {
+        this.id = new BankOfHourPK();
+        this.id.setBankOfHourId(bankOfHourId);
+        this.id.setMovementId(movementId);
+        this.id.setUserId(userId);
+        this.dateWorked = dateWorked == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateWorked);
+        this.amountOfHour = amountOfHour;
+        this.balanceOfHour = balanceOfHour;
+        this.userCategory = userCategoryId == null ? null
+                : new UserCategoryDTO(userCategoryId, userCategoryDescription);
+    }
+
+    public BankOfHourDTO(long bankOfHourId, long movementId, long userId, LocalDateTime dateWorked,
+                         BigDecimal amountOfHour, BigDecimal balanceOfHour, Long userCategoryId) {
+        this(bankOfHourId, movementId, userId, dateWorked, amountOfHour, balanceOfHour, null, null);
+        this.userCategory = userCategoryId == null ? null : UserCategoryDTO.builder().id(userCategoryId).build();
+    }
 }
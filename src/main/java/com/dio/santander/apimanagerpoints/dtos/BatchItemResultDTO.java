@@ -0,0 +1,17 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemResultDTO<K> {
+    private int index;
+    private K id;
+    private BatchItemStatus status;
+    private String message;
+}
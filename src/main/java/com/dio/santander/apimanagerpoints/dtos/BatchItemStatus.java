@@ -0,0 +1,7 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+public enum BatchItemStatus {
+    CREATED,
+    CONFLICT,
+    INVALID
+}
@@ -0,0 +1,19 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResultDTO<K> {
+    private int created;
+    private int conflicts;
+    private int invalid;
+    private List<BatchItemResultDTO<K>> items;
+}
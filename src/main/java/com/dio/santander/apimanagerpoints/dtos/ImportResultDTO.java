@@ -0,0 +1,19 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResultDTO<K> {
+    private long records;
+    private long created;
+    private long conflicts;
+    private long invalid;
+    private List<BatchItemResultDTO<K>> rejected = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean last;
+    private String next;
+}
@@ -11,6 +11,8 @@ import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
 @Builder
@@ -26,8 +28,49 @@ public class MovementDTO {
     @DecimalMin(value = "0.01")
     @DecimalMax(value = "100.0")
     private BigDecimal period;
+    private Integer lateMinutes;
+    private Integer earlyLeaveMinutes;
+    private Integer regularMinutes;
+    private Integer overtimeMinutes;
+    private Integer nightMinutes;
+    private Integer holidayMinutes;
     @NotNull
     private OccurrenceDTO occurrence;
     @NotNull
     private CalendarDTO calendar;
+
+    public MovementDTO(long movementId, long userId, LocalDateTime dateOfIn, LocalDateTime dateOfOut, BigDecimal period,
+                       Integer lateMinutes, Integer earlyLeaveMinutes, Integer regularMinutes, Integer overtimeMinutes,
+                       Integer nightMinutes, Integer holidayMinutes,
+                       Long occurrenceId, String occurrenceName, String occurrenceDescription,
+                       Long calendarId, String calendarDescription, LocalDateTime specialDate,
+                       Long dateTypeId, String dateTypeDescription) {
+        this.id = new MovementPK();
+        this.id.setMovementId(movementId);
+        this.id.setUserId(userId);
+        this.dateOfIn = dateOfIn == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateOfIn);
+        this.dateOfOut = dateOfOut == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateOfOut);
+        this.period = period;
+        this.lateMinutes = lateMinutes;
+        this.earlyLeaveMinutes = earlyLeaveMinutes;
+        this.regularMinutes = regularMinutes;
+        this.overtimeMinutes = overtimeMinutes;
+        this.nightMinutes = nightMinutes;
+        this.holidayMinutes = holidayMinutes;
+        this.occurrence = occurrenceId == null ? null
+                : new OccurrenceDTO(occurrenceId, occurrenceName, occurrenceDescription);
+        this.calendar = calendarId == null ? null : new CalendarDTO(calendarId,
+                dateTypeId == null ? null : new DateTypeDTO(dateTypeId, dateTypeDescription),
+                calendarDescription,
+                specialDate == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(specialDate));
+    }
+
+    public MovementDTO(long movementId, long userId, LocalDateTime dateOfIn, LocalDateTime dateOfOut, BigDecimal period,
+                       Integer lateMinutes, Integer earlyLeaveMinutes, Integer regularMinutes, Integer overtimeMinutes,
+                       Integer nightMinutes, Integer holidayMinutes, Long occurrenceId, Long calendarId) {
+        this(movementId, userId, dateOfIn, dateOfOut, period, lateMinutes, earlyLeaveMinutes, regularMinutes,
+                overtimeMinutes, nightMinutes, holidayMinutes, null, null, null, null, null, null, null, null);
+        this.occurrence = occurrenceId == null ? null : OccurrenceDTO.builder().id(occurrenceId).build();
+        this.calendar = calendarId == null ? null : CalendarDTO.builder().id(calendarId).build();
+    }
 }
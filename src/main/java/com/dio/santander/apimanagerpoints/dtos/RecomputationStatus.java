@@ -0,0 +1,8 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+public enum RecomputationStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SliceDTO<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean last;
+    private Long totalElements;
+
+    public static <T> SliceDTO<T> of(Slice<T> slice, Long totalElements) {
+        return new SliceDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.isLast(), totalElements);
+    }
+}
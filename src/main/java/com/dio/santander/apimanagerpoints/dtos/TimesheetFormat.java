@@ -0,0 +1,24 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+public enum TimesheetFormat {
+    CSV("text/csv", "csv"),
+    JSON("application/json", "json"),
+    CBOR("application/cbor", "cbor"),
+    SMILE("application/x-jackson-smile", "sml");
+
+    private final String contentType;
+    private final String extension;
+
+    TimesheetFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
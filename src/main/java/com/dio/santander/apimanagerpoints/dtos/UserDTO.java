@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import javax.validation.constraints.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
 @Builder
@@ -31,4 +33,33 @@ public class UserDTO {
     private String workDayStart;
     @NotEmpty
     private String workDayFinal;
+
+    public UserDTO(long id, String name, BigDecimal tolerance, LocalDateTime workDayStart, LocalDateTime workDayFinal,
+                   Long userCategoryId, String userCategoryDescription,
+                   Long companyId, String companyDescription, String cnpj, String address, String district,
+                   String city, String state, String phone,
+                   Long accessLevelId, String accessLevelDescription,
+                   Long workDayId, String workDayDescription) {
+        this.id = id;
+        this.name = name;
+        this.tolerance = tolerance;
+        this.workDayStart = workDayStart == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(workDayStart);
+        this.workDayFinal = workDayFinal == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(workDayFinal);
+        this.userCategory = userCategoryId == null ? null
+                : new UserCategoryDTO(userCategoryId, userCategoryDescription);
+        this.company = companyId == null ? null
+                : new CompanyDTO(companyId, companyDescription, cnpj, address, district, city, state, phone);
+        this.accessLevel = accessLevelId == null ? null : new AccessLevelDTO(accessLevelId, accessLevelDescription);
+        this.workDay = workDayId == null ? null : new WorkDayDTO(workDayId, workDayDescription);
+    }
+
+    public UserDTO(long id, String name, BigDecimal tolerance, LocalDateTime workDayStart, LocalDateTime workDayFinal,
+                   Long userCategoryId, Long companyId, Long accessLevelId, Long workDayId) {
+        this(id, name, tolerance, workDayStart, workDayFinal, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null);
+        this.userCategory = userCategoryId == null ? null : UserCategoryDTO.builder().id(userCategoryId).build();
+        this.company = companyId == null ? null : CompanyDTO.builder().id(companyId).build();
+        this.accessLevel = accessLevelId == null ? null : AccessLevelDTO.builder().id(accessLevelId).build();
+        this.workDay = workDayId == null ? null : WorkDayDTO.builder().id(workDayId).build();
+    }
 }
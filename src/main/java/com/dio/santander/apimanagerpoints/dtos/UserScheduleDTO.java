@@ -0,0 +1,20 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserScheduleDTO {
+    private Long id;
+    private BigDecimal tolerance;
+    private LocalDateTime workDayStart;
+    private LocalDateTime workDayFinal;
+}
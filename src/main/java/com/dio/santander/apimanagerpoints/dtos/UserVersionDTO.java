@@ -0,0 +1,18 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserVersionDTO {
+    private Long version;
+    private Long companyVersion;
+    private Long workDayVersion;
+    private Long accessLevelVersion;
+    private Long userCategoryVersion;
+}
@@ -0,0 +1,16 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VersionSummaryDTO {
+    private Long count;
+    private Long maxVersion;
+    private Long checksum;
+}
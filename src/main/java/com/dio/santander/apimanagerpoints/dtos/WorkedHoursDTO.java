@@ -0,0 +1,23 @@
+package com.dio.santander.apimanagerpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkedHoursDTO {
+    private String period;
+    private String start;
+    private int workedMinutes;
+    private BigDecimal workedHours;
+    private int lateMinutes;
+    private int earlyLeaveMinutes;
+    private int movements;
+    private int businessDays;
+}
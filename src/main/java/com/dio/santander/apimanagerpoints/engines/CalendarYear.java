@@ -0,0 +1,150 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public final class CalendarYear {
+    private static final int WORDS = 6;
+    private static final long[] NONE = new long[WORDS];
+
+    private final int year;
+    private final int length;
+    private final long firstEpochDay;
+    private final long[] special;
+    private final long[] holidays;
+    private final long[] closed;
+    private final Map<Long, long[]> byDateType;
+
+    private CalendarYear(int year, long[] special, long[] holidays, Map<Long, long[]> byDateType) {
+        this.year = year;
+        this.length = Year.of(year).length();
+        this.firstEpochDay = LocalDate.of(year, 1, 1).toEpochDay();
+        this.special = special;
+        this.holidays = holidays;
+        this.byDateType = byDateType;
+        this.closed = holidays.clone();
+        LocalDate day = LocalDate.of(year, 1, 1);
+        for (int index = 0; index < length; index++, day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                set(closed, index);
+            }
+        }
+    }
+
+    public static CalendarYear of(int year, Map<Long, ? extends Collection<LocalDate>> datesByType,
+                                  Set<Long> holidayDateTypes) {
+        long[] special = new long[WORDS];
+        long[] holidays = new long[WORDS];
+        Map<Long, long[]> byDateType = new HashMap<>();
+        datesByType.forEach((dateTypeId, dates) -> {
+            long[] bits = dateTypeId == null ? null : byDateType.computeIfAbsent(dateTypeId, id -> new long[WORDS]);
+            boolean holiday = dateTypeId != null && holidayDateTypes.contains(dateTypeId);
+            for (LocalDate date : dates) {
+                if (date.getYear() != year) {
+                    continue;
+                }
+                set(special, date.getDayOfYear() - 1);
+                if (bits != null) {
+                    set(bits, date.getDayOfYear() - 1);
+                }
+                if (holiday) {
+                    set(holidays, date.getDayOfYear() - 1);
+                }
+            }
+        });
+        return new CalendarYear(year, special, holidays, byDateType);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isSpecial(LocalDate date) {
+        return get(special, indexOf(date));
+    }
+
+    public boolean isSpecial(long dateTypeId, LocalDate date) {
+        return get(byDateType.getOrDefault(dateTypeId, NONE), indexOf(date));
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return get(holidays, indexOf(date));
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        return !get(closed, indexOf(date));
+    }
+
+    public boolean contains(long epochDay) {
+        return epochDay >= firstEpochDay && epochDay < firstEpochDay + length;
+    }
+
+    public boolean isHoliday(long epochDay) {
+        return get(holidays, indexOf(epochDay));
+    }
+
+    public boolean isBusinessDay(long epochDay) {
+        return !get(closed, indexOf(epochDay));
+    }
+
+    public int specialDays(int fromDay, int toDay) {
+        return count(special, fromDay - 1, toDay - 1);
+    }
+
+    public int businessDays(int fromDay, int toDay) {
+        int from = Math.max(fromDay - 1, 0);
+        int to = Math.min(toDay - 1, length);
+        return to <= from ? 0 : (to - from) - count(closed, from, to);
+    }
+
+    private int indexOf(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException("Date " + date + " is outside of " + year);
+        }
+        return date.getDayOfYear() - 1;
+    }
+
+    private int indexOf(long epochDay) {
+        if (!contains(epochDay)) {
+            throw new IllegalArgumentException("Epoch day " + epochDay + " is outside of " + year);
+        }
+        return (int) (epochDay - firstEpochDay);
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static int count(long[] bits, int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, WORDS * Long.SIZE);
+        if (to <= from) {
+            return 0;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (Long.SIZE - 1 - ((to - 1) & 63));
+        if (firstWord == lastWord) {
+            return Long.bitCount(bits[firstWord] & firstMask & lastMask);
+        }
+        int total = Long.bitCount(bits[firstWord] & firstMask);
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            total += Long.bitCount(bits[word]);
+        }
+        return total + Long.bitCount(bits[lastWord] & lastMask);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+import lombok.Value;
+
+@Value
+public class ClassifiedTime {
+    int regularMinutes;
+    int overtimeMinutes;
+    int nightMinutes;
+    int holidayMinutes;
+}
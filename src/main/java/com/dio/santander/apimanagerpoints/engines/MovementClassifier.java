@@ -0,0 +1,98 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+public final class MovementClassifier {
+    public static final int NIGHT_START = 22 * 60;
+    public static final int NIGHT_FINAL = 5 * 60;
+
+    private static final int MINUTES_PER_DAY = WorkedTimeCalculator.MINUTES_PER_DAY;
+    private static final int REGULAR = 0;
+    private static final int OVERTIME = 1;
+    private static final int NIGHT = 2;
+    private static final int HOLIDAY = 3;
+
+    private MovementClassifier() {
+    }
+
+    public static ClassifiedTime classify(long in, long out, int scheduleStart, int scheduleFinal, SpecialDays days) {
+        int[] minutes = new int[4];
+        classifyInto(in, out, scheduleStart, scheduleFinal, days, minutes);
+        return new ClassifiedTime(minutes[REGULAR], minutes[OVERTIME], minutes[NIGHT], minutes[HOLIDAY]);
+    }
+
+    public static void classifyAll(long[] ins, long[] outs, int[] scheduleStarts, int[] scheduleFinals, SpecialDays days,
+                                   int[] regular, int[] overtime, int[] night, int[] holiday) {
+        int[] minutes = new int[4];
+        for (int i = 0; i < ins.length; i++) {
+            classifyInto(ins[i], outs[i], scheduleStarts[i], scheduleFinals[i], days, minutes);
+            regular[i] = minutes[REGULAR];
+            overtime[i] = minutes[OVERTIME];
+            night[i] = minutes[NIGHT];
+            holiday[i] = minutes[HOLIDAY];
+        }
+    }
+
+    private static void classifyInto(long in, long out, int scheduleStart, int scheduleFinal, SpecialDays days,
+                                     int[] minutes) {
+        minutes[REGULAR] = 0;
+        minutes[OVERTIME] = 0;
+        minutes[NIGHT] = 0;
+        minutes[HOLIDAY] = 0;
+        if (out <= in) {
+            return;
+        }
+
+        long firstDay = Math.floorDiv(in, MINUTES_PER_DAY);
+        long lastDay = Math.floorDiv(out - 1, MINUTES_PER_DAY);
+        int total = (int) (out - in);
+        int holiday = 0;
+        int night = 0;
+        for (long day = firstDay; day <= lastDay; day++) {
+            long dayStart = day * MINUTES_PER_DAY;
+            if (days.isHoliday(day)) {
+                holiday += overlap(in, out, dayStart, dayStart + MINUTES_PER_DAY);
+            }
+            night += overlap(in, out, dayStart - (MINUTES_PER_DAY - NIGHT_START), dayStart + NIGHT_FINAL);
+        }
+        night += overlap(in, out, (lastDay + 1) * MINUTES_PER_DAY - (MINUTES_PER_DAY - NIGHT_START),
+                (lastDay + 1) * MINUTES_PER_DAY);
+
+        int regular;
+        if (WorkedTimeCalculator.hasSchedule(scheduleStart, scheduleFinal)) {
+            regular = 0;
+            int length = Math.floorMod(scheduleFinal - scheduleStart, MINUTES_PER_DAY);
+            for (long day = firstDay - 1; day <= lastDay; day++) {
+                if (days.isRestDay(day)) {
+                    continue;
+                }
+                long windowStart = day * MINUTES_PER_DAY + scheduleStart;
+                long windowFinal = windowStart + length;
+                regular += overlap(in, out, windowStart, windowFinal)
+                        - holidayOverlap(Math.max(in, windowStart), Math.min(out, windowFinal), days);
+            }
+        } else {
+            regular = total - holiday;
+        }
+
+        minutes[REGULAR] = regular;
+        minutes[OVERTIME] = total - holiday - regular;
+        minutes[NIGHT] = night;
+        minutes[HOLIDAY] = holiday;
+    }
+
+    private static int holidayOverlap(long start, long end, SpecialDays days) {
+        if (end <= start) {
+            return 0;
+        }
+        int holiday = 0;
+        for (long day = Math.floorDiv(start, MINUTES_PER_DAY); day <= Math.floorDiv(end - 1, MINUTES_PER_DAY); day++) {
+            if (days.isHoliday(day)) {
+                holiday += overlap(start, end, day * MINUTES_PER_DAY, (day + 1) * MINUTES_PER_DAY);
+            }
+        }
+        return holiday;
+    }
+
+    private static int overlap(long start, long end, long otherStart, long otherEnd) {
+        return (int) Math.max(0, Math.min(end, otherEnd) - Math.max(start, otherStart));
+    }
+}
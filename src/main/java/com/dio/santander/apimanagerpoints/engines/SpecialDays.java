@@ -0,0 +1,19 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+public interface SpecialDays {
+    SpecialDays NONE = new SpecialDays() {
+        @Override
+        public boolean isHoliday(long epochDay) {
+            return false;
+        }
+
+        @Override
+        public boolean isRestDay(long epochDay) {
+            return false;
+        }
+    };
+
+    boolean isHoliday(long epochDay);
+
+    boolean isRestDay(long epochDay);
+}
@@ -0,0 +1,10 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+import lombok.Value;
+
+@Value
+public class WorkedTime {
+    int workedMinutes;
+    int lateMinutes;
+    int earlyLeaveMinutes;
+}
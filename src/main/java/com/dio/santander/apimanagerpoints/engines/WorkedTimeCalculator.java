@@ -0,0 +1,88 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public final class WorkedTimeCalculator {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int NO_SCHEDULE = -1;
+
+    private static final int DAILY_TOLERANCE_FACTOR = 2;
+
+    private WorkedTimeCalculator() {
+    }
+
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    public static int toMinuteOfDay(LocalDateTime dateTime) {
+        return dateTime == null ? NO_SCHEDULE : dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    public static WorkedTime calculate(long in, long out, int scheduleStart, int scheduleFinal, int tolerance) {
+        int[] worked = new int[1];
+        int[] late = new int[1];
+        int[] earlyLeave = new int[1];
+        calculateAll(new long[]{in}, new long[]{out}, new int[]{scheduleStart}, new int[]{scheduleFinal},
+                new int[]{tolerance}, worked, late, earlyLeave, new long[1], new long[1]);
+        return new WorkedTime(worked[0], late[0], earlyLeave[0]);
+    }
+
+    public static boolean hasSchedule(int scheduleStart, int scheduleFinal) {
+        return scheduleStart != NO_SCHEDULE && scheduleFinal != NO_SCHEDULE && scheduleStart != scheduleFinal;
+    }
+
+    public static void calculateAll(long[] ins, long[] outs, int[] scheduleStarts, int[] scheduleFinals,
+                                    int[] tolerances, int[] worked, int[] late, int[] earlyLeave,
+                                    long[] effectiveIns, long[] effectiveOuts) {
+        for (int i = 0; i < ins.length; i++) {
+            long in = ins[i];
+            long out = outs[i];
+            effectiveIns[i] = in;
+            effectiveOuts[i] = out;
+            late[i] = 0;
+            earlyLeave[i] = 0;
+            if (out <= in) {
+                worked[i] = 0;
+                continue;
+            }
+            if (!hasSchedule(scheduleStarts[i], scheduleFinals[i])) {
+                worked[i] = (int) (out - in);
+                continue;
+            }
+            int tolerance = tolerances[i];
+            long expectedIn = nearestScheduledMinute(in, scheduleStarts[i]);
+            long expectedOut = expectedOut(expectedIn, scheduleStarts[i], scheduleFinals[i]);
+            if (withinDailyTolerance(in, out, expectedIn, expectedOut, tolerance)) {
+                if (Math.abs(in - expectedIn) <= tolerance) {
+                    effectiveIns[i] = expectedIn;
+                }
+                if (Math.abs(out - expectedOut) <= tolerance) {
+                    effectiveOuts[i] = expectedOut;
+                }
+            }
+            worked[i] = (int) Math.max(0, effectiveOuts[i] - effectiveIns[i]);
+            late[i] = (int) Math.max(0, effectiveIns[i] - expectedIn);
+            earlyLeave[i] = (int) Math.max(0, expectedOut - effectiveOuts[i]);
+        }
+    }
+
+    private static long expectedOut(long expectedIn, int scheduleStart, int scheduleFinal) {
+        return expectedIn + Math.floorMod(scheduleFinal - scheduleStart, MINUTES_PER_DAY);
+    }
+
+    private static boolean withinDailyTolerance(long in, long out, long expectedIn, long expectedOut, int tolerance) {
+        return Math.abs(in - expectedIn) + Math.abs(out - expectedOut) <= (long) DAILY_TOLERANCE_FACTOR * tolerance;
+    }
+
+    private static long nearestScheduledMinute(long punch, int minuteOfDay) {
+        long candidate = Math.floorDiv(punch, MINUTES_PER_DAY) * MINUTES_PER_DAY + minuteOfDay;
+        if (punch - candidate > MINUTES_PER_DAY / 2) {
+            candidate += MINUTES_PER_DAY;
+        } else if (candidate - punch > MINUTES_PER_DAY / 2) {
+            candidate -= MINUTES_PER_DAY;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dio.santander.apimanagerpoints.formats;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public enum DataFormat {
+    JSON(MediaType.APPLICATION_JSON, null),
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory()),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"), new SmileFactory());
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+
+    DataFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public JsonGenerator createGenerator(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        if (factory == null) {
+            return objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        }
+        return factory.createGenerator(out);
+    }
+
+    public static DataFormat negotiate(String accept) {
+        if (accept == null || accept.trim().isEmpty()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            for (DataFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
@@ -11,6 +11,7 @@ public interface BankOfHourMapper {
     BankOfHourMapper INSTANCE = Mappers.getMapper(BankOfHourMapper.class);
 
 //    @Mapping(target = "dateWorked", source = "dateWorked", dateFormat = "dd-MM-yyyy HH:mm:ss")
+    @Mapping(target = "idempotencyKey", ignore = true)
     BankOfHour toModel(BankOfHourDTO bankOfHourDTO);
 
     BankOfHourDTO toDto(BankOfHour bankOfHour);
@@ -12,6 +12,7 @@ public interface MovementMapper {
 
 //    @Mapping(target = "dateOfIn", source = "dateOfIn", dateFormat = "dd-MM-yyyy HH:mm:ss")
 //    @Mapping(target = "dateOfOut", source = "dateOfOut", dateFormat = "dd-MM-yyyy HH:mm:ss")
+    @Mapping(target = "idempotencyKey", ignore = true)
     Movement toModel(MovementDTO movementDTO);
 
     MovementDTO toDto(Movement movement);
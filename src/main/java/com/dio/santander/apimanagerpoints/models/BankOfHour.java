@@ -3,10 +3,14 @@ package com.dio.santander.apimanagerpoints.models;
 import lombok.*;
 import org.hibernate.envers.Audited;
 
+import javax.persistence.Column;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,15 +22,18 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @Builder
 @Entity
+@NamedEntityGraph(name = "BankOfHour.details", attributeNodes = @NamedAttributeNode("userCategory"))
 @Audited
 public class BankOfHour implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @EmbeddedId
     private BankOfHourPK id = new BankOfHourPK();
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private UserCategory userCategory;
     private LocalDateTime dateWorked;
     private BigDecimal amountOfHour;
     private BigDecimal balanceOfHour;
+    @Column(unique = true)
+    private String idempotencyKey;
 }
@@ -0,0 +1,23 @@
+package com.dio.santander.apimanagerpoints.models;
+
+import lombok.*;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+@Entity
+public class BankOfHourCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private BankOfHourCheckpointPK id;
+    private BigDecimal balance;
+}
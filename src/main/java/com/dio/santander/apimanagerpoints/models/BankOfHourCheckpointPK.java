@@ -0,0 +1,19 @@
+package com.dio.santander.apimanagerpoints.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class BankOfHourCheckpointPK implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long userId;
+    private int period;
+}
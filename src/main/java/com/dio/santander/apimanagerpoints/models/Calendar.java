@@ -1,11 +1,18 @@
 package com.dio.santander.apimanagerpoints.models;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.Audited;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 @Getter
@@ -15,12 +22,17 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @Builder
 @Entity
+@NamedEntityGraph(name = "Calendar.details", attributeNodes = @NamedAttributeNode("dateType"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "calendar")
 @Audited
 public class Calendar {
     @Id
     private Long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private DateType dateType;
     private String description;
     private LocalDateTime specialDate;
+    @Version
+    private Long version;
 }
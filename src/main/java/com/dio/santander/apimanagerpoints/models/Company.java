@@ -1,10 +1,14 @@
 package com.dio.santander.apimanagerpoints.models;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.Audited;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -13,6 +17,8 @@ import javax.persistence.Id;
 @EqualsAndHashCode
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "company")
 @Audited
 public class Company {
     @Id
@@ -24,4 +30,6 @@ public class Company {
     private String city;
     private String state;
     private String phone;
+    @Version
+    private Long version;
 }
@@ -1,10 +1,14 @@
 package com.dio.santander.apimanagerpoints.models;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.Audited;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -13,9 +17,13 @@ import javax.persistence.Id;
 @EqualsAndHashCode
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "dateType")
 @Audited
 public class DateType {
     @Id
     private long id;
     private String description;
+    @Version
+    private Long version;
 }
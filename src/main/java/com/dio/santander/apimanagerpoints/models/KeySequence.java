@@ -0,0 +1,19 @@
+package com.dio.santander.apimanagerpoints.models;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+@Entity
+public class KeySequence {
+    @Id
+    private String name;
+    private long nextValue;
+}
@@ -3,8 +3,12 @@ package com.dio.santander.apimanagerpoints.models;
 import lombok.*;
 
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -13,10 +17,13 @@ import javax.persistence.ManyToOne;
 @EqualsAndHashCode
 @Builder
 @Entity
+@NamedEntityGraph(name = "Location.details", attributeNodes = @NamedAttributeNode("accessLevel"))
 public class Location {
     @Id
     private long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccessLevel accessLevel;
     private String description;
+    @Version
+    private Long version;
 }
@@ -1,12 +1,18 @@
 package com.dio.santander.apimanagerpoints.models;
 
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.envers.Audited;
 
+import javax.persistence.Column;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,6 +24,11 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @Builder
 @Entity
+@NamedEntityGraph(name = "Movement.details", attributeNodes = {
+        @NamedAttributeNode("occurrence"),
+        @NamedAttributeNode(value = "calendar", subgraph = "calendar")
+}, subgraphs = @NamedSubgraph(name = "calendar", attributeNodes = @NamedAttributeNode("dateType")))
+@DynamicUpdate
 @Audited
 public class Movement implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -28,8 +39,16 @@ public class Movement implements Serializable {
     private LocalDateTime dateOfIn;
     private LocalDateTime dateOfOut;
     private BigDecimal period;
-    @ManyToOne
+    private Integer lateMinutes;
+    private Integer earlyLeaveMinutes;
+    private Integer regularMinutes;
+    private Integer overtimeMinutes;
+    private Integer nightMinutes;
+    private Integer holidayMinutes;
+    @ManyToOne(fetch = FetchType.LAZY)
     private Occurrence occurrence;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Calendar calendar;
+    @Column(unique = true)
+    private String idempotencyKey;
 }
@@ -0,0 +1,28 @@
+package com.dio.santander.apimanagerpoints.models;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+@Entity
+public class MovementDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private long movementId;
+    private long userId;
+    private String status;
+    private String reason;
+    private String payload;
+    private LocalDateTime failedAt;
+}
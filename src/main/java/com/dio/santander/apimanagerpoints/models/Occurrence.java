@@ -1,10 +1,14 @@
 package com.dio.santander.apimanagerpoints.models;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.Audited;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -13,10 +17,14 @@ import javax.persistence.Id;
 @EqualsAndHashCode
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "occurrence")
 @Audited
 public class Occurrence {
     @Id
     private long id;
     private String name;
     private String description;
+    @Version
+    private Long version;
 }
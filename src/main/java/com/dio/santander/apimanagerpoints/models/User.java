@@ -4,8 +4,12 @@ import lombok.*;
 import org.hibernate.envers.Audited;
 
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -16,20 +20,28 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @Builder
 @Entity
+@NamedEntityGraph(name = "User.details", attributeNodes = {
+        @NamedAttributeNode("userCategory"),
+        @NamedAttributeNode("company"),
+        @NamedAttributeNode("accessLevel"),
+        @NamedAttributeNode("workDay")
+})
 @Audited
 public class User {
     @Id
     private Long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private UserCategory userCategory;
     private String name;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Company company;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccessLevel accessLevel;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private WorkDay workDay;
     private BigDecimal tolerance;
     private LocalDateTime workDayStart;
     private LocalDateTime workDayFinal;
+    @Version
+    private Long version;
 }
@@ -0,0 +1,25 @@
+package com.dio.santander.apimanagerpoints.models;
+
+import lombok.*;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+@Entity
+public class WorkedHoursDaily implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private WorkedHoursDailyPK id;
+    private int workedMinutes;
+    private int lateMinutes;
+    private int earlyLeaveMinutes;
+    private int movements;
+}
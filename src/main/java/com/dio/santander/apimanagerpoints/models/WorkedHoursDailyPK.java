@@ -0,0 +1,20 @@
+package com.dio.santander.apimanagerpoints.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class WorkedHoursDailyPK implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long userId;
+    private LocalDate workedDay;
+}
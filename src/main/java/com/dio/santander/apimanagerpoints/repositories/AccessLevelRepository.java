@@ -1,9 +1,29 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.AccessLevel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface AccessLevelRepository extends JpaRepository<AccessLevel, Long> {
+public interface AccessLevelRepository extends JpaRepository<AccessLevel, Long>, VersionedRepository<AccessLevel> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<AccessLevel> findAll();
+
+    Slice<AccessLevel> findSliceBy(Pageable pageable);
+
+    @Query("select al.version from AccessLevel al where al.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(al), max(al.version), sum(al.id * (al.version + 1))) from AccessLevel al")
+    VersionSummaryDTO findVersionSummary();
 }
@@ -0,0 +1,22 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.models.BankOfHourCheckpoint;
+import com.dio.santander.apimanagerpoints.models.BankOfHourCheckpointPK;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BankOfHourCheckpointRepository extends JpaRepository<BankOfHourCheckpoint, BankOfHourCheckpointPK>,
+        BatchInsertRepository<BankOfHourCheckpoint> {
+    @Query("select c from BankOfHourCheckpoint c where c.id.userId = ?1 and c.id.period < ?2 order by c.id.period desc")
+    List<BankOfHourCheckpoint> findPrevious(long userId, int period, Pageable pageable);
+
+    @Modifying
+    @Query("delete from BankOfHourCheckpoint c where c.id.userId = ?1 and c.id.period >= ?2")
+    int deleteFrom(long userId, int period);
+}
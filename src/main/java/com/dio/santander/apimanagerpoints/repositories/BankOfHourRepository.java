@@ -1,12 +1,115 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO;
 import com.dio.santander.apimanagerpoints.models.BankOfHour;
+import com.dio.santander.apimanagerpoints.models.BankOfHourPK;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface BankOfHourRepository extends JpaRepository<BankOfHour, Long> {
+public interface BankOfHourRepository extends JpaRepository<BankOfHour, Long>, BatchInsertRepository<BankOfHour> {
+    @EntityGraph("BankOfHour.details")
+    Page<BankOfHour> findAll(Pageable pageable);
+
+    @EntityGraph("BankOfHour.details")
     @Query("select boh from BankOfHour boh where boh.id.bankOfHourId = ?1 and boh.id.movementId =?2 and boh.id.userId = ?3")
     BankOfHour findByPK(Long bankOfHourId, Long movementId, Long userId);
+
+    @Query("select boh.id from BankOfHour boh where boh.id.userId in ?1 and boh.id.bankOfHourId in ?2")
+    List<BankOfHourPK> findExistingIds(Collection<Long> userIds, Collection<Long> bankOfHourIds);
+
+    @EntityGraph("BankOfHour.details")
+    BankOfHour findByIdempotencyKey(String idempotencyKey);
+
+    @Query("select coalesce(max(boh.id.bankOfHourId), 0) from BankOfHour boh")
+    long findMaxBankOfHourId();
+
+    @Query("select boh from BankOfHour boh where boh.id.userId = ?1 and boh.dateWorked < ?2 " +
+            "order by boh.dateWorked desc, boh.id.bankOfHourId desc")
+    List<BankOfHour> findLedgerPrefix(long userId, LocalDateTime dateWorked, Pageable pageable);
+
+    @Query("select boh from BankOfHour boh where boh.id.userId = ?1 and boh.dateWorked >= ?2 " +
+            "order by boh.dateWorked, boh.id.bankOfHourId")
+    List<BankOfHour> findLedgerSuffix(long userId, LocalDateTime dateWorked);
+
+    @Query("select coalesce(sum(boh.amountOfHour), 0) from BankOfHour boh " +
+            "where boh.id.userId = ?1 and boh.dateWorked >= ?2 and boh.dateWorked <= ?3")
+    BigDecimal sumAmountOfHour(long userId, LocalDateTime from, LocalDateTime to);
+
+    @Query("select coalesce(sum(boh.amountOfHour), 0) from BankOfHour boh " +
+            "where boh.id.userId = ?1 and boh.dateWorked <= ?2")
+    BigDecimal sumAmountOfHourUntil(long userId, LocalDateTime to);
+
+    @EntityGraph("BankOfHour.details")
+    @Query("select boh from BankOfHour boh order by boh.id.userId, boh.dateWorked, boh.id.bankOfHourId")
+    List<BankOfHour> findFirstSeek(Pageable pageable);
+
+    @EntityGraph("BankOfHour.details")
+    @Query("select boh from BankOfHour boh where boh.id.userId >= ?1 and (boh.id.userId > ?1 " +
+            "or boh.dateWorked > ?2 " +
+            "or (boh.dateWorked = ?2 and boh.id.bankOfHourId > ?3)) " +
+            "order by boh.id.userId, boh.dateWorked, boh.id.bankOfHourId")
+    List<BankOfHour> findSeekAfter(long userId, LocalDateTime dateWorked, long bankOfHourId, Pageable pageable);
+
+    @EntityGraph("BankOfHour.details")
+    @Query("select boh from BankOfHour boh where boh.id.userId >= ?1 and (boh.id.userId > ?1 " +
+            "or boh.dateWorked is not null " +
+            "or (boh.dateWorked is null and boh.id.bankOfHourId > ?2)) " +
+            "order by boh.id.userId, boh.dateWorked, boh.id.bankOfHourId")
+    List<BankOfHour> findSeekAfterUndated(long userId, long bankOfHourId, Pageable pageable);
+
+    @EntityGraph("BankOfHour.details")
+    @Query("select boh from BankOfHour boh where boh.id.userId = ?1 and boh.dateWorked >= ?2 and boh.dateWorked < ?3 " +
+            "order by boh.dateWorked, boh.id.bankOfHourId")
+    List<BankOfHour> findByUserBetween(long userId, LocalDateTime from, LocalDateTime to);
+
+    String SELECT_BANK_OF_HOUR_DTO = "select new com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO(" +
+            "boh.id.bankOfHourId, boh.id.movementId, boh.id.userId, boh.dateWorked, boh.amountOfHour, " +
+            "boh.balanceOfHour, uc.id, uc.description) " +
+            "from BankOfHour boh left join boh.userCategory uc";
+
+    String SELECT_BANK_OF_HOUR_REFERENCE_DTO = "select new com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO(" +
+            "boh.id.bankOfHourId, boh.id.movementId, boh.id.userId, boh.dateWorked, boh.amountOfHour, " +
+            "boh.balanceOfHour, boh.userCategory.id) from BankOfHour boh";
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SELECT_BANK_OF_HOUR_DTO)
+    Stream<BankOfHourDTO> streamAllProjected();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SELECT_BANK_OF_HOUR_REFERENCE_DTO)
+    Stream<BankOfHourDTO> streamAllReferences();
+
+    @Query(value = SELECT_BANK_OF_HOUR_DTO, countQuery = "select count(boh) from BankOfHour boh")
+    Page<BankOfHourDTO> findPageProjected(Pageable pageable);
+
+    @Query(value = SELECT_BANK_OF_HOUR_REFERENCE_DTO, countQuery = "select count(boh) from BankOfHour boh")
+    Page<BankOfHourDTO> findPageReferences(Pageable pageable);
+
+    @Query(SELECT_BANK_OF_HOUR_DTO)
+    Slice<BankOfHourDTO> findSliceProjected(Pageable pageable);
+
+    @Query(SELECT_BANK_OF_HOUR_REFERENCE_DTO)
+    Slice<BankOfHourDTO> findSliceReferences(Pageable pageable);
+
+    @Query(SELECT_BANK_OF_HOUR_DTO + " where boh.id.userId = ?1 and boh.dateWorked >= ?2 and boh.dateWorked < ?3 " +
+            "order by boh.dateWorked, boh.id.bankOfHourId")
+    List<BankOfHourDTO> findProjectedByUserBetween(long userId, LocalDateTime from, LocalDateTime to);
+
+    @Query(SELECT_BANK_OF_HOUR_REFERENCE_DTO + " where boh.id.userId = ?1 and boh.dateWorked >= ?2 " +
+            "and boh.dateWorked < ?3 order by boh.dateWorked, boh.id.bankOfHourId")
+    List<BankOfHourDTO> findReferencesByUserBetween(long userId, LocalDateTime from, LocalDateTime to);
 }
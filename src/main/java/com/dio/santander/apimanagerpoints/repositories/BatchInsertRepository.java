@@ -0,0 +1,9 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import java.util.List;
+
+public interface BatchInsertRepository<T> {
+    T persist(T entity);
+
+    List<T> persistAll(List<T> entities);
+}
@@ -1,9 +1,43 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.Calendar;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface CalendarRepository extends JpaRepository<Calendar, Long> {
+public interface CalendarRepository extends JpaRepository<Calendar, Long>, VersionedRepository<Calendar> {
+    @EntityGraph("Calendar.details")
+    List<Calendar> findAll();
+
+    @EntityGraph("Calendar.details")
+    Page<Calendar> findAll(Pageable pageable);
+
+    @EntityGraph("Calendar.details")
+    Optional<Calendar> findById(Long id);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select c from Calendar c left join fetch c.dateType where c.specialDate >= ?1 and c.specialDate < ?2")
+    List<Calendar> findBySpecialDateBetween(LocalDateTime from, LocalDateTime to);
+
+    @EntityGraph("Calendar.details")
+    Slice<Calendar> findSliceBy(Pageable pageable);
+
+    @Query("select c.version from Calendar c where c.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(c), max(c.version), sum(c.id * (c.version + 1))) from Calendar c")
+    VersionSummaryDTO findVersionSummary();
 }
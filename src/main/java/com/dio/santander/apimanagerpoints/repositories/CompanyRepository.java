@@ -1,9 +1,29 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.Company;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Long> {
+public interface CompanyRepository extends JpaRepository<Company, Long>, VersionedRepository<Company> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Company> findAll();
+
+    Slice<Company> findSliceBy(Pageable pageable);
+
+    @Query("select c.version from Company c where c.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(c), max(c.version), sum(c.id * (c.version + 1))) from Company c")
+    VersionSummaryDTO findVersionSummary();
 }
@@ -1,9 +1,29 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.DateType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface DateTypeRepository extends JpaRepository<DateType, Long> {
+public interface DateTypeRepository extends JpaRepository<DateType, Long>, VersionedRepository<DateType> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<DateType> findAll();
+
+    Slice<DateType> findSliceBy(Pageable pageable);
+
+    @Query("select dt.version from DateType dt where dt.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(dt), max(dt.version), sum(dt.id * (dt.version + 1))) from DateType dt")
+    VersionSummaryDTO findVersionSummary();
 }
@@ -0,0 +1,16 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.models.KeySequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+
+@Repository
+public interface KeySequenceRepository extends JpaRepository<KeySequence, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from KeySequence s where s.name = ?1")
+    KeySequence findForUpdate(String name);
+}
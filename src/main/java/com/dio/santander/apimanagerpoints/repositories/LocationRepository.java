@@ -1,9 +1,36 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.Location;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {
+public interface LocationRepository extends JpaRepository<Location, Long>, VersionedRepository<Location> {
+    @EntityGraph("Location.details")
+    List<Location> findAll();
+
+    @EntityGraph("Location.details")
+    Page<Location> findAll(Pageable pageable);
+
+    @EntityGraph("Location.details")
+    Optional<Location> findById(Long id);
+
+    @EntityGraph("Location.details")
+    Slice<Location> findSliceBy(Pageable pageable);
+
+    @Query("select l.version from Location l where l.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(l), max(l.version), sum(l.id * (l.version + 1))) from Location l")
+    VersionSummaryDTO findVersionSummary();
 }
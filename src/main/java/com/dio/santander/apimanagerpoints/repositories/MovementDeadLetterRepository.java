@@ -0,0 +1,9 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.models.MovementDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MovementDeadLetterRepository extends JpaRepository<MovementDeadLetter, Long> {
+}
@@ -1,12 +1,109 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
 import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface MovementRepository extends JpaRepository<Movement, Long> {
+public interface MovementRepository extends JpaRepository<Movement, Long>, BatchInsertRepository<Movement> {
+    @EntityGraph("Movement.details")
+    Page<Movement> findAll(Pageable pageable);
+
+    @EntityGraph("Movement.details")
     @Query("select m from Movement m where m.id.movementId =?1 and m.id.userId = ?2")
     Movement findByPK(Long movementId, Long userId);
+
+    @Query("select m.id from Movement m where m.id.userId in ?1 and m.id.movementId in ?2")
+    List<MovementPK> findExistingIds(Collection<Long> userIds, Collection<Long> movementIds);
+
+    @EntityGraph("Movement.details")
+    Movement findByIdempotencyKey(String idempotencyKey);
+
+    @Query("select coalesce(max(m.id.movementId), 0) from Movement m")
+    long findMaxMovementId();
+
+    @Query("select m.id from Movement m where m.dateOfOut is null")
+    List<MovementPK> findOpenIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Movement m where m.id.userId = ?1 and m.dateOfIn >= ?2 order by m.dateOfIn")
+    List<Movement> findByUserFrom(long userId, LocalDateTime from);
+
+    @EntityGraph("Movement.details")
+    @Query("select m from Movement m order by m.id.userId, m.dateOfIn, m.id.movementId")
+    List<Movement> findFirstSeek(Pageable pageable);
+
+    @EntityGraph("Movement.details")
+    @Query("select m from Movement m where m.id.userId >= ?1 and (m.id.userId > ?1 " +
+            "or m.dateOfIn > ?2 " +
+            "or (m.dateOfIn = ?2 and m.id.movementId > ?3)) " +
+            "order by m.id.userId, m.dateOfIn, m.id.movementId")
+    List<Movement> findSeekAfter(long userId, LocalDateTime dateOfIn, long movementId, Pageable pageable);
+
+    @EntityGraph("Movement.details")
+    @Query("select m from Movement m where m.id.userId >= ?1 and (m.id.userId > ?1 " +
+            "or m.dateOfIn is not null " +
+            "or (m.dateOfIn is null and m.id.movementId > ?2)) " +
+            "order by m.id.userId, m.dateOfIn, m.id.movementId")
+    List<Movement> findSeekAfterUndated(long userId, long movementId, Pageable pageable);
+
+    @EntityGraph("Movement.details")
+    @Query("select m from Movement m where m.id.userId = ?1 and m.dateOfIn >= ?2 and m.dateOfIn < ?3 " +
+            "order by m.dateOfIn, m.id.movementId")
+    List<Movement> findByUserBetween(long userId, LocalDateTime from, LocalDateTime to);
+
+    String SELECT_MOVEMENT_DTO = "select new com.dio.santander.apimanagerpoints.dtos.MovementDTO(" +
+            "m.id.movementId, m.id.userId, m.dateOfIn, m.dateOfOut, m.period, m.lateMinutes, m.earlyLeaveMinutes, " +
+            "m.regularMinutes, m.overtimeMinutes, m.nightMinutes, m.holidayMinutes, " +
+            "o.id, o.name, o.description, c.id, c.description, c.specialDate, d.id, d.description) " +
+            "from Movement m left join m.occurrence o left join m.calendar c left join c.dateType d";
+
+    String SELECT_MOVEMENT_REFERENCE_DTO = "select new com.dio.santander.apimanagerpoints.dtos.MovementDTO(" +
+            "m.id.movementId, m.id.userId, m.dateOfIn, m.dateOfOut, m.period, m.lateMinutes, m.earlyLeaveMinutes, " +
+            "m.regularMinutes, m.overtimeMinutes, m.nightMinutes, m.holidayMinutes, m.occurrence.id, m.calendar.id) " +
+            "from Movement m";
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SELECT_MOVEMENT_DTO)
+    Stream<MovementDTO> streamAllProjected();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SELECT_MOVEMENT_REFERENCE_DTO)
+    Stream<MovementDTO> streamAllReferences();
+
+    @Query(value = SELECT_MOVEMENT_DTO, countQuery = "select count(m) from Movement m")
+    Page<MovementDTO> findPageProjected(Pageable pageable);
+
+    @Query(value = SELECT_MOVEMENT_REFERENCE_DTO, countQuery = "select count(m) from Movement m")
+    Page<MovementDTO> findPageReferences(Pageable pageable);
+
+    @Query(SELECT_MOVEMENT_DTO)
+    Slice<MovementDTO> findSliceProjected(Pageable pageable);
+
+    @Query(SELECT_MOVEMENT_REFERENCE_DTO)
+    Slice<MovementDTO> findSliceReferences(Pageable pageable);
+
+    @Query(SELECT_MOVEMENT_DTO + " where m.id.userId = ?1 and m.dateOfIn >= ?2 and m.dateOfIn < ?3 " +
+            "order by m.dateOfIn, m.id.movementId")
+    List<MovementDTO> findProjectedByUserBetween(long userId, LocalDateTime from, LocalDateTime to);
+
+    @Query(SELECT_MOVEMENT_REFERENCE_DTO + " where m.id.userId = ?1 and m.dateOfIn >= ?2 and m.dateOfIn < ?3 " +
+            "order by m.dateOfIn, m.id.movementId")
+    List<MovementDTO> findReferencesByUserBetween(long userId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,9 +1,29 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.Occurrence;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OccurrenceRepository extends JpaRepository<Occurrence, Long> {
+public interface OccurrenceRepository extends JpaRepository<Occurrence, Long>, VersionedRepository<Occurrence> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Occurrence> findAll();
+
+    Slice<Occurrence> findSliceBy(Pageable pageable);
+
+    @Query("select o.version from Occurrence o where o.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(o), max(o.version), sum(o.id * (o.version + 1))) from Occurrence o")
+    VersionSummaryDTO findVersionSummary();
 }
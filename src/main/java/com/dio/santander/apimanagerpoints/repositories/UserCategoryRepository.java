@@ -1,9 +1,29 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.UserCategory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface UserCategoryRepository extends JpaRepository<UserCategory, Long> {
+public interface UserCategoryRepository extends JpaRepository<UserCategory, Long>, VersionedRepository<UserCategory> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<UserCategory> findAll();
+
+    Slice<UserCategory> findSliceBy(Pageable pageable);
+
+    @Query("select uc.version from UserCategory uc where uc.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(uc), max(uc.version), sum(uc.id * (uc.version + 1))) from UserCategory uc")
+    VersionSummaryDTO findVersionSummary();
 }
@@ -1,9 +1,90 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.UserDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserScheduleDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserVersionDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, VersionedRepository<User> {
+    @EntityGraph("User.details")
+    Page<User> findAll(Pageable pageable);
+
+    @EntityGraph("User.details")
+    Optional<User> findById(Long id);
+
+    @Query("select c.id, u.id from User u left join u.company c order by c.id, u.id")
+    List<Object[]> findCompanyAndUserIds();
+
+    @Query("select c.id, u.id from User u join u.company c where c.id = ?1 order by u.id")
+    List<Object[]> findCompanyAndUserIds(Long companyId);
+
+    String SELECT_USER_DTO = "select new com.dio.santander.apimanagerpoints.dtos.UserDTO(" +
+            "u.id, u.name, u.tolerance, u.workDayStart, u.workDayFinal, uc.id, uc.description, " +
+            "c.id, c.description, c.cnpj, c.address, c.district, c.city, c.state, c.phone, " +
+            "al.id, al.description, wd.id, wd.description) " +
+            "from User u left join u.userCategory uc left join u.company c " +
+            "left join u.accessLevel al left join u.workDay wd";
+
+    String SELECT_USER_REFERENCE_DTO = "select new com.dio.santander.apimanagerpoints.dtos.UserDTO(" +
+            "u.id, u.name, u.tolerance, u.workDayStart, u.workDayFinal, " +
+            "u.userCategory.id, u.company.id, u.accessLevel.id, u.workDay.id) from User u";
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SELECT_USER_DTO)
+    Stream<UserDTO> streamAllProjected();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(SELECT_USER_REFERENCE_DTO)
+    Stream<UserDTO> streamAllReferences();
+
+    @Query(value = SELECT_USER_DTO, countQuery = "select count(u) from User u")
+    Page<UserDTO> findPageProjected(Pageable pageable);
+
+    @Query(value = SELECT_USER_REFERENCE_DTO, countQuery = "select count(u) from User u")
+    Page<UserDTO> findPageReferences(Pageable pageable);
+
+    @Query(SELECT_USER_DTO)
+    Slice<UserDTO> findSliceProjected(Pageable pageable);
+
+    @Query(SELECT_USER_REFERENCE_DTO)
+    Slice<UserDTO> findSliceReferences(Pageable pageable);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.UserScheduleDTO(" +
+            "u.id, u.tolerance, u.workDayStart, u.workDayFinal) from User u where u.id in ?1")
+    List<UserScheduleDTO> findSchedules(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = ?1")
+    Optional<User> lockById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.UserVersionDTO(" +
+            "u.version, c.version, wd.version, al.version, uc.version) " +
+            "from User u left join u.company c left join u.workDay wd " +
+            "left join u.accessLevel al left join u.userCategory uc where u.id = ?1")
+    Optional<UserVersionDTO> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(u), max(u.version), sum(u.id * (u.version + coalesce(c.version, 0) + coalesce(wd.version, 0) + " +
+            "coalesce(al.version, 0) + coalesce(uc.version, 0) + 1))) " +
+            "from User u left join u.company c left join u.workDay wd " +
+            "left join u.accessLevel al left join u.userCategory uc")
+    VersionSummaryDTO findVersionSummary();
 }
@@ -0,0 +1,7 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+public interface VersionedRepository<T> {
+    T updateVersioned(T entity);
+
+    void deleteVersioned(T entity);
+}
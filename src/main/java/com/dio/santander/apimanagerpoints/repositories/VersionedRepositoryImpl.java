@@ -0,0 +1,53 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.Attribute;
+import java.lang.reflect.Field;
+
+public class VersionedRepositoryImpl<T> implements VersionedRepository<T> {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public T updateVersioned(T entity) {
+        Session session = entityManager.unwrap(Session.class);
+        session.update(withReferences(entity));
+        session.flush();
+        return entity;
+    }
+
+    @Override
+    @Transactional
+    public void deleteVersioned(T entity) {
+        Session session = entityManager.unwrap(Session.class);
+        session.buildLockRequest(new LockOptions(LockMode.NONE)).lock(entity);
+        session.delete(entity);
+        session.flush();
+    }
+
+    private T withReferences(T entity) {
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        for (Attribute<?, ?> attribute : entityManager.getMetamodel().entity(entity.getClass()).getAttributes()) {
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.MANY_TO_ONE) {
+                continue;
+            }
+            Field field = (Field) attribute.getJavaMember();
+            ReflectionUtils.makeAccessible(field);
+            Object reference = ReflectionUtils.getField(field, entity);
+            if (reference != null) {
+                ReflectionUtils.setField(field, entity, entityManager.getReference(
+                        attribute.getJavaType(), persistenceUnitUtil.getIdentifier(reference)));
+            }
+        }
+        return entity;
+    }
+}
@@ -1,9 +1,29 @@
 package com.dio.santander.apimanagerpoints.repositories;
 
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.models.WorkDay;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface WorkDayRepository extends JpaRepository<WorkDay, Long> {
+public interface WorkDayRepository extends JpaRepository<WorkDay, Long>, VersionedRepository<WorkDay> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<WorkDay> findAll();
+
+    Slice<WorkDay> findSliceBy(Pageable pageable);
+
+    @Query("select wd.version from WorkDay wd where wd.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO(" +
+            "count(wd), max(wd.version), sum(wd.id * (wd.version + 1))) from WorkDay wd")
+    VersionSummaryDTO findVersionSummary();
 }
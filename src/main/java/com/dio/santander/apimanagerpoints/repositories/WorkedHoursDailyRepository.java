@@ -0,0 +1,23 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDaily;
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDailyPK;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WorkedHoursDailyRepository extends JpaRepository<WorkedHoursDaily, WorkedHoursDailyPK>,
+        WorkedHoursDailyUpsertRepository, BatchInsertRepository<WorkedHoursDaily> {
+    @Query("select w from WorkedHoursDaily w where w.id.userId = ?1 and w.id.workedDay between ?2 and ?3 " +
+            "order by w.id.workedDay")
+    List<WorkedHoursDaily> findByUserBetween(long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("delete from WorkedHoursDaily w where w.id.userId = ?1 and w.id.workedDay >= ?2")
+    int deleteFrom(long userId, LocalDate from);
+}
@@ -0,0 +1,7 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import java.time.LocalDate;
+
+public interface WorkedHoursDailyUpsertRepository {
+    void addTo(long userId, LocalDate workedDay, int workedMinutes, int lateMinutes, int earlyLeaveMinutes, int movements);
+}
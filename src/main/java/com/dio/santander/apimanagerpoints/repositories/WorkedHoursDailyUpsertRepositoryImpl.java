@@ -0,0 +1,60 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.Locale;
+
+public class WorkedHoursDailyUpsertRepositoryImpl implements WorkedHoursDailyUpsertRepository {
+    private static final String INSERT_ON_DUPLICATE_KEY =
+            "insert into worked_hours_daily " +
+            "(user_id, worked_day, worked_minutes, late_minutes, early_leave_minutes, movements) " +
+            "values (?1, ?2, ?3, ?4, ?5, ?6) on duplicate key update " +
+            "worked_minutes = worked_minutes + values(worked_minutes), " +
+            "late_minutes = late_minutes + values(late_minutes), " +
+            "early_leave_minutes = early_leave_minutes + values(early_leave_minutes), " +
+            "movements = movements + values(movements)";
+    private static final String MERGE =
+            "merge into worked_hours_daily w using (select cast(?1 as bigint) user_id, cast(?2 as date) worked_day, " +
+            "cast(?3 as integer) worked_minutes, cast(?4 as integer) late_minutes, " +
+            "cast(?5 as integer) early_leave_minutes, cast(?6 as integer) movements) d " +
+            "on (w.user_id = d.user_id and w.worked_day = d.worked_day) " +
+            "when matched then update set worked_minutes = w.worked_minutes + d.worked_minutes, " +
+            "late_minutes = w.late_minutes + d.late_minutes, " +
+            "early_leave_minutes = w.early_leave_minutes + d.early_leave_minutes, " +
+            "movements = w.movements + d.movements " +
+            "when not matched then insert (user_id, worked_day, worked_minutes, late_minutes, early_leave_minutes, movements) " +
+            "values (d.user_id, d.worked_day, d.worked_minutes, d.late_minutes, d.early_leave_minutes, d.movements)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsert;
+
+    @Override
+    @Transactional
+    public void addTo(long userId, LocalDate workedDay, int workedMinutes, int lateMinutes, int earlyLeaveMinutes,
+                      int movements) {
+        entityManager.createNativeQuery(upsert())
+                .setParameter(1, userId)
+                .setParameter(2, workedDay)
+                .setParameter(3, workedMinutes)
+                .setParameter(4, lateMinutes)
+                .setParameter(5, earlyLeaveMinutes)
+                .setParameter(6, movements)
+                .executeUpdate();
+    }
+
+    private String upsert() {
+        if (upsert == null) {
+            String product = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName())
+                    .toLowerCase(Locale.ROOT);
+            upsert = product.contains("mysql") || product.contains("mariadb") ? INSERT_ON_DUPLICATE_KEY : MERGE;
+        }
+        return upsert;
+    }
+}
@@ -1,18 +1,27 @@
 package com.dio.santander.apimanagerpoints.services;
 
+import com.dio.santander.apimanagerpoints.cache.CachingConfig;
 import com.dio.santander.apimanagerpoints.dtos.AccessLevelDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.mappers.AccessLevelMapper;
 import com.dio.santander.apimanagerpoints.models.AccessLevel;
 import com.dio.santander.apimanagerpoints.repositories.AccessLevelRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,46 +29,80 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@CacheConfig(cacheNames = CachingConfig.ACCESS_LEVELS)
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class AccessLevelService {
     private final AccessLevelRepository accessLevelRepository;
+    private final RowCountCache rowCountCache;
     private final AccessLevelMapper accessLevelMapper = AccessLevelMapper.INSTANCE;
 
+    @CacheEvict(allEntries = true)
     public AccessLevelDTO insert(AccessLevelDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         AccessLevel objToSave = accessLevelMapper.toModel(objDto);
         AccessLevel objSaved = accessLevelRepository.save(objToSave);
+        rowCountCache.invalidate(AccessLevel.class);
         return accessLevelMapper.toDto(objSaved);
     }
 
-    public AccessLevelDTO update(AccessLevelDTO objDto) {
-        find(objDto.getId());
+    @CacheEvict(allEntries = true)
+    public AccessLevelDTO update(AccessLevelDTO objDto, Long expectedVersion) {
         AccessLevel objToSave = accessLevelMapper.toModel(objDto);
-        AccessLevel objSaved = accessLevelRepository.save(objToSave);
+        AccessLevel objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = accessLevelRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = accessLevelRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return accessLevelMapper.toDto(objSaved);
     }
 
+    @Cacheable
     public List<AccessLevelDTO> findAll() {
         return accessLevelRepository.findAll().stream().map(accessLevelMapper::toDto).collect(Collectors.toList());
     }
 
+    @Cacheable
     public AccessLevelDTO find(Long id) {
-        AccessLevel obj = accessLevelRepository.findById(id)
+        return accessLevelMapper.toDto(findModel(id));
+    }
+
+    @Cacheable(key = "'version:' + #id")
+    public long findVersion(Long id) {
+        return accessLevelRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + AccessLevel.class.getName()
                 ));
-        return accessLevelMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    @Cacheable(key = "'versions'")
+    public VersionSummaryDTO findVersionSummary() {
+        return accessLevelRepository.findVersionSummary();
+    }
+
+    @CacheEvict(allEntries = true)
+    public void delete(Long id, Long expectedVersion) {
         try {
-            accessLevelRepository.deleteById(id);
+            if (expectedVersion == null) {
+                accessLevelRepository.delete(findModel(id));
+            } else {
+                accessLevelRepository.deleteVersioned(AccessLevel.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(AccessLevel.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir um nível de acesso que possui dependências");
         }
     }
 
+    @Cacheable
     public Page<AccessLevelDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
@@ -67,6 +110,35 @@ public class AccessLevelService {
         return accessLevelRepository.findAll(pageRequest).map(accessLevelMapper::toDto);
     }
 
+    @Cacheable
+    public SliceDTO<AccessLevelDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<AccessLevelDTO> slice = accessLevelRepository.findSliceBy(pageRequest).map(accessLevelMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(AccessLevel.class, accessLevelRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private AccessLevel findModel(Long id) {
+        return accessLevelRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + AccessLevel.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!accessLevelRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + AccessLevel.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + AccessLevel.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<AccessLevel> optObj = accessLevelRepository.findById(id);
         if (optObj.isPresent()) {
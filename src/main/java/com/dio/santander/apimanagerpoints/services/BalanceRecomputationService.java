@@ -0,0 +1,219 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.BalanceRecomputationJobDTO;
+import com.dio.santander.apimanagerpoints.dtos.RecomputationStatus;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.User;
+import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
+import com.dio.santander.apimanagerpoints.repositories.UserRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class BalanceRecomputationService {
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepository userRepository;
+    private final MovementRepository movementRepository;
+    private final MovementCalculationService movementCalculationService;
+    private final BankOfHourLedgerService bankOfHourLedgerService;
+    private final WorkedHoursService workedHoursService;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final int usersPerTask;
+    private final Duration jobRetention;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public BalanceRecomputationService(UserRepository userRepository,
+                                       MovementRepository movementRepository,
+                                       MovementCalculationService movementCalculationService,
+                                       BankOfHourLedgerService bankOfHourLedgerService,
+                                       WorkedHoursService workedHoursService,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.recompute.parallelism:0}") int parallelism,
+                                       @Value("${app.recompute.users-per-task:32}") int usersPerTask,
+                                       @Value("${app.recompute.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.userRepository = userRepository;
+        this.movementRepository = movementRepository;
+        this.movementCalculationService = movementCalculationService;
+        this.bankOfHourLedgerService = bankOfHourLedgerService;
+        this.workedHoursService = workedHoursService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.usersPerTask = Math.max(1, usersPerTask);
+        this.jobRetention = Duration.ofMinutes(Math.max(0, jobRetentionMinutes));
+    }
+
+    public BalanceRecomputationJobDTO start(Long companyId, LocalDate from) {
+        evictFinishedJobs();
+        List<Object[]> rows = companyId == null
+                ? userRepository.findCompanyAndUserIds()
+                : userRepository.findCompanyAndUserIds(companyId);
+        Map<Long, List<Long>> usersByCompany = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            usersByCompany.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((Long) row[1]);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), companyId, from == null ? BEGINNING : from.atStartOfDay(), rows.size());
+        jobs.put(job.id, job);
+        List<RecursiveAction> companies = usersByCompany.values().stream()
+                .map(userIds -> new UsersTask(job, userIds))
+                .collect(Collectors.toList());
+        pool.execute(new JobTask(job, companies));
+        return job.toDto();
+    }
+
+    public BalanceRecomputationJobDTO find(String id) {
+        return findJob(id).toDto();
+    }
+
+    public BalanceRecomputationJobDTO cancel(String id) {
+        Job job = findJob(id);
+        job.cancelled = true;
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        pool.shutdown();
+    }
+
+    private Job findJob(String id) {
+        evictFinishedJobs();
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + BalanceRecomputationJobDTO.class.getName());
+        }
+        return job;
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && !job.finishedAt.isAfter(expiredBefore));
+    }
+
+    private void recompute(Job job, List<Long> userIds) {
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        for (Long userId : userIds) {
+            if (job.cancelled) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> recompute(users.get(userId), userId, job.from));
+            } catch (RuntimeException e) {
+                job.failedUsers.incrementAndGet();
+                log.warn("Falha ao recalcular o banco de horas do usuário {} no job {}", userId, job.id, e);
+            }
+            job.processedUsers.incrementAndGet();
+        }
+    }
+
+    private void recompute(User user, long userId, LocalDateTime from) {
+        bankOfHourLedgerService.lock(userId);
+        List<Movement> movements = movementRepository.findByUserFrom(userId, from);
+        movementCalculationService.applyAll(movements, user);
+        workedHoursService.rebuild(userId, from.toLocalDate(), movements);
+        bankOfHourLedgerService.recomputeFrom(userId, from);
+    }
+
+    private static class Job {
+        private final String id;
+        private final Long companyId;
+        private final LocalDateTime from;
+        private final int totalUsers;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger processedUsers = new AtomicInteger();
+        private final AtomicInteger failedUsers = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile RecomputationStatus status = RecomputationStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, Long companyId, LocalDateTime from, int totalUsers) {
+            this.id = id;
+            this.companyId = companyId;
+            this.from = from;
+            this.totalUsers = totalUsers;
+        }
+
+        private BalanceRecomputationJobDTO toDto() {
+            LocalDateTime finished = finishedAt;
+            return BalanceRecomputationJobDTO.builder()
+                    .id(id)
+                    .companyId(companyId)
+                    .from(from.toString())
+                    .status(status)
+                    .totalUsers(totalUsers)
+                    .processedUsers(processedUsers.get())
+                    .failedUsers(failedUsers.get())
+                    .startedAt(startedAt.toString())
+                    .finishedAt(finished == null ? null : finished.toString())
+                    .build();
+        }
+    }
+
+    private static class JobTask extends RecursiveAction {
+        private final Job job;
+        private final List<RecursiveAction> companies;
+
+        private JobTask(Job job, List<RecursiveAction> companies) {
+            this.job = job;
+            this.companies = companies;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                invokeAll(companies);
+                job.status = job.cancelled ? RecomputationStatus.CANCELLED : RecomputationStatus.COMPLETED;
+            } catch (RuntimeException e) {
+                job.status = RecomputationStatus.FAILED;
+                log.error("Falha no job de recálculo de banco de horas {}", job.id, e);
+            } finally {
+                job.finishedAt = LocalDateTime.now();
+            }
+        }
+    }
+
+    private class UsersTask extends RecursiveAction {
+        private final Job job;
+        private final List<Long> userIds;
+
+        private UsersTask(Job job, List<Long> userIds) {
+            this.job = job;
+            this.userIds = userIds;
+        }
+
+        @Override
+        protected void compute() {
+            if (job.cancelled) {
+                return;
+            }
+            if (userIds.size() <= usersPerTask) {
+                recompute(job, userIds);
+                return;
+            }
+            int middle = userIds.size() / 2;
+            invokeAll(new UsersTask(job, userIds.subList(0, middle)),
+                    new UsersTask(job, userIds.subList(middle, userIds.size())));
+        }
+    }
+}
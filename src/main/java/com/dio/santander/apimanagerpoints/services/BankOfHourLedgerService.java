@@ -0,0 +1,99 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.models.BankOfHour;
+import com.dio.santander.apimanagerpoints.models.BankOfHourCheckpoint;
+import com.dio.santander.apimanagerpoints.models.BankOfHourCheckpointPK;
+import com.dio.santander.apimanagerpoints.models.BankOfHourPK;
+import com.dio.santander.apimanagerpoints.repositories.BankOfHourCheckpointRepository;
+import com.dio.santander.apimanagerpoints.repositories.BankOfHourRepository;
+import com.dio.santander.apimanagerpoints.repositories.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BankOfHourLedgerService {
+    private final BankOfHourRepository bankOfHourRepository;
+    private final BankOfHourCheckpointRepository bankOfHourCheckpointRepository;
+    private final UserRepository userRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(long userId) {
+        userRepository.lockById(userId);
+    }
+
+    @Transactional
+    public Map<BankOfHourPK, BigDecimal> recomputeFrom(long userId, LocalDateTime dateWorked) {
+        List<BankOfHour> prefix = bankOfHourRepository.findLedgerPrefix(userId, dateWorked, PageRequest.of(0, 1));
+        BankOfHour previous = prefix.isEmpty() ? null : prefix.get(0);
+        BigDecimal balance = previous == null || previous.getBalanceOfHour() == null
+                ? BigDecimal.ZERO : previous.getBalanceOfHour();
+
+        int firstPeriod = periodOf(dateWorked);
+        int period = firstPeriod;
+        boolean periodHasEntries = previous != null && periodOf(previous.getDateWorked()) == firstPeriod;
+        Map<BankOfHourPK, BigDecimal> balances = new HashMap<>();
+        List<BankOfHourCheckpoint> checkpoints = new ArrayList<>();
+
+        for (BankOfHour entry : bankOfHourRepository.findLedgerSuffix(userId, dateWorked)) {
+            int entryPeriod = periodOf(entry.getDateWorked());
+            if (entryPeriod != period) {
+                if (periodHasEntries) {
+                    checkpoints.add(checkpoint(userId, period, balance));
+                }
+                period = entryPeriod;
+            }
+            periodHasEntries = true;
+            if (entry.getAmountOfHour() != null) {
+                balance = balance.add(entry.getAmountOfHour());
+            }
+            if (entry.getBalanceOfHour() == null || entry.getBalanceOfHour().compareTo(balance) != 0) {
+                entry.setBalanceOfHour(balance);
+            }
+            balances.put(entry.getId(), balance);
+        }
+        if (periodHasEntries) {
+            checkpoints.add(checkpoint(userId, period, balance));
+        }
+
+        bankOfHourCheckpointRepository.deleteFrom(userId, firstPeriod);
+        bankOfHourCheckpointRepository.persistAll(checkpoints);
+        return balances;
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal balanceAt(long userId, LocalDateTime at) {
+        List<BankOfHourCheckpoint> checkpoints =
+                bankOfHourCheckpointRepository.findPrevious(userId, periodOf(at), PageRequest.of(0, 1));
+        if (checkpoints.isEmpty()) {
+            return bankOfHourRepository.sumAmountOfHourUntil(userId, at);
+        }
+        BankOfHourCheckpoint checkpoint = checkpoints.get(0);
+        LocalDateTime from = yearMonthOf(checkpoint.getId().getPeriod()).plusMonths(1).atDay(1).atStartOfDay();
+        return checkpoint.getBalance().add(bankOfHourRepository.sumAmountOfHour(userId, from, at));
+    }
+
+    static int periodOf(LocalDateTime dateTime) {
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
+    }
+
+    private static YearMonth yearMonthOf(int period) {
+        return YearMonth.of(period / 100, period % 100);
+    }
+
+    private static BankOfHourCheckpoint checkpoint(long userId, int period, BigDecimal balance) {
+        return new BankOfHourCheckpoint(new BankOfHourCheckpointPK(userId, period), balance);
+    }
+}
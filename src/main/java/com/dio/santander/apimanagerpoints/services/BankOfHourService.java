@@ -1,8 +1,14 @@
 package com.dio.santander.apimanagerpoints.services;
 
 import com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO;
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.KeysetPageDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserCategoryDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
 import com.dio.santander.apimanagerpoints.mappers.BankOfHourMapper;
 import com.dio.santander.apimanagerpoints.models.BankOfHour;
+import com.dio.santander.apimanagerpoints.models.BankOfHourPK;
 import com.dio.santander.apimanagerpoints.models.WorkDay;
 import com.dio.santander.apimanagerpoints.repositories.BankOfHourRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
@@ -13,39 +19,104 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BankOfHourService {
+    private static final String IDEMPOTENCY_SCOPE = "bank_of_hours";
+    private static final String USER_CATEGORY = "userCategory";
+
     private final BankOfHourRepository bankOfHourRepository;
+    private final Validator validator;
+    private final IdempotencyCache idempotencyCache;
+    private final PooledIdGenerator pooledIdGenerator;
+    private final BankOfHourLedgerService bankOfHourLedgerService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final RowCountCache rowCountCache;
+    private final PlatformTransactionManager transactionManager;
     private final BankOfHourMapper bankOfHourMapper = BankOfHourMapper.INSTANCE;
 
     public BankOfHourDTO insert(BankOfHourDTO objDto) {
-        verifyIfIsAlreadyRegistered(
-                objDto.getId().getBankOfHourId(),
-                objDto.getId().getMovementId(),
-                objDto.getId().getUserId());
+        return insert(objDto, null);
+    }
+
+    public BankOfHourDTO insert(BankOfHourDTO objDto, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            BankOfHourDTO replayed = idempotencyCache.get(IDEMPOTENCY_SCOPE, idempotencyKey, BankOfHourDTO.class);
+            if (replayed != null) {
+                return replayed;
+            }
+        }
         BankOfHour objToSave = bankOfHourMapper.toModel(objDto);
-        BankOfHour objSaved = bankOfHourRepository.save(objToSave);
-        return bankOfHourMapper.toDto(objSaved);
+        objToSave.setIdempotencyKey(idempotencyKey);
+        assignId(objToSave);
+        BankOfHour objSaved;
+        try {
+            objSaved = inTransaction(() -> {
+                bankOfHourLedgerService.lock(objToSave.getId().getUserId());
+                BankOfHour persisted = bankOfHourRepository.persist(objToSave);
+                recomputeLedger(persisted, persisted.getDateWorked());
+                return persisted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            objSaved = idempotencyKey == null ? null : bankOfHourRepository.findByIdempotencyKey(idempotencyKey);
+            if (objSaved == null) {
+                throw integrityViolation(objToSave.getId(), e);
+            }
+        }
+        rowCountCache.invalidate(BankOfHour.class);
+        BankOfHourDTO objDtoSaved = bankOfHourMapper.toDto(objSaved);
+        if (idempotencyKey != null) {
+            idempotencyCache.put(IDEMPOTENCY_SCOPE, idempotencyKey, objDtoSaved);
+        }
+        return objDtoSaved;
+    }
+
+    public BatchResultDTO<BankOfHourPK> insertBatch(List<BankOfHourDTO> listDto) {
+        BatchResultDTO<BankOfHourPK> result = new BankOfHourBatch().insert(listDto);
+        if (result.getCreated() > 0) {
+            rowCountCache.invalidate(BankOfHour.class);
+        }
+        return result;
     }
 
     public BankOfHourDTO update(BankOfHourDTO objDto) {
-        find(objDto.getId().getBankOfHourId(),
+        BankOfHourDTO previous = find(objDto.getId().getBankOfHourId(),
                 objDto.getId().getMovementId(),
                 objDto.getId().getUserId());
         BankOfHour objToSave = bankOfHourMapper.toModel(objDto);
-        BankOfHour objSaved = bankOfHourRepository.save(objToSave);
+        BankOfHour objSaved = inTransaction(() -> {
+            bankOfHourLedgerService.lock(objToSave.getId().getUserId());
+            BankOfHour saved = bankOfHourRepository.save(objToSave);
+            recomputeLedger(saved, earliest(saved.getDateWorked(),
+                    previous.getDateWorked() == null ? null : LocalDateTime.parse(previous.getDateWorked())));
+            return saved;
+        });
         return bankOfHourMapper.toDto(objSaved);
     }
 
-    public List<BankOfHourDTO> findAll() {
-        return bankOfHourRepository.findAll().stream().map(bankOfHourMapper::toDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamAll(OutputStream out, FieldSelection selection, DataFormat format) throws IOException {
+        try (Stream<BankOfHourDTO> rows = streamRows(selection)) {
+            jsonArrayStreamer.write(rows, out, selection, format);
+        }
     }
 
     public BankOfHourDTO find(Long bankOfHourId, Long movementId, Long userId) {
@@ -66,29 +137,201 @@ public class BankOfHourService {
         find(bankOfHourId, movementId, userId);
         BankOfHour obj = bankOfHourRepository.findByPK(bankOfHourId, movementId, userId);
         try {
-            bankOfHourRepository.delete(obj);
+            inTransaction(() -> {
+                bankOfHourLedgerService.lock(userId);
+                bankOfHourRepository.delete(obj);
+                recomputeLedger(obj, obj.getDateWorked());
+                return obj;
+            });
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir um banco de hora que possui dependências");
         }
+        rowCountCache.invalidate(BankOfHour.class);
     }
 
-    public Page<BankOfHourDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
+    public List<BankOfHourDTO> findByUserBetween(Long userId, LocalDate from, LocalDate to, FieldSelection selection) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        if (isReferencesOnly(selection)) {
+            return bankOfHourRepository.findReferencesByUserBetween(userId, start, end);
+        }
+        List<BankOfHourDTO> rows = bankOfHourRepository.findProjectedByUserBetween(userId, start, end);
+        rows.forEach(row -> collapseReferences(row, selection));
+        return rows;
+    }
+
+    public KeysetPageDTO<BankOfHourDTO> findSeek(String token, Integer limit) {
+        int size = SeekCursor.limitOf(limit);
+        PageRequest firstRows = PageRequest.of(0, size + 1);
+        List<BankOfHour> rows;
+        if (token == null || token.isEmpty()) {
+            rows = bankOfHourRepository.findFirstSeek(firstRows);
+        } else {
+            SeekCursor cursor = SeekCursor.decode(token);
+            rows = cursor.getDate() == null
+                    ? bankOfHourRepository.findSeekAfterUndated(cursor.getUserId(), cursor.getId(), firstRows)
+                    : bankOfHourRepository.findSeekAfter(cursor.getUserId(), cursor.getDate(), cursor.getId(), firstRows);
+        }
+        boolean last = rows.size() <= size;
+        List<BankOfHour> content = last ? rows : rows.subList(0, size);
+        BankOfHour tail = content.isEmpty() ? null : content.get(content.size() - 1);
+        return KeysetPageDTO.<BankOfHourDTO>builder()
+                .content(content.stream().map(bankOfHourMapper::toDto).collect(Collectors.toList()))
+                .size(content.size())
+                .last(last)
+                .next(last ? null : new SeekCursor(
+                        tail.getId().getUserId(), tail.getDateWorked(), tail.getId().getBankOfHourId()).encode())
+                .build();
+    }
+
+    public Page<BankOfHourDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction,
+            FieldSelection selection) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
                 orderBy);
-        return bankOfHourRepository.findAll(pageRequest).map(bankOfHourMapper::toDto);
+        if (isReferencesOnly(selection)) {
+            return bankOfHourRepository.findPageReferences(pageRequest);
+        }
+        return bankOfHourRepository.findPageProjected(pageRequest).map(row -> collapseReferences(row, selection));
     }
 
-    private void verifyIfIsAlreadyRegistered(Long bankOfHourId, Long movementId, Long userId) {
-        BankOfHour obj = bankOfHourRepository.findByPK(bankOfHourId, movementId, userId);
-        if (obj != null) {
-            throw new ObjectAlreadyRegisteredException(
-                    "Objeto existente! " +
-                            "BankOfHourId: " + bankOfHourId +
-                            ", MovementId: " + movementId +
-                            ", UserId: " + userId +
-                            ", Tipo: " + WorkDay.class.getName()
-            );
+    public SliceDTO<BankOfHourDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal, FieldSelection selection) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<BankOfHourDTO> slice = isReferencesOnly(selection) ? bankOfHourRepository.findSliceReferences(pageRequest)
+                : bankOfHourRepository.findSliceProjected(pageRequest).map(row -> collapseReferences(row, selection));
+        Long total = withTotal ? rowCountCache.count(BankOfHour.class, bankOfHourRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    public BigDecimal balance(Long userId, LocalDateTime at) {
+        return bankOfHourLedgerService.balanceAt(userId, at);
+    }
+
+    private Stream<BankOfHourDTO> streamRows(FieldSelection selection) {
+        if (!selection.isSparse()) {
+            return bankOfHourRepository.streamAllProjected();
+        }
+        if (isReferencesOnly(selection)) {
+            return bankOfHourRepository.streamAllReferences();
+        }
+        return bankOfHourRepository.streamAllProjected().map(row -> collapseReferences(row, selection));
+    }
+
+    private static boolean isReferencesOnly(FieldSelection selection) {
+        return selection.isSparse() && !selection.expands(USER_CATEGORY);
+    }
+
+    private static BankOfHourDTO collapseReferences(BankOfHourDTO row, FieldSelection selection) {
+        if (!selection.expands(USER_CATEGORY) && row.getUserCategory() != null) {
+            row.setUserCategory(UserCategoryDTO.builder().id(row.getUserCategory().getId()).build());
+        }
+        return row;
+    }
+
+    private void recomputeLedger(BankOfHour obj, LocalDateTime from) {
+        if (from == null) {
+            return;
+        }
+        BigDecimal balance = bankOfHourLedgerService.recomputeFrom(obj.getId().getUserId(), from).get(obj.getId());
+        if (balance != null) {
+            obj.setBalanceOfHour(balance);
+        }
+    }
+
+    private Map<Long, LocalDateTime> ledgerStarts(List<BankOfHour> objs) {
+        Map<Long, LocalDateTime> fromByUser = new TreeMap<>();
+        for (BankOfHour obj : objs) {
+            if (obj.getDateWorked() != null) {
+                fromByUser.merge(obj.getId().getUserId(), obj.getDateWorked(), this::earliest);
+            }
+        }
+        return fromByUser;
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return first.isBefore(second) ? first : second;
+    }
+
+    private void assignId(BankOfHour obj) {
+        if (!pooledIdGenerator.isEnabled()) {
+            return;
+        }
+        if (obj.getId().getBankOfHourId() != 0) {
+            throw new DataIntegrityException("Erro de validação: BankOfHourId é gerado pelo servidor e deve ser " +
+                    "informado como 0! BankOfHourId: " + obj.getId().getBankOfHourId() +
+                    ", MovementId: " + obj.getId().getMovementId() +
+                    ", UserId: " + obj.getId().getUserId());
+        }
+        obj.getId().setBankOfHourId(pooledIdGenerator.nextId(
+                PooledIdGenerator.BANK_OF_HOUR, () -> bankOfHourRepository.findMaxBankOfHourId() + 1));
+    }
+
+    private RuntimeException integrityViolation(BankOfHourPK id, DataIntegrityViolationException e) {
+        if (bankOfHourRepository.findByPK(id.getBankOfHourId(), id.getMovementId(), id.getUserId()) != null) {
+            return new ObjectAlreadyRegisteredException(
+                    alreadyRegisteredMessage(id.getBankOfHourId(), id.getMovementId(), id.getUserId()), e);
+        }
+        return new DataIntegrityException("Erro de integridade: o banco de horas viola uma restrição do banco de dados", e);
+    }
+
+    private String alreadyRegisteredMessage(Long bankOfHourId, Long movementId, Long userId) {
+        return "Objeto existente! " +
+                "BankOfHourId: " + bankOfHourId +
+                ", MovementId: " + movementId +
+                ", UserId: " + userId +
+                ", Tipo: " + WorkDay.class.getName();
+    }
+
+    private class BankOfHourBatch extends BatchInsert<BankOfHourDTO, BankOfHour, BankOfHourPK> {
+        BankOfHourBatch() {
+            super(validator, transactionManager, "banco de horas não informado");
+        }
+
+        @Override
+        protected BankOfHourPK idOf(BankOfHourDTO objDto) {
+            return objDto.getId();
+        }
+
+        @Override
+        protected BankOfHour toModel(BankOfHourDTO objDto) {
+            return bankOfHourMapper.toModel(objDto);
+        }
+
+        @Override
+        protected BankOfHourPK assignId(BankOfHour model) {
+            BankOfHourService.this.assignId(model);
+            return model.getId();
+        }
+
+        @Override
+        protected Set<BankOfHourPK> findExistingIds(Set<BankOfHourPK> ids) {
+            Set<Long> userIds = ids.stream().map(BankOfHourPK::getUserId).collect(Collectors.toSet());
+            Set<Long> bankOfHourIds = ids.stream().map(BankOfHourPK::getBankOfHourId).collect(Collectors.toSet());
+            return new HashSet<>(bankOfHourRepository.findExistingIds(userIds, bankOfHourIds));
+        }
+
+        @Override
+        protected String alreadyRegisteredMessage(BankOfHourPK id) {
+            return BankOfHourService.this.alreadyRegisteredMessage(
+                    id.getBankOfHourId(), id.getMovementId(), id.getUserId());
+        }
+
+        @Override
+        protected void persistAll(List<BankOfHour> models) {
+            Map<Long, LocalDateTime> fromByUser = ledgerStarts(models);
+            fromByUser.keySet().forEach(bankOfHourLedgerService::lock);
+            bankOfHourRepository.persistAll(models);
+            fromByUser.forEach(bankOfHourLedgerService::recomputeFrom);
         }
     }
 }
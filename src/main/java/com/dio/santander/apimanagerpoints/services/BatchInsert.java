@@ -0,0 +1,176 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.BatchItemResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.BatchItemStatus;
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+abstract class BatchInsert<D, M, K> {
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final String missingMessage;
+
+    BatchInsert(Validator validator, PlatformTransactionManager transactionManager, String missingMessage) {
+        this.validator = validator;
+        this.transactionManager = transactionManager;
+        this.missingMessage = missingMessage;
+    }
+
+    BatchResultDTO<K> insert(List<D> listDto) {
+        List<BatchItemResultDTO<K>> items = new ArrayList<>(Collections.nCopies(listDto.size(), null));
+        Map<K, Integer> candidates = new LinkedHashMap<>();
+        Map<K, M> models = new HashMap<>();
+
+        boolean persisted = false;
+        try {
+            collectCandidates(listDto, items, candidates, models);
+            persistCandidates(items, candidates, models);
+            persisted = true;
+        } finally {
+            for (Map.Entry<K, Integer> candidate : candidates.entrySet()) {
+                K id = candidate.getKey();
+                BatchItemResultDTO<K> item = items.get(candidate.getValue());
+                complete(id, models.get(id), persisted && item.getStatus() == BatchItemStatus.CREATED);
+            }
+        }
+
+        return BatchResultDTO.<K>builder()
+                .created(countByStatus(items, BatchItemStatus.CREATED))
+                .conflicts(countByStatus(items, BatchItemStatus.CONFLICT))
+                .invalid(countByStatus(items, BatchItemStatus.INVALID))
+                .items(items)
+                .build();
+    }
+
+    private void collectCandidates(List<D> listDto, List<BatchItemResultDTO<K>> items,
+                                   Map<K, Integer> candidates, Map<K, M> models) {
+        for (int index = 0; index < listDto.size(); index++) {
+            D objDto = listDto.get(index);
+            K id = objDto == null ? null : idOf(objDto);
+            String invalidMessage = validate(objDto);
+            if (invalidMessage != null) {
+                items.set(index, batchItem(index, id, BatchItemStatus.INVALID, invalidMessage));
+                continue;
+            }
+            M model;
+            try {
+                model = toModel(objDto);
+            } catch (DateTimeParseException e) {
+                items.set(index, batchItem(index, id, BatchItemStatus.INVALID, "Erro de validação: " + e.getMessage()));
+                continue;
+            }
+            try {
+                id = assignId(model);
+            } catch (DataIntegrityException e) {
+                items.set(index, batchItem(index, id, BatchItemStatus.INVALID, e.getMessage()));
+                continue;
+            }
+            if (candidates.containsKey(id)) {
+                items.set(index, batchItem(index, id, BatchItemStatus.CONFLICT, alreadyRegisteredMessage(id)));
+                continue;
+            }
+            String conflictMessage = reserve(id, model);
+            if (conflictMessage != null) {
+                items.set(index, batchItem(index, id, BatchItemStatus.CONFLICT, conflictMessage));
+                continue;
+            }
+            models.put(id, model);
+            candidates.put(id, index);
+        }
+    }
+
+    private void persistCandidates(List<BatchItemResultDTO<K>> items, Map<K, Integer> candidates, Map<K, M> models) {
+        Set<K> existingIds = candidates.isEmpty() ? Collections.emptySet() : findExistingIds(candidates.keySet());
+        List<K> idsToSave = new ArrayList<>(candidates.size());
+        List<M> objsToSave = new ArrayList<>(candidates.size());
+        for (Map.Entry<K, Integer> candidate : candidates.entrySet()) {
+            K id = candidate.getKey();
+            int index = candidate.getValue();
+            if (existingIds.contains(id)) {
+                items.set(index, batchItem(index, id, BatchItemStatus.CONFLICT, alreadyRegisteredMessage(id)));
+            } else {
+                idsToSave.add(id);
+                objsToSave.add(models.get(id));
+                items.set(index, batchItem(index, id, BatchItemStatus.CREATED, null));
+            }
+        }
+        if (!objsToSave.isEmpty()) {
+            try {
+                inTransaction(() -> persistAll(objsToSave));
+            } catch (DataIntegrityViolationException e) {
+                for (int i = 0; i < idsToSave.size(); i++) {
+                    K id = idsToSave.get(i);
+                    int index = candidates.get(id);
+                    items.set(index, persistOne(index, id, objsToSave.get(i)));
+                }
+            }
+        }
+    }
+
+    protected abstract K idOf(D objDto);
+
+    protected abstract M toModel(D objDto);
+
+    protected abstract K assignId(M model);
+
+    protected abstract Set<K> findExistingIds(Set<K> ids);
+
+    protected abstract String alreadyRegisteredMessage(K id);
+
+    protected abstract void persistAll(List<M> models);
+
+    protected String reserve(K id, M model) {
+        return null;
+    }
+
+    protected void complete(K id, M model, boolean created) {
+    }
+
+    private BatchItemResultDTO<K> persistOne(int index, K id, M model) {
+        try {
+            inTransaction(() -> persistAll(Collections.singletonList(model)));
+            return batchItem(index, id, BatchItemStatus.CREATED, null);
+        } catch (DataIntegrityViolationException e) {
+            if (!findExistingIds(Collections.singleton(id)).isEmpty()) {
+                return batchItem(index, id, BatchItemStatus.CONFLICT, alreadyRegisteredMessage(id));
+            }
+            return batchItem(index, id, BatchItemStatus.INVALID,
+                    "Erro de integridade: o registro viola uma restrição do banco de dados");
+        }
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private String validate(D objDto) {
+        if (objDto == null) {
+            return "Erro de validação: " + missingMessage;
+        }
+        Set<ConstraintViolation<D>> violations = validator.validate(objDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return "Erro de validação: " + violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static <K> BatchItemResultDTO<K> batchItem(int index, K id, BatchItemStatus status, String message) {
+        return new BatchItemResultDTO<>(index, id, status, message);
+    }
+
+    private static <K> int countByStatus(List<BatchItemResultDTO<K>> items, BatchItemStatus status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
+    }
+}
@@ -1,18 +1,23 @@
 package com.dio.santander.apimanagerpoints.services;
 
 import com.dio.santander.apimanagerpoints.dtos.CalendarDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.mappers.CalendarMapper;
 import com.dio.santander.apimanagerpoints.models.Calendar;
 import com.dio.santander.apimanagerpoints.repositories.CalendarRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,19 +28,34 @@ import java.util.stream.Collectors;
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class CalendarService {
     private final CalendarRepository calendarRepository;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+    private final RowCountCache rowCountCache;
     private final CalendarMapper calendarMapper = CalendarMapper.INSTANCE;
 
     public CalendarDTO insert(CalendarDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         Calendar objToSave = calendarMapper.toModel(objDto);
         Calendar objSaved = calendarRepository.save(objToSave);
+        rowCountCache.invalidate(Calendar.class);
+        holidayCalendarIndex.invalidate();
         return calendarMapper.toDto(objSaved);
     }
 
-    public CalendarDTO update(CalendarDTO objDto) {
-        find(objDto.getId());
+    public CalendarDTO update(CalendarDTO objDto, Long expectedVersion) {
         Calendar objToSave = calendarMapper.toModel(objDto);
-        Calendar objSaved = calendarRepository.save(objToSave);
+        Calendar objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = calendarRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = calendarRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
+        holidayCalendarIndex.invalidate();
         return calendarMapper.toDto(objSaved);
     }
 
@@ -44,17 +64,31 @@ public class CalendarService {
     }
 
     public CalendarDTO find(Long id) {
-        Calendar obj = calendarRepository.findById(id)
+        return calendarMapper.toDto(findModel(id));
+    }
+
+    public long findVersion(Long id) {
+        return calendarRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + Calendar.class.getName()
                 ));
-        return calendarMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    public VersionSummaryDTO findVersionSummary() {
+        return calendarRepository.findVersionSummary();
+    }
+
+    public void delete(Long id, Long expectedVersion) {
         try {
-            calendarRepository.deleteById(id);
+            if (expectedVersion == null) {
+                calendarRepository.delete(findModel(id));
+            } else {
+                calendarRepository.deleteVersioned(Calendar.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(Calendar.class);
+            holidayCalendarIndex.invalidate();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir uma jornada de trabalho que possui dependências");
         }
@@ -67,6 +101,34 @@ public class CalendarService {
         return calendarRepository.findAll(pageRequest).map(calendarMapper::toDto);
     }
 
+    public SliceDTO<CalendarDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<CalendarDTO> slice = calendarRepository.findSliceBy(pageRequest).map(calendarMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(Calendar.class, calendarRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private Calendar findModel(Long id) {
+        return calendarRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + Calendar.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!calendarRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + Calendar.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + Calendar.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<Calendar> optObj = calendarRepository.findById(id);
         if (optObj.isPresent()) {
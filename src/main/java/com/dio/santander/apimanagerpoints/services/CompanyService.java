@@ -1,18 +1,23 @@
 package com.dio.santander.apimanagerpoints.services;
 
 import com.dio.santander.apimanagerpoints.dtos.CompanyDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.mappers.CompanyMapper;
 import com.dio.santander.apimanagerpoints.models.Company;
 import com.dio.santander.apimanagerpoints.repositories.CompanyRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,19 +28,31 @@ import java.util.stream.Collectors;
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class CompanyService {
     private final CompanyRepository companyRepository;
+    private final RowCountCache rowCountCache;
     private final CompanyMapper companyMapper = CompanyMapper.INSTANCE;
 
     public CompanyDTO insert(CompanyDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         Company objToSave = companyMapper.toModel(objDto);
         Company objSaved = companyRepository.save(objToSave);
+        rowCountCache.invalidate(Company.class);
         return companyMapper.toDto(objSaved);
     }
 
-    public CompanyDTO update(CompanyDTO objDto) {
-        find(objDto.getId());
+    public CompanyDTO update(CompanyDTO objDto, Long expectedVersion) {
         Company objToSave = companyMapper.toModel(objDto);
-        Company objSaved = companyRepository.save(objToSave);
+        Company objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = companyRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = companyRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return companyMapper.toDto(objSaved);
     }
 
@@ -44,17 +61,30 @@ public class CompanyService {
     }
 
     public CompanyDTO find(Long id) {
-        Company obj = companyRepository.findById(id)
+        return companyMapper.toDto(findModel(id));
+    }
+
+    public long findVersion(Long id) {
+        return companyRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + Company.class.getName()
                 ));
-        return companyMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    public VersionSummaryDTO findVersionSummary() {
+        return companyRepository.findVersionSummary();
+    }
+
+    public void delete(Long id, Long expectedVersion) {
         try {
-            companyRepository.deleteById(id);
+            if (expectedVersion == null) {
+                companyRepository.delete(findModel(id));
+            } else {
+                companyRepository.deleteVersioned(Company.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(Company.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir uma jornada de trabalho que possui dependências");
         }
@@ -67,6 +97,34 @@ public class CompanyService {
         return companyRepository.findAll(pageRequest).map(companyMapper::toDto);
     }
 
+    public SliceDTO<CompanyDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<CompanyDTO> slice = companyRepository.findSliceBy(pageRequest).map(companyMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(Company.class, companyRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private Company findModel(Long id) {
+        return companyRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + Company.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!companyRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + Company.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + Company.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<Company> optObj = companyRepository.findById(id);
         if (optObj.isPresent()) {
@@ -1,18 +1,27 @@
 package com.dio.santander.apimanagerpoints.services;
 
+import com.dio.santander.apimanagerpoints.cache.CachingConfig;
 import com.dio.santander.apimanagerpoints.dtos.DateTypeDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.mappers.DateTypeMapper;
 import com.dio.santander.apimanagerpoints.models.DateType;
 import com.dio.santander.apimanagerpoints.repositories.DateTypeRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,46 +29,80 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@CacheConfig(cacheNames = CachingConfig.DATE_TYPES)
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class DateTypeService {
     private final DateTypeRepository dateTypeRepository;
+    private final RowCountCache rowCountCache;
     private final DateTypeMapper dateTypeMapper = DateTypeMapper.INSTANCE;
 
+    @CacheEvict(allEntries = true)
     public DateTypeDTO insert(DateTypeDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         DateType objToSave = dateTypeMapper.toModel(objDto);
         DateType objSaved = dateTypeRepository.save(objToSave);
+        rowCountCache.invalidate(DateType.class);
         return dateTypeMapper.toDto(objSaved);
     }
 
-    public DateTypeDTO update(DateTypeDTO objDto) {
-        find(objDto.getId());
+    @CacheEvict(allEntries = true)
+    public DateTypeDTO update(DateTypeDTO objDto, Long expectedVersion) {
         DateType objToSave = dateTypeMapper.toModel(objDto);
-        DateType objSaved = dateTypeRepository.save(objToSave);
+        DateType objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = dateTypeRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = dateTypeRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return dateTypeMapper.toDto(objSaved);
     }
 
+    @Cacheable
     public List<DateTypeDTO> findAll() {
         return dateTypeRepository.findAll().stream().map(dateTypeMapper::toDto).collect(Collectors.toList());
     }
 
+    @Cacheable
     public DateTypeDTO find(Long id) {
-        DateType obj = dateTypeRepository.findById(id)
+        return dateTypeMapper.toDto(findModel(id));
+    }
+
+    @Cacheable(key = "'version:' + #id")
+    public long findVersion(Long id) {
+        return dateTypeRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + DateType.class.getName()
                 ));
-        return dateTypeMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    @Cacheable(key = "'versions'")
+    public VersionSummaryDTO findVersionSummary() {
+        return dateTypeRepository.findVersionSummary();
+    }
+
+    @CacheEvict(allEntries = true)
+    public void delete(Long id, Long expectedVersion) {
         try {
-            dateTypeRepository.deleteById(id);
+            if (expectedVersion == null) {
+                dateTypeRepository.delete(findModel(id));
+            } else {
+                dateTypeRepository.deleteVersioned(DateType.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(DateType.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir um tipo de data que possui dependências");
         }
     }
 
+    @Cacheable
     public Page<DateTypeDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
@@ -67,6 +110,35 @@ public class DateTypeService {
         return dateTypeRepository.findAll(pageRequest).map(dateTypeMapper::toDto);
     }
 
+    @Cacheable
+    public SliceDTO<DateTypeDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<DateTypeDTO> slice = dateTypeRepository.findSliceBy(pageRequest).map(dateTypeMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(DateType.class, dateTypeRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private DateType findModel(Long id) {
+        return dateTypeRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + DateType.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!dateTypeRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + DateType.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + DateType.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<DateType> optObj = dateTypeRepository.findById(id);
         if (optObj.isPresent()) {
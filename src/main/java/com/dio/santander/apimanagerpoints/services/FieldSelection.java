@@ -0,0 +1,57 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class FieldSelection {
+    public static final FieldSelection ALL = new FieldSelection(null, null);
+
+    private static final String SEPARATOR = ",";
+    private static final String WILDCARD = "*";
+
+    private final Set<String> fields;
+    private final Set<String> expand;
+
+    private FieldSelection(Set<String> fields, Set<String> expand) {
+        this.fields = fields;
+        this.expand = expand;
+    }
+
+    public static FieldSelection of(String fields, String expand) {
+        if (fields == null && expand == null) {
+            return ALL;
+        }
+        Set<String> selectedFields = parse(fields);
+        return new FieldSelection(selectedFields == null || selectedFields.isEmpty() ? null : selectedFields,
+                expand == null ? Collections.emptySet() : parse(expand));
+    }
+
+    public boolean isSparse() {
+        return fields != null || expand != null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public boolean expands(String reference) {
+        return expand == null || expand.contains(WILDCARD) || expand.contains(reference);
+    }
+
+    public boolean expandsAny(String... references) {
+        return Arrays.stream(references).anyMatch(this::expands);
+    }
+
+    private static Set<String> parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        return Arrays.stream(value.split(SEPARATOR))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
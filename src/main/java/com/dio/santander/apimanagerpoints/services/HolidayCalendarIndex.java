@@ -0,0 +1,115 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.engines.CalendarYear;
+import com.dio.santander.apimanagerpoints.engines.SpecialDays;
+import com.dio.santander.apimanagerpoints.models.Calendar;
+import com.dio.santander.apimanagerpoints.repositories.CalendarRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class HolidayCalendarIndex implements SpecialDays {
+    private final CalendarRepository calendarRepository;
+    private final Set<Long> holidayDateTypes;
+    private final ConcurrentMap<Integer, CalendarYear> years = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile LastYear last;
+
+    public HolidayCalendarIndex(CalendarRepository calendarRepository,
+                                @Value("${app.calendar.holiday-date-types:1}") Set<Long> holidayDateTypes) {
+        this.calendarRepository = calendarRepository;
+        this.holidayDateTypes = holidayDateTypes;
+    }
+
+    public CalendarYear year(int year) {
+        CalendarYear cached = years.get(year);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        CalendarYear loaded = load(year);
+        synchronized (this) {
+            if (generation.get() == loadedAt) {
+                CalendarYear raced = years.putIfAbsent(year, loaded);
+                return raced == null ? loaded : raced;
+            }
+        }
+        return loaded;
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return year(date.getYear()).isHoliday(date);
+    }
+
+    public boolean isSpecialDay(long dateTypeId, LocalDate date) {
+        return year(date.getYear()).isSpecial(dateTypeId, date);
+    }
+
+    @Override
+    public boolean isHoliday(long epochDay) {
+        return yearOf(epochDay).isHoliday(epochDay);
+    }
+
+    @Override
+    public boolean isRestDay(long epochDay) {
+        return !yearOf(epochDay).isBusinessDay(epochDay);
+    }
+
+    public int businessDaysBetween(LocalDate from, LocalDate to) {
+        int total = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            CalendarYear calendarYear = year(year);
+            int fromDay = year == from.getYear() ? from.getDayOfYear() : 1;
+            int toDay = year == to.getYear() ? to.getDayOfYear() : calendarYear.length() + 1;
+            total += calendarYear.businessDays(fromDay, toDay);
+        }
+        return total;
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        years.clear();
+    }
+
+    private CalendarYear yearOf(long epochDay) {
+        LastYear cached = last;
+        long current = generation.get();
+        if (cached != null && cached.generation == current && cached.year.contains(epochDay)) {
+            return cached.year;
+        }
+        CalendarYear calendarYear = year(LocalDate.ofEpochDay(epochDay).getYear());
+        last = new LastYear(current, calendarYear);
+        return calendarYear;
+    }
+
+    private CalendarYear load(int year) {
+        Map<Long, Collection<LocalDate>> datesByType = new HashMap<>();
+        for (Calendar calendar : calendarRepository.findBySpecialDateBetween(
+                LocalDate.of(year, 1, 1).atStartOfDay(), LocalDate.of(year + 1, 1, 1).atStartOfDay())) {
+            Long dateTypeId = calendar.getDateType() == null ? null : calendar.getDateType().getId();
+            datesByType.computeIfAbsent(dateTypeId, id -> new ArrayList<>())
+                    .add(calendar.getSpecialDate().toLocalDate());
+        }
+        return CalendarYear.of(year, datesByType, holidayDateTypes);
+    }
+
+    private static final class LastYear {
+        private final long generation;
+        private final CalendarYear year;
+
+        private LastYear(long generation, CalendarYear year) {
+            this.generation = generation;
+            this.year = year;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class IdempotencyCache {
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public IdempotencyCache(@Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries || eldest.getValue().isExpired(System.currentTimeMillis());
+            }
+        };
+    }
+
+    public synchronized <T> T get(String scope, String key, Class<T> type) {
+        String cacheKey = scope + ":" + key;
+        Entry entry = entries.get(cacheKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(cacheKey);
+            return null;
+        }
+        return type.cast(entry.value);
+    }
+
+    public synchronized void put(String scope, String key, Object value) {
+        entries.put(scope + ":" + key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized <T> T putIfAbsent(String scope, String key, T value, Class<T> type) {
+        T current = get(scope, key, type);
+        if (current != null) {
+            return current;
+        }
+        put(scope, key, value);
+        return null;
+    }
+
+    public synchronized void remove(String scope, String key) {
+        entries.remove(scope + ":" + key);
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+public class JsonArrayStreamer {
+    private static final String ROW_FILTER = "row";
+    private static final String CONTENT = "content";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final ObjectWriter sparseWriter;
+    private final int chunkSize;
+
+    public JsonArrayStreamer(ObjectMapper objectMapper,
+                             @Value("${app.streaming.chunk-size:500}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.sparseWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .addMixIn(Object.class, RowFilterMixIn.class)
+                .writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.chunkSize = chunkSize;
+    }
+
+    public <T> long write(Stream<T> rows, OutputStream out) throws IOException {
+        return write(rows, out, FieldSelection.ALL, DataFormat.JSON);
+    }
+
+    public <T> long write(Stream<T> rows, OutputStream out, FieldSelection selection, DataFormat format)
+            throws IOException {
+        ObjectWriter writer = writerFor(selection);
+        long written = 0;
+        try (JsonGenerator generator = format.createGenerator(objectMapper, out)) {
+            generator.writeStartArray();
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (++written % chunkSize == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+        return written;
+    }
+
+    public void writeValue(Object value, OutputStream out, FieldSelection selection, DataFormat format)
+            throws IOException {
+        try (JsonGenerator generator = format.createGenerator(objectMapper, out)) {
+            writerFor(selection).writeValue(generator, value);
+        }
+    }
+
+    private ObjectWriter writerFor(FieldSelection selection) {
+        return !selection.isSparse() ? objectWriter
+                : sparseWriter.with(new SimpleFilterProvider().addFilter(ROW_FILTER, new RowFilter(selection)));
+    }
+
+    @JsonFilter(ROW_FILTER)
+    private interface RowFilterMixIn {
+    }
+
+    private static class RowFilter extends SimpleBeanPropertyFilter {
+        private final FieldSelection selection;
+
+        RowFilter(FieldSelection selection) {
+            this.selection = selection;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (!isRow(generator.getOutputContext()) || selection.includes(writer.getName())) {
+                writer.serializeAsField(pojo, generator, provider);
+            }
+        }
+
+        private static boolean isRow(JsonStreamContext context) {
+            JsonStreamContext rows = context.getParent();
+            if (rows == null || !rows.inArray() || rows.getParent() == null) {
+                return false;
+            }
+            JsonStreamContext owner = rows.getParent();
+            return owner.inRoot() || owner.inObject() && CONTENT.equals(owner.getCurrentName())
+                    && owner.getParent() != null && owner.getParent().inRoot();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.models.KeySequence;
+import com.dio.santander.apimanagerpoints.repositories.KeySequenceRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class KeySequenceService {
+    private final KeySequenceRepository keySequenceRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveBlock(String name, int blockSize, LongSupplier initialValue) {
+        KeySequence sequence = keySequenceRepository.findForUpdate(name);
+        if (sequence == null) {
+            long start = initialValue.getAsLong();
+            keySequenceRepository.saveAndFlush(new KeySequence(name, start + blockSize));
+            return start;
+        }
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + blockSize);
+        return start;
+    }
+}
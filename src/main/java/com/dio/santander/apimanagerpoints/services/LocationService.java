@@ -1,18 +1,23 @@
 package com.dio.santander.apimanagerpoints.services;
 
 import com.dio.santander.apimanagerpoints.dtos.LocationDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.mappers.LocationMapper;
 import com.dio.santander.apimanagerpoints.models.Location;
 import com.dio.santander.apimanagerpoints.repositories.LocationRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,19 +28,31 @@ import java.util.stream.Collectors;
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class LocationService {
     private final LocationRepository locationRepository;
+    private final RowCountCache rowCountCache;
     private final LocationMapper locationMapper = LocationMapper.INSTANCE;
 
     public LocationDTO insert(LocationDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         Location objToSave = locationMapper.toModel(objDto);
         Location objSaved = locationRepository.save(objToSave);
+        rowCountCache.invalidate(Location.class);
         return locationMapper.toDto(objSaved);
     }
 
-    public LocationDTO update(LocationDTO objDto) {
-        find(objDto.getId());
+    public LocationDTO update(LocationDTO objDto, Long expectedVersion) {
         Location objToSave = locationMapper.toModel(objDto);
-        Location objSaved = locationRepository.save(objToSave);
+        Location objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = locationRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = locationRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return locationMapper.toDto(objSaved);
     }
 
@@ -44,17 +61,30 @@ public class LocationService {
     }
 
     public LocationDTO find(Long id) {
-        Location obj = locationRepository.findById(id)
+        return locationMapper.toDto(findModel(id));
+    }
+
+    public long findVersion(Long id) {
+        return locationRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + Location.class.getName()
                 ));
-        return locationMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    public VersionSummaryDTO findVersionSummary() {
+        return locationRepository.findVersionSummary();
+    }
+
+    public void delete(Long id, Long expectedVersion) {
         try {
-            locationRepository.deleteById(id);
+            if (expectedVersion == null) {
+                locationRepository.delete(findModel(id));
+            } else {
+                locationRepository.deleteVersioned(Location.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(Location.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir uma jornada de trabalho que possui dependências");
         }
@@ -67,6 +97,34 @@ public class LocationService {
         return locationRepository.findAll(pageRequest).map(locationMapper::toDto);
     }
 
+    public SliceDTO<LocationDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<LocationDTO> slice = locationRepository.findSliceBy(pageRequest).map(locationMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(Location.class, locationRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private Location findModel(Long id) {
+        return locationRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + Location.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!locationRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + Location.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + Location.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<Location> optObj = locationRepository.findById(id);
         if (optObj.isPresent()) {
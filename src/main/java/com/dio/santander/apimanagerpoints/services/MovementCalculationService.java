@@ -0,0 +1,119 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.UserScheduleDTO;
+import com.dio.santander.apimanagerpoints.engines.MovementClassifier;
+import com.dio.santander.apimanagerpoints.engines.WorkedTimeCalculator;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.User;
+import com.dio.santander.apimanagerpoints.repositories.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class MovementCalculationService {
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+
+    private final UserRepository userRepository;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+
+    public void apply(Movement movement) {
+        applyAll(Collections.singletonList(movement));
+    }
+
+    public void applyAll(Collection<Movement> movements) {
+        List<Movement> closed = closedOf(movements);
+        if (closed.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = closed.stream()
+                .map(movement -> movement.getId().getUserId())
+                .collect(Collectors.toSet());
+        Map<Long, UserScheduleDTO> schedules = userRepository.findSchedules(userIds).stream()
+                .collect(Collectors.toMap(UserScheduleDTO::getId, Function.identity()));
+        calculate(closed, schedules::get);
+    }
+
+    public void applyAll(Collection<Movement> movements, User user) {
+        UserScheduleDTO schedule = user == null ? null : new UserScheduleDTO(
+                user.getId(), user.getTolerance(), user.getWorkDayStart(), user.getWorkDayFinal());
+        calculate(closedOf(movements), userId -> schedule);
+    }
+
+    private static List<Movement> closedOf(Collection<Movement> movements) {
+        return movements.stream()
+                .filter(movement -> movement.getDateOfIn() != null && movement.getDateOfOut() != null)
+                .collect(Collectors.toList());
+    }
+
+    private void calculate(List<Movement> closed, Function<Long, UserScheduleDTO> scheduleOf) {
+        int size = closed.size();
+        long[] ins = new long[size];
+        long[] outs = new long[size];
+        int[] scheduleStarts = new int[size];
+        int[] scheduleFinals = new int[size];
+        int[] expectedStarts = new int[size];
+        int[] expectedFinals = new int[size];
+        int[] tolerances = new int[size];
+        for (int i = 0; i < size; i++) {
+            Movement movement = closed.get(i);
+            UserScheduleDTO schedule = scheduleOf.apply(movement.getId().getUserId());
+            ins[i] = WorkedTimeCalculator.toEpochMinute(movement.getDateOfIn());
+            outs[i] = WorkedTimeCalculator.toEpochMinute(movement.getDateOfOut());
+            scheduleStarts[i] = WorkedTimeCalculator.toMinuteOfDay(schedule == null ? null : schedule.getWorkDayStart());
+            scheduleFinals[i] = WorkedTimeCalculator.toMinuteOfDay(schedule == null ? null : schedule.getWorkDayFinal());
+            boolean scheduled = !holidayCalendarIndex.isRestDay(
+                    Math.floorDiv(ins[i], WorkedTimeCalculator.MINUTES_PER_DAY));
+            expectedStarts[i] = scheduled ? scheduleStarts[i] : WorkedTimeCalculator.NO_SCHEDULE;
+            expectedFinals[i] = scheduled ? scheduleFinals[i] : WorkedTimeCalculator.NO_SCHEDULE;
+            tolerances[i] = toleranceOf(schedule);
+        }
+
+        int[] worked = new int[size];
+        int[] late = new int[size];
+        int[] earlyLeave = new int[size];
+        long[] effectiveIns = new long[size];
+        long[] effectiveOuts = new long[size];
+        WorkedTimeCalculator.calculateAll(ins, outs, expectedStarts, expectedFinals, tolerances,
+                worked, late, earlyLeave, effectiveIns, effectiveOuts);
+
+        int[] regular = new int[size];
+        int[] overtime = new int[size];
+        int[] night = new int[size];
+        int[] holiday = new int[size];
+        MovementClassifier.classifyAll(effectiveIns, effectiveOuts, scheduleStarts, scheduleFinals,
+                holidayCalendarIndex, regular, overtime, night, holiday);
+
+        for (int i = 0; i < size; i++) {
+            Movement movement = closed.get(i);
+            movement.setPeriod(toHours(worked[i]));
+            movement.setLateMinutes(late[i]);
+            movement.setEarlyLeaveMinutes(earlyLeave[i]);
+            movement.setRegularMinutes(regular[i]);
+            movement.setOvertimeMinutes(overtime[i]);
+            movement.setNightMinutes(night[i]);
+            movement.setHolidayMinutes(holiday[i]);
+        }
+    }
+
+    private int toleranceOf(UserScheduleDTO schedule) {
+        if (schedule == null || schedule.getTolerance() == null) {
+            return 0;
+        }
+        return schedule.getTolerance().setScale(0, RoundingMode.HALF_UP).intValue();
+    }
+    private BigDecimal toHours(int minutes) {
+        return BigDecimal.valueOf(minutes).divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,8 +1,15 @@
 package com.dio.santander.apimanagerpoints.services;
 
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.CalendarDTO;
+import com.dio.santander.apimanagerpoints.dtos.KeysetPageDTO;
 import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.dtos.OccurrenceDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
 import com.dio.santander.apimanagerpoints.mappers.MovementMapper;
 import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
 import com.dio.santander.apimanagerpoints.models.WorkDay;
 import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
@@ -13,34 +20,111 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class MovementService {
+    static final String IDEMPOTENCY_SCOPE = "movements";
+    private static final String OCCURRENCE = "occurrence";
+    private static final String CALENDAR = "calendar";
+
     private final MovementRepository movementRepository;
+    private final Validator validator;
+    private final IdempotencyCache idempotencyCache;
+    private final PooledIdGenerator pooledIdGenerator;
+    private final OpenShiftIndex openShiftIndex;
+    private final MovementCalculationService movementCalculationService;
+    private final WorkedHoursService workedHoursService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final RowCountCache rowCountCache;
+    private final PlatformTransactionManager transactionManager;
     private final MovementMapper movementMapper = MovementMapper.INSTANCE;
 
     public MovementDTO insert(MovementDTO objDto) {
-        verifyIfIsAlreadyRegistered(objDto.getId().getMovementId(), objDto.getId().getUserId());
+        return insert(objDto, null);
+    }
+
+    public MovementDTO insert(MovementDTO objDto, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            MovementDTO replayed = idempotencyCache.get(IDEMPOTENCY_SCOPE, idempotencyKey, MovementDTO.class);
+            if (replayed != null) {
+                return replayed;
+            }
+        }
         Movement objToSave = movementMapper.toModel(objDto);
-        Movement objSaved = movementRepository.save(objToSave);
-        return movementMapper.toDto(objSaved);
+        objToSave.setIdempotencyKey(idempotencyKey);
+        assignId(objToSave);
+        Long userId = objToSave.getId().getUserId();
+        boolean open = objToSave.getDateOfOut() == null;
+        if (open && !openShiftIndex.reserve(userId)) {
+            throw new ObjectAlreadyRegisteredException(openShiftMessage(userId));
+        }
+        Movement objSaved;
+        try {
+            movementCalculationService.apply(objToSave);
+            objSaved = persist(objToSave, idempotencyKey);
+        } finally {
+            if (open) {
+                openShiftIndex.release(userId);
+            }
+        }
+        rowCountCache.invalidate(Movement.class);
+        MovementDTO objDtoSaved = movementMapper.toDto(objSaved);
+        if (idempotencyKey != null) {
+            idempotencyCache.put(IDEMPOTENCY_SCOPE, idempotencyKey, objDtoSaved);
+        }
+        return objDtoSaved;
+    }
+
+    public BatchResultDTO<MovementPK> insertBatch(List<MovementDTO> listDto) {
+        return insertBatch(listDto, Collections.emptyMap());
+    }
+
+    public BatchResultDTO<MovementPK> insertBatch(List<MovementDTO> listDto, Map<MovementDTO, String> idempotencyKeys) {
+        BatchResultDTO<MovementPK> result = new MovementBatch(idempotencyKeys).insert(listDto);
+        if (result.getCreated() > 0) {
+            rowCountCache.invalidate(Movement.class);
+        }
+        return result;
     }
 
     public MovementDTO update(MovementDTO objDto) {
         find(objDto.getId().getMovementId(), objDto.getId().getUserId());
+        Movement previous = movementRepository.findByPK(objDto.getId().getMovementId(), objDto.getId().getUserId());
         Movement objToSave = movementMapper.toModel(objDto);
-        Movement objSaved = movementRepository.save(objToSave);
+        movementCalculationService.apply(objToSave);
+        Movement objSaved = inTransaction(() -> {
+            Movement saved = movementRepository.save(objToSave);
+            workedHoursService.apply(previous, saved);
+            return saved;
+        });
+        if (objSaved.getDateOfOut() != null) {
+            openShiftIndex.close(objDto.getId().getUserId(), objDto.getId().getMovementId());
+        }
         return movementMapper.toDto(objSaved);
     }
 
-    public List<MovementDTO> findAll() {
-        return movementRepository.findAll().stream().map(movementMapper::toDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamAll(OutputStream out, FieldSelection selection, DataFormat format) throws IOException {
+        try (Stream<MovementDTO> rows = streamRows(selection)) {
+            jsonArrayStreamer.write(rows, out, selection, format);
+        }
     }
 
     public MovementDTO find(Long movementId, Long userId) {
@@ -59,27 +143,217 @@ public class MovementService {
         find(movementId, userId);
         Movement obj = movementRepository.findByPK(movementId, userId);
         try {
-            movementRepository.delete(obj);
+            inTransaction(() -> {
+                movementRepository.delete(obj);
+                workedHoursService.apply(obj, null);
+                return obj;
+            });
+            rowCountCache.invalidate(Movement.class);
+            openShiftIndex.close(userId, movementId);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir um movimento que possui dependências");
         }
     }
 
-    public Page<MovementDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
+    public List<MovementDTO> findByUserBetween(Long userId, LocalDate from, LocalDate to, FieldSelection selection) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        if (isReferencesOnly(selection)) {
+            return movementRepository.findReferencesByUserBetween(userId, start, end);
+        }
+        List<MovementDTO> rows = movementRepository.findProjectedByUserBetween(userId, start, end);
+        rows.forEach(row -> collapseReferences(row, selection));
+        return rows;
+    }
+
+    public KeysetPageDTO<MovementDTO> findSeek(String token, Integer limit) {
+        int size = SeekCursor.limitOf(limit);
+        PageRequest firstRows = PageRequest.of(0, size + 1);
+        List<Movement> rows;
+        if (token == null || token.isEmpty()) {
+            rows = movementRepository.findFirstSeek(firstRows);
+        } else {
+            SeekCursor cursor = SeekCursor.decode(token);
+            rows = cursor.getDate() == null
+                    ? movementRepository.findSeekAfterUndated(cursor.getUserId(), cursor.getId(), firstRows)
+                    : movementRepository.findSeekAfter(cursor.getUserId(), cursor.getDate(), cursor.getId(), firstRows);
+        }
+        boolean last = rows.size() <= size;
+        List<Movement> content = last ? rows : rows.subList(0, size);
+        Movement tail = content.isEmpty() ? null : content.get(content.size() - 1);
+        return KeysetPageDTO.<MovementDTO>builder()
+                .content(content.stream().map(movementMapper::toDto).collect(Collectors.toList()))
+                .size(content.size())
+                .last(last)
+                .next(last ? null : new SeekCursor(
+                        tail.getId().getUserId(), tail.getDateOfIn(), tail.getId().getMovementId()).encode())
+                .build();
+    }
+
+    public Page<MovementDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction,
+            FieldSelection selection) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
                 orderBy);
-        return movementRepository.findAll(pageRequest).map(movementMapper::toDto);
+        if (isReferencesOnly(selection)) {
+            return movementRepository.findPageReferences(pageRequest);
+        }
+        return movementRepository.findPageProjected(pageRequest).map(row -> collapseReferences(row, selection));
     }
 
-    private void verifyIfIsAlreadyRegistered(Long movementId, Long userId) {
-        Movement obj = movementRepository.findByPK(movementId, userId);
-        if (obj != null) {
-            throw new ObjectAlreadyRegisteredException(
-                    "Objeto existente! MovementId: " + movementId +
-                            ", UserId: " + userId +
-                            ", Tipo: " + WorkDay.class.getName()
-            );
+    public SliceDTO<MovementDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal, FieldSelection selection) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<MovementDTO> slice = isReferencesOnly(selection) ? movementRepository.findSliceReferences(pageRequest)
+                : movementRepository.findSliceProjected(pageRequest).map(row -> collapseReferences(row, selection));
+        Long total = withTotal ? rowCountCache.count(Movement.class, movementRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    public void checkId(MovementPK id) {
+        if (id.getMovementId() != 0 && pooledIdGenerator.isEnabled()) {
+            throw new DataIntegrityException("Erro de validação: MovementId é gerado pelo servidor e deve ser " +
+                    "informado como 0! MovementId: " + id.getMovementId() + ", UserId: " + id.getUserId());
+        }
+    }
+
+    private void assignId(Movement obj) {
+        checkId(obj.getId());
+        if (pooledIdGenerator.isEnabled()) {
+            obj.getId().setMovementId(pooledIdGenerator.nextId(
+                    PooledIdGenerator.MOVEMENT, () -> movementRepository.findMaxMovementId() + 1));
+        }
+    }
+
+    private Movement persist(Movement objToSave, String idempotencyKey) {
+        try {
+            return inTransaction(() -> {
+                Movement persisted = movementRepository.persist(objToSave);
+                workedHoursService.apply(null, persisted);
+                if (persisted.getDateOfOut() == null) {
+                    openShiftIndex.open(persisted.getId().getUserId(), persisted.getId().getMovementId());
+                }
+                return persisted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            Movement objSaved = idempotencyKey == null ? null : movementRepository.findByIdempotencyKey(idempotencyKey);
+            if (objSaved == null) {
+                throw integrityViolation(objToSave.getId(), e);
+            }
+            return objSaved;
+        }
+    }
+
+    private static String openShiftMessage(Long userId) {
+        return "Já existe um movimento aberto! UserId: " + userId + ", Tipo: " + Movement.class.getName();
+    }
+
+    private RuntimeException integrityViolation(MovementPK id, DataIntegrityViolationException e) {
+        if (movementRepository.findByPK(id.getMovementId(), id.getUserId()) != null) {
+            return new ObjectAlreadyRegisteredException(alreadyRegisteredMessage(id.getMovementId(), id.getUserId()), e);
+        }
+        return new DataIntegrityException("Erro de integridade: o movimento viola uma restrição do banco de dados", e);
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private Stream<MovementDTO> streamRows(FieldSelection selection) {
+        if (!selection.isSparse()) {
+            return movementRepository.streamAllProjected();
+        }
+        if (isReferencesOnly(selection)) {
+            return movementRepository.streamAllReferences();
+        }
+        return movementRepository.streamAllProjected().map(row -> collapseReferences(row, selection));
+    }
+
+    private static boolean isReferencesOnly(FieldSelection selection) {
+        return selection.isSparse() && !selection.expandsAny(OCCURRENCE, CALENDAR);
+    }
+
+    private static MovementDTO collapseReferences(MovementDTO row, FieldSelection selection) {
+        if (!selection.expands(OCCURRENCE) && row.getOccurrence() != null) {
+            row.setOccurrence(OccurrenceDTO.builder().id(row.getOccurrence().getId()).build());
+        }
+        if (!selection.expands(CALENDAR) && row.getCalendar() != null) {
+            row.setCalendar(CalendarDTO.builder().id(row.getCalendar().getId()).build());
+        }
+        return row;
+    }
+
+    private String alreadyRegisteredMessage(Long movementId, Long userId) {
+        return "Objeto existente! MovementId: " + movementId +
+                ", UserId: " + userId +
+                ", Tipo: " + WorkDay.class.getName();
+    }
+
+    private class MovementBatch extends BatchInsert<MovementDTO, Movement, MovementPK> {
+        private final Map<MovementDTO, String> idempotencyKeys;
+
+        MovementBatch(Map<MovementDTO, String> idempotencyKeys) {
+            super(validator, transactionManager, "movimento não informado");
+            this.idempotencyKeys = idempotencyKeys;
+        }
+
+        @Override
+        protected MovementPK idOf(MovementDTO objDto) {
+            return objDto.getId();
+        }
+
+        @Override
+        protected Movement toModel(MovementDTO objDto) {
+            Movement model = movementMapper.toModel(objDto);
+            model.setIdempotencyKey(idempotencyKeys.get(objDto));
+            return model;
+        }
+
+        @Override
+        protected MovementPK assignId(Movement model) {
+            MovementService.this.assignId(model);
+            return model.getId();
+        }
+
+        @Override
+        protected String reserve(MovementPK id, Movement model) {
+            if (model.getDateOfOut() != null || openShiftIndex.reserve(id.getUserId())) {
+                return null;
+            }
+            return openShiftMessage(id.getUserId());
+        }
+
+        @Override
+        protected void complete(MovementPK id, Movement model, boolean created) {
+            if (model.getDateOfOut() != null) {
+                return;
+            }
+            if (created) {
+                openShiftIndex.open(id.getUserId(), id.getMovementId());
+            } else {
+                openShiftIndex.release(id.getUserId());
+            }
+        }
+
+        @Override
+        protected Set<MovementPK> findExistingIds(Set<MovementPK> ids) {
+            Set<Long> userIds = ids.stream().map(MovementPK::getUserId).collect(Collectors.toSet());
+            Set<Long> movementIds = ids.stream().map(MovementPK::getMovementId).collect(Collectors.toSet());
+            return new HashSet<>(movementRepository.findExistingIds(userIds, movementIds));
+        }
+
+        @Override
+        protected String alreadyRegisteredMessage(MovementPK id) {
+            return MovementService.this.alreadyRegisteredMessage(id.getMovementId(), id.getUserId());
+        }
+
+        @Override
+        protected void persistAll(List<Movement> models) {
+            movementCalculationService.applyAll(models);
+            movementRepository.persistAll(models);
+            workedHoursService.applyAll(models);
         }
     }
 }
@@ -0,0 +1,338 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.BatchItemResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.BatchItemStatus;
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.models.MovementDeadLetter;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.dio.santander.apimanagerpoints.repositories.MovementDeadLetterRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.QueueFullException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class MovementWriteBehindBuffer {
+    private static final String FAILED = "FAILED";
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    private static final int MAX_REASON_LENGTH = 1000;
+    private static final int MAX_PAYLOAD_LENGTH = 4000;
+
+    private final MovementService movementService;
+    private final MovementDeadLetterRepository movementDeadLetterRepository;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCache idempotencyCache;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final List<BlockingQueue<PendingMovement>> partitions;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final DistributionSummary commitBatchSize;
+    private final Counter rejected;
+    private final Counter retries;
+    private final Counter deadLettered;
+    private ExecutorService writers;
+    private volatile boolean running;
+
+    public MovementWriteBehindBuffer(MovementService movementService,
+                                     MovementDeadLetterRepository movementDeadLetterRepository,
+                                     ObjectMapper objectMapper,
+                                     IdempotencyCache idempotencyCache,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.movements.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${app.movements.write-behind.partitions:4}") int partitionCount,
+                                     @Value("${app.movements.write-behind.capacity:10000}") int capacity,
+                                     @Value("${app.movements.write-behind.max-batch-size:200}") int maxBatchSize,
+                                     @Value("${app.movements.write-behind.flush-interval-ms:20}") long flushIntervalMillis,
+                                     @Value("${app.movements.write-behind.max-attempts:5}") int maxAttempts,
+                                     @Value("${app.movements.write-behind.retry-backoff-ms:100}") long retryBackoffMillis) {
+        this.movementService = movementService;
+        this.movementDeadLetterRepository = movementDeadLetterRepository;
+        this.objectMapper = objectMapper;
+        this.idempotencyCache = idempotencyCache;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.partitions = new ArrayList<>(partitionCount);
+        int partitionCapacity = Math.max(1, capacity / partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayBlockingQueue<>(partitionCapacity));
+        }
+        Gauge.builder("movements.write_behind.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Movimentos aceitos aguardando gravação")
+                .register(meterRegistry);
+        this.commitBatchSize = DistributionSummary.builder("movements.write_behind.commit.batch.size")
+                .description("Quantidade de movimentos por commit do buffer")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("movements.write_behind.rejected")
+                .description("Movimentos recusados por fila cheia")
+                .register(meterRegistry);
+        this.retries = Counter.builder("movements.write_behind.retries")
+                .description("Novas tentativas de gravação de lotes do buffer")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("movements.write_behind.dead_lettered")
+                .description("Movimentos do buffer enviados para movement_dead_letter")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public MovementDTO offer(MovementDTO objDto, String idempotencyKey) {
+        movementService.checkId(objDto.getId());
+        if (idempotencyKey != null) {
+            MovementDTO accepted = idempotencyCache.putIfAbsent(
+                    MovementService.IDEMPOTENCY_SCOPE, idempotencyKey, objDto, MovementDTO.class);
+            if (accepted != null) {
+                return accepted;
+            }
+        }
+        BlockingQueue<PendingMovement> partition = partitions.get(partitionOf(objDto.getId().getUserId()));
+        queueDepth.incrementAndGet();
+        if (!partition.offer(new PendingMovement(objDto, idempotencyKey))) {
+            queueDepth.decrementAndGet();
+            rejected.increment();
+            if (idempotencyKey != null) {
+                idempotencyCache.remove(MovementService.IDEMPOTENCY_SCOPE, idempotencyKey);
+            }
+            throw new QueueFullException("Fila de movimentos cheia! Tente novamente em instantes.");
+        }
+        return objDto;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(partitions.size(), runnable -> {
+            Thread thread = new Thread(runnable, "movement-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (BlockingQueue<PendingMovement> partition : partitions) {
+            writers.submit(() -> drain(partition));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writers == null) {
+            return;
+        }
+        running = false;
+        writers.shutdown();
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Buffer de movimentos encerrado com {} movimentos pendentes", queueDepth.get());
+            writers.shutdownNow();
+        }
+    }
+
+    private void drain(BlockingQueue<PendingMovement> partition) {
+        List<PendingMovement> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !partition.isEmpty()) {
+                PendingMovement first = partition.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (partition.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingMovement next = remaining > 0 ? partition.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            }
+        } catch (InterruptedException e) {
+            partition.drainTo(batch);
+            commit(batch);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<PendingMovement> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (batch.size() == 1 || !commitGroup(batch)) {
+                commitEach(batch);
+            }
+        } finally {
+            queueDepth.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    private boolean commitGroup(List<PendingMovement> batch) {
+        BatchResultDTO<MovementPK> result;
+        try {
+            result = insert(batch);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} movimentos do buffer, gravando um a um", batch.size(), e);
+            return false;
+        }
+        commitBatchSize.record(batch.size());
+        List<MovementDeadLetter> deadLetters = new ArrayList<>();
+        addRejected(batch, result, deadLetters);
+        if (!deadLetters.isEmpty()) {
+            log.warn("Buffer de movimentos: {} conflitos e {} inválidos em um lote de {}",
+                    result.getConflicts(), result.getInvalid(), batch.size());
+            deadLetter(deadLetters);
+        }
+        return true;
+    }
+
+    private void commitEach(List<PendingMovement> batch) {
+        List<MovementDeadLetter> deadLetters = new ArrayList<>();
+        for (PendingMovement pending : batch) {
+            List<PendingMovement> single = Collections.singletonList(pending);
+            try {
+                BatchResultDTO<MovementPK> result = insertWithRetry(single);
+                commitBatchSize.record(1);
+                addRejected(single, result, deadLetters);
+            } catch (RuntimeException e) {
+                log.error("Falha ao gravar movimento {} do buffer após {} tentativas",
+                        pending.objDto.getId(), maxAttempts, e);
+                deadLetters.add(deadLetterOf(pending.objDto, FAILED, e.getMessage()));
+            }
+        }
+        if (!deadLetters.isEmpty()) {
+            deadLetter(deadLetters);
+        }
+    }
+
+    private void addRejected(List<PendingMovement> batch, BatchResultDTO<MovementPK> result,
+                             List<MovementDeadLetter> deadLetters) {
+        for (BatchItemResultDTO<MovementPK> item : result.getItems()) {
+            if (item.getStatus() != BatchItemStatus.CREATED) {
+                deadLetters.add(deadLetterOf(batch.get(item.getIndex()).objDto, item.getStatus().name(),
+                        item.getMessage()));
+            }
+        }
+    }
+
+    private BatchResultDTO<MovementPK> insertWithRetry(List<PendingMovement> batch) {
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return insert(batch);
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Falha ao gravar lote de {} movimentos do buffer (tentativa {} de {}), nova tentativa em {} ms",
+                        batch.size(), attempt, maxAttempts, backoffMillis, e);
+                retries.increment();
+                if (!sleep(backoffMillis)) {
+                    throw e;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private BatchResultDTO<MovementPK> insert(List<PendingMovement> batch) {
+        List<MovementDTO> listDto = new ArrayList<>(batch.size());
+        Map<MovementDTO, String> idempotencyKeys = new IdentityHashMap<>();
+        for (PendingMovement pending : batch) {
+            listDto.add(pending.objDto);
+            if (pending.idempotencyKey != null) {
+                idempotencyKeys.put(pending.objDto, pending.idempotencyKey);
+            }
+        }
+        return movementService.insertBatch(listDto, idempotencyKeys);
+    }
+
+    private void deadLetter(List<MovementDeadLetter> deadLetters) {
+        try {
+            movementDeadLetterRepository.saveAll(deadLetters);
+            deadLettered.increment(deadLetters.size());
+        } catch (RuntimeException e) {
+            for (MovementDeadLetter deadLetter : deadLetters) {
+                log.error("Movimento perdido pelo buffer ({}: {}): {}",
+                        deadLetter.getStatus(), deadLetter.getReason(), deadLetter.getPayload());
+            }
+            log.error("Falha ao gravar {} movimentos em movement_dead_letter", deadLetters.size(), e);
+        }
+    }
+
+    private MovementDeadLetter deadLetterOf(MovementDTO objDto, String status, String reason) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(objDto);
+        } catch (JsonProcessingException e) {
+            payload = String.valueOf(objDto);
+        }
+        return MovementDeadLetter.builder()
+                .movementId(objDto.getId().getMovementId())
+                .userId(objDto.getId().getUserId())
+                .status(status)
+                .reason(truncate(reason, MAX_REASON_LENGTH))
+                .payload(truncate(payload, MAX_PAYLOAD_LENGTH))
+                .failedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int partitionOf(long userId) {
+        return (int) Math.floorMod(userId, (long) partitions.size());
+    }
+
+    private static final class PendingMovement {
+        private final MovementDTO objDto;
+        private final String idempotencyKey;
+
+        private PendingMovement(MovementDTO objDto, String idempotencyKey) {
+            this.objDto = objDto;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.*;
+import com.dio.santander.apimanagerpoints.models.BankOfHourPK;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+@Service
+public class NdjsonImportService {
+    private static final int MAX_REJECTED_ITEMS = 100;
+
+    private final ObjectMapper objectMapper;
+    private final MovementService movementService;
+    private final BankOfHourService bankOfHourService;
+    private final int chunkSize;
+
+    public NdjsonImportService(ObjectMapper objectMapper,
+                               MovementService movementService,
+                               BankOfHourService bankOfHourService,
+                               @Value("${app.import.chunk-size:500}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.movementService = movementService;
+        this.bankOfHourService = bankOfHourService;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResultDTO<MovementPK> importMovements(InputStream body, String contentEncoding) throws IOException {
+        return importNdjson(decode(body, contentEncoding), MovementDTO.class, movementService::insertBatch);
+    }
+
+    public ImportResultDTO<BankOfHourPK> importBankOfHours(InputStream body, String contentEncoding) throws IOException {
+        return importNdjson(decode(body, contentEncoding), BankOfHourDTO.class, bankOfHourService::insertBatch);
+    }
+
+    private <T, K> ImportResultDTO<K> importNdjson(InputStream body, Class<T> type,
+                                                   Function<List<T>, BatchResultDTO<K>> flusher) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(type).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        ImportResultDTO<K> result = new ImportResultDTO<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkLines = new ArrayList<>(chunkSize);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            int lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                result.setRecords(result.getRecords() + 1);
+                try {
+                    chunk.add(reader.readValue(line));
+                    chunkLines.add(lineNumber);
+                } catch (JsonProcessingException e) {
+                    invalid(result, lineNumber, e);
+                }
+                if (chunk.size() == chunkSize) {
+                    flush(chunk, chunkLines, flusher, result);
+                }
+            }
+        }
+        flush(chunk, chunkLines, flusher, result);
+        return result;
+    }
+
+    private <T, K> void flush(List<T> chunk, List<Integer> chunkLines,
+                              Function<List<T>, BatchResultDTO<K>> flusher, ImportResultDTO<K> result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        BatchResultDTO<K> batchResult = flusher.apply(chunk);
+        result.setCreated(result.getCreated() + batchResult.getCreated());
+        result.setConflicts(result.getConflicts() + batchResult.getConflicts());
+        result.setInvalid(result.getInvalid() + batchResult.getInvalid());
+        for (BatchItemResultDTO<K> item : batchResult.getItems()) {
+            if (item.getStatus() != BatchItemStatus.CREATED) {
+                item.setIndex(chunkLines.get(item.getIndex()));
+                reject(result, item);
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private <K> void reject(ImportResultDTO<K> result, BatchItemResultDTO<K> item) {
+        if (result.getRejected().size() < MAX_REJECTED_ITEMS) {
+            result.getRejected().add(item);
+        }
+    }
+
+    private <K> void invalid(ImportResultDTO<K> result, int lineNumber, JsonProcessingException e) {
+        result.setInvalid(result.getInvalid() + 1);
+        reject(result, new BatchItemResultDTO<>(lineNumber, null, BatchItemStatus.INVALID,
+                "Erro de validação: " + e.getOriginalMessage()));
+    }
+
+    private InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (contentEncoding != null
+                && ("gzip".equalsIgnoreCase(contentEncoding.trim()) || "x-gzip".equalsIgnoreCase(contentEncoding.trim()))) {
+            return new GZIPInputStream(body);
+        }
+        return body;
+    }
+}
@@ -1,18 +1,27 @@
 package com.dio.santander.apimanagerpoints.services;
 
+import com.dio.santander.apimanagerpoints.cache.CachingConfig;
 import com.dio.santander.apimanagerpoints.dtos.OccurrenceDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.mappers.OccurrenceMapper;
 import com.dio.santander.apimanagerpoints.models.Occurrence;
 import com.dio.santander.apimanagerpoints.repositories.OccurrenceRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,46 +29,80 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@CacheConfig(cacheNames = CachingConfig.OCCURRENCES)
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class OccurrenceService {
     private final OccurrenceRepository occurrenceRepository;
+    private final RowCountCache rowCountCache;
     private final OccurrenceMapper occurrenceMapper = OccurrenceMapper.INSTANCE;
 
+    @CacheEvict(allEntries = true)
     public OccurrenceDTO insert(OccurrenceDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         Occurrence objToSave = occurrenceMapper.toModel(objDto);
         Occurrence objSaved = occurrenceRepository.save(objToSave);
+        rowCountCache.invalidate(Occurrence.class);
         return occurrenceMapper.toDto(objSaved);
     }
 
-    public OccurrenceDTO update(OccurrenceDTO objDto) {
-        find(objDto.getId());
+    @CacheEvict(allEntries = true)
+    public OccurrenceDTO update(OccurrenceDTO objDto, Long expectedVersion) {
         Occurrence objToSave = occurrenceMapper.toModel(objDto);
-        Occurrence objSaved = occurrenceRepository.save(objToSave);
+        Occurrence objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = occurrenceRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = occurrenceRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return occurrenceMapper.toDto(objSaved);
     }
 
+    @Cacheable
     public List<OccurrenceDTO> findAll() {
         return occurrenceRepository.findAll().stream().map(occurrenceMapper::toDto).collect(Collectors.toList());
     }
 
+    @Cacheable
     public OccurrenceDTO find(Long id) {
-        Occurrence obj = occurrenceRepository.findById(id)
+        return occurrenceMapper.toDto(findModel(id));
+    }
+
+    @Cacheable(key = "'version:' + #id")
+    public long findVersion(Long id) {
+        return occurrenceRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + Occurrence.class.getName()
                 ));
-        return occurrenceMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    @Cacheable(key = "'versions'")
+    public VersionSummaryDTO findVersionSummary() {
+        return occurrenceRepository.findVersionSummary();
+    }
+
+    @CacheEvict(allEntries = true)
+    public void delete(Long id, Long expectedVersion) {
         try {
-            occurrenceRepository.deleteById(id);
+            if (expectedVersion == null) {
+                occurrenceRepository.delete(findModel(id));
+            } else {
+                occurrenceRepository.deleteVersioned(Occurrence.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(Occurrence.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir uma ocorrência que possui dependências");
         }
     }
 
+    @Cacheable
     public Page<OccurrenceDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
@@ -67,6 +110,35 @@ public class OccurrenceService {
         return occurrenceRepository.findAll(pageRequest).map(occurrenceMapper::toDto);
     }
 
+    @Cacheable
+    public SliceDTO<OccurrenceDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<OccurrenceDTO> slice = occurrenceRepository.findSliceBy(pageRequest).map(occurrenceMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(Occurrence.class, occurrenceRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private Occurrence findModel(Long id) {
+        return occurrenceRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + Occurrence.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!occurrenceRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + Occurrence.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + Occurrence.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<Occurrence> optObj = occurrenceRepository.findById(id);
         if (optObj.isPresent()) {
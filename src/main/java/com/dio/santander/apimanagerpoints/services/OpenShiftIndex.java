@@ -0,0 +1,109 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class OpenShiftIndex {
+    private static final Long PENDING = -1L;
+
+    private final MovementRepository movementRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ConcurrentMap<Long, Long> openShifts = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ConcurrentMap<Long, Long> rebuilt = new ConcurrentHashMap<>();
+            for (MovementPK id : movementRepository.findOpenIds()) {
+                rebuilt.merge(id.getUserId(), id.getMovementId(), Long::max);
+            }
+            openShifts = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean reserve(Long userId) {
+        return withShifts(shifts -> shifts.putIfAbsent(userId, PENDING) == null);
+    }
+
+    public void open(Long userId, Long movementId) {
+        afterCompletion(committed -> withShifts(shifts -> committed
+                ? shifts.replace(userId, PENDING, movementId)
+                : shifts.remove(userId, PENDING)));
+    }
+
+    public void release(Long userId) {
+        withShifts(shifts -> shifts.remove(userId, PENDING));
+    }
+
+    public Long claim(Long userId) {
+        return withShifts(shifts -> {
+            Long movementId = shifts.get(userId);
+            if (movementId == null || PENDING.equals(movementId)) {
+                return null;
+            }
+            return shifts.remove(userId, movementId) ? movementId : null;
+        });
+    }
+
+    private void restore(Long userId, Long movementId) {
+        withShifts(shifts -> shifts.putIfAbsent(userId, movementId));
+    }
+
+    public void restoreOnRollback(Long userId, Long movementId) {
+        afterCompletion(committed -> {
+            if (!committed) {
+                restore(userId, movementId);
+            }
+        });
+    }
+
+    public void close(Long userId, Long movementId) {
+        withShifts(shifts -> shifts.remove(userId, movementId));
+    }
+
+    public Long find(Long userId) {
+        Long movementId = withShifts(shifts -> shifts.get(userId));
+        return PENDING.equals(movementId) ? null : movementId;
+    }
+
+    private <T> T withShifts(Function<ConcurrentMap<Long, Long>, T> action) {
+        lock.readLock().lock();
+        try {
+            return action.apply(openShifts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Component
+public class PooledIdGenerator {
+    public static final String MOVEMENT = "movement";
+    public static final String BANK_OF_HOUR = "bank_of_hour";
+
+    private final KeySequenceService keySequenceService;
+    private final boolean enabled;
+    private final int poolSize;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    public PooledIdGenerator(KeySequenceService keySequenceService,
+                             @Value("${app.ids.server-generated:false}") boolean enabled,
+                             @Value("${app.ids.pool-size:50}") int poolSize) {
+        this.keySequenceService = keySequenceService;
+        this.enabled = enabled;
+        this.poolSize = poolSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long nextId(String name, LongSupplier initialValue) {
+        return pools.computeIfAbsent(name, Pool::new).next(initialValue);
+    }
+
+    private final class Pool {
+        private final String name;
+        private long next;
+        private long limit;
+
+        private Pool(String name) {
+            this.name = name;
+        }
+
+        private synchronized long next(LongSupplier initialValue) {
+            if (next >= limit) {
+                long start;
+                try {
+                    start = keySequenceService.reserveBlock(name, poolSize, initialValue);
+                } catch (DataIntegrityViolationException e) {
+                    start = keySequenceService.reserveBlock(name, poolSize, initialValue);
+                }
+                next = start;
+                limit = start + poolSize;
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.mappers.MovementMapper;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.User;
+import com.dio.santander.apimanagerpoints.repositories.CalendarRepository;
+import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
+import com.dio.santander.apimanagerpoints.repositories.OccurrenceRepository;
+import com.dio.santander.apimanagerpoints.repositories.UserRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class PunchClockService {
+    private final MovementRepository movementRepository;
+    private final UserRepository userRepository;
+    private final OccurrenceRepository occurrenceRepository;
+    private final CalendarRepository calendarRepository;
+    private final OpenShiftIndex openShiftIndex;
+    private final PooledIdGenerator pooledIdGenerator;
+    private final MovementCalculationService movementCalculationService;
+    private final WorkedHoursService workedHoursService;
+    private final MovementMapper movementMapper = MovementMapper.INSTANCE;
+
+    @Transactional
+    public MovementDTO clockIn(Long userId, Long occurrenceId, Long calendarId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + userId + ", Tipo: " + User.class.getName());
+        }
+        if (!openShiftIndex.reserve(userId)) {
+            throw new ObjectAlreadyRegisteredException(
+                    "Já existe um movimento aberto! UserId: " + userId + ", Tipo: " + Movement.class.getName());
+        }
+        try {
+            Movement obj = new Movement();
+            obj.getId().setUserId(userId);
+            obj.getId().setMovementId(pooledIdGenerator.nextId(
+                    PooledIdGenerator.MOVEMENT, () -> movementRepository.findMaxMovementId() + 1));
+            obj.setDateOfIn(LocalDateTime.now());
+            obj.setOccurrence(occurrenceId == null ? null : occurrenceRepository.getById(occurrenceId));
+            obj.setCalendar(calendarId == null ? null : calendarRepository.getById(calendarId));
+            Movement objSaved = movementRepository.persist(obj);
+            openShiftIndex.open(userId, objSaved.getId().getMovementId());
+            return movementMapper.toDto(objSaved);
+        } catch (RuntimeException e) {
+            openShiftIndex.release(userId);
+            throw e;
+        }
+    }
+
+    @Transactional
+    public MovementDTO clockOut(Long userId) {
+        Long movementId = openShiftIndex.claim(userId);
+        if (movementId == null) {
+            throw new ObjectNotFoundException(
+                    "Nenhum movimento aberto! UserId: " + userId + ", Tipo: " + Movement.class.getName());
+        }
+        Movement obj = movementRepository.findByPK(movementId, userId);
+        if (obj == null || obj.getDateOfOut() != null) {
+            throw new ObjectNotFoundException(
+                    "Nenhum movimento aberto! MovementId: " + movementId +
+                            ", UserId: " + userId +
+                            ", Tipo: " + Movement.class.getName());
+        }
+        openShiftIndex.restoreOnRollback(userId, movementId);
+        obj.setDateOfOut(LocalDateTime.now());
+        movementCalculationService.apply(obj);
+        Movement objSaved = movementRepository.saveAndFlush(obj);
+        workedHoursService.apply(null, objSaved);
+        return movementMapper.toDto(objSaved);
+    }
+}
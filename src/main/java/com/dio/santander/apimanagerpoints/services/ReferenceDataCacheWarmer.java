@@ -0,0 +1,43 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.cache.CachingConfig;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReferenceDataCacheWarmer {
+    private final CacheManager cacheManager;
+    private final AccessLevelService accessLevelService;
+    private final DateTypeService dateTypeService;
+    private final OccurrenceService occurrenceService;
+    private final UserCategoryService userCategoryService;
+    private final WorkDayService workDayService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        warmUp(CachingConfig.ACCESS_LEVELS, accessLevelService.findAll(), dto -> dto.getId());
+        warmUp(CachingConfig.DATE_TYPES, dateTypeService.findAll(), dto -> dto.getId());
+        warmUp(CachingConfig.OCCURRENCES, occurrenceService.findAll(), dto -> dto.getId());
+        warmUp(CachingConfig.USER_CATEGORIES, userCategoryService.findAll(), dto -> dto.getId());
+        warmUp(CachingConfig.WORK_DAYS, workDayService.findAll(), dto -> dto.getId());
+    }
+
+    private <T> void warmUp(String cacheName, List<T> all, Function<T, Long> idOf) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        for (T dto : all) {
+            cache.putIfAbsent(idOf.apply(dto), dto);
+        }
+    }
+}
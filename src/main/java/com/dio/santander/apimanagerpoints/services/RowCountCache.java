@@ -0,0 +1,28 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+@Component
+public class RowCountCache {
+    private final Cache<Class<?>, Long> counts;
+
+    public RowCountCache(@Value("${app.page.count-ttl-seconds:30}") long ttlSeconds) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public long count(Class<?> type, LongSupplier counter) {
+        return counts.get(type, key -> counter.getAsLong());
+    }
+
+    public void invalidate(Class<?> type) {
+        counts.invalidate(type);
+    }
+}
@@ -0,0 +1,62 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.services.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public final class SeekCursor {
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String SEPARATOR = "|";
+
+    private final long userId;
+    private final LocalDateTime date;
+    private final long id;
+
+    public SeekCursor(long userId, LocalDateTime date, long id) {
+        this.userId = userId;
+        this.date = date;
+        this.id = id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = userId + SEPARATOR + (date == null ? "" : date.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeekCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Token de paginação inválido: " + token);
+            }
+            LocalDateTime date = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new SeekCursor(Long.parseLong(parts[0]), date, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Token de paginação inválido: " + token, e);
+        }
+    }
+
+    public static int limitOf(Integer limit) {
+        if (limit == null || limit < 1) {
+            return 1;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
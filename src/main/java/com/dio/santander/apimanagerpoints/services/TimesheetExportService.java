@@ -0,0 +1,146 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.TimesheetFormat;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+@Service
+public class TimesheetExportService {
+    private static final String TIMESHEET_SQL =
+            "select m.user_id, u.name as user_name, m.movement_id, m.date_of_in, m.date_of_out, m.period, " +
+            "m.late_minutes, m.early_leave_minutes, m.regular_minutes, m.overtime_minutes, m.night_minutes, " +
+            "m.holiday_minutes, o.name as occurrence, c.description as calendar " +
+            "from movement m " +
+            "join user u on u.id = m.user_id " +
+            "left join occurrence o on o.id = m.occurrence_id " +
+            "left join calendar c on c.id = m.calendar_id " +
+            "where u.company_id = ? and m.date_of_in >= ? and m.date_of_in < ? " +
+            "order by m.user_id, m.date_of_in, m.movement_id";
+    private static final String[] COLUMNS = {
+            "userId", "userName", "movementId", "dateOfIn", "dateOfOut", "period",
+            "lateMinutes", "earlyLeaveMinutes", "regularMinutes", "overtimeMinutes", "nightMinutes",
+            "holidayMinutes", "occurrence", "calendar"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TimesheetExportService(DataSource dataSource,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long companyId, YearMonth month, TimesheetFormat format, OutputStream out) throws IOException {
+        switch (format) {
+            case JSON:
+                exportStructured(companyId, month, DataFormat.JSON, out);
+                break;
+            case CBOR:
+                exportStructured(companyId, month, DataFormat.CBOR, out);
+                break;
+            case SMILE:
+                exportStructured(companyId, month, DataFormat.SMILE, out);
+                break;
+            default:
+                exportCsv(companyId, month, out);
+        }
+    }
+
+    private void exportCsv(Long companyId, YearMonth month, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\n");
+        query(companyId, month, rs -> {
+            for (int column = 0; column < COLUMNS.length; column++) {
+                if (column > 0) {
+                    writer.write(",");
+                }
+                writer.write(csv(value(rs, column + 1)));
+            }
+            writer.write("\n");
+        });
+        writer.flush();
+    }
+
+    private void exportStructured(Long companyId, YearMonth month, DataFormat dataFormat, OutputStream out)
+            throws IOException {
+        try (JsonGenerator generator = dataFormat.createGenerator(objectMapper, out)) {
+            generator.writeStartArray();
+            query(companyId, month, rs -> {
+                generator.writeStartObject();
+                for (int column = 0; column < COLUMNS.length; column++) {
+                    generator.writeFieldName(COLUMNS[column]);
+                    Object value = rs.getObject(column + 1);
+                    if (value instanceof BigDecimal) {
+                        generator.writeNumber((BigDecimal) value);
+                    } else if (value instanceof Integer || value instanceof Long) {
+                        generator.writeNumber(((Number) value).longValue());
+                    } else if (value instanceof Number) {
+                        generator.writeNumber(value.toString());
+                    } else {
+                        generator.writeString(value(rs, column + 1));
+                    }
+                }
+                generator.writeEndObject();
+            });
+            generator.writeEndArray();
+        }
+    }
+
+    private void query(Long companyId, YearMonth month, RowWriter rowWriter) throws IOException {
+        try {
+            jdbcTemplate.query(TIMESHEET_SQL, (RowCallbackHandler) rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, companyId, Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                    Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toString();
+        }
+        return value == null ? null : value.toString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -1,18 +1,27 @@
 package com.dio.santander.apimanagerpoints.services;
 
+import com.dio.santander.apimanagerpoints.cache.CachingConfig;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.dtos.UserCategoryDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.mappers.UserCategoryMapper;
 import com.dio.santander.apimanagerpoints.models.UserCategory;
 import com.dio.santander.apimanagerpoints.repositories.UserCategoryRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,46 +29,80 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@CacheConfig(cacheNames = CachingConfig.USER_CATEGORIES)
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class UserCategoryService {
     private final UserCategoryRepository userCategoryRepository;
+    private final RowCountCache rowCountCache;
     private final UserCategoryMapper userCategoryMapper = UserCategoryMapper.INSTANCE;
 
+    @CacheEvict(allEntries = true)
     public UserCategoryDTO insert(UserCategoryDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         UserCategory objToSave = userCategoryMapper.toModel(objDto);
         UserCategory objSaved = userCategoryRepository.save(objToSave);
+        rowCountCache.invalidate(UserCategory.class);
         return userCategoryMapper.toDto(objSaved);
     }
 
-    public UserCategoryDTO update(UserCategoryDTO objDto) {
-        find(objDto.getId());
+    @CacheEvict(allEntries = true)
+    public UserCategoryDTO update(UserCategoryDTO objDto, Long expectedVersion) {
         UserCategory objToSave = userCategoryMapper.toModel(objDto);
-        UserCategory objSaved = userCategoryRepository.save(objToSave);
+        UserCategory objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = userCategoryRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = userCategoryRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return userCategoryMapper.toDto(objSaved);
     }
 
+    @Cacheable
     public List<UserCategoryDTO> findAll() {
         return userCategoryRepository.findAll().stream().map(userCategoryMapper::toDto).collect(Collectors.toList());
     }
 
+    @Cacheable
     public UserCategoryDTO find(Long id) {
-        UserCategory obj = userCategoryRepository.findById(id)
+        return userCategoryMapper.toDto(findModel(id));
+    }
+
+    @Cacheable(key = "'version:' + #id")
+    public long findVersion(Long id) {
+        return userCategoryRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + UserCategory.class.getName()
                 ));
-        return userCategoryMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    @Cacheable(key = "'versions'")
+    public VersionSummaryDTO findVersionSummary() {
+        return userCategoryRepository.findVersionSummary();
+    }
+
+    @CacheEvict(allEntries = true)
+    public void delete(Long id, Long expectedVersion) {
         try {
-            userCategoryRepository.deleteById(id);
+            if (expectedVersion == null) {
+                userCategoryRepository.delete(findModel(id));
+            } else {
+                userCategoryRepository.deleteVersioned(UserCategory.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(UserCategory.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir uma categoria de usuário que possui dependências");
         }
     }
 
+    @Cacheable
     public Page<UserCategoryDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
@@ -67,6 +110,35 @@ public class UserCategoryService {
         return userCategoryRepository.findAll(pageRequest).map(userCategoryMapper::toDto);
     }
 
+    @Cacheable
+    public SliceDTO<UserCategoryDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<UserCategoryDTO> slice = userCategoryRepository.findSliceBy(pageRequest).map(userCategoryMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(UserCategory.class, userCategoryRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private UserCategory findModel(Long id) {
+        return userCategoryRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + UserCategory.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!userCategoryRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + UserCategory.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + UserCategory.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<UserCategory> optObj = userCategoryRepository.findById(id);
         if (optObj.isPresent()) {
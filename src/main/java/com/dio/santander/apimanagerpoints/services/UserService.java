@@ -1,70 +1,181 @@
 package com.dio.santander.apimanagerpoints.services;
 
+import com.dio.santander.apimanagerpoints.dtos.AccessLevelDTO;
+import com.dio.santander.apimanagerpoints.dtos.CompanyDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserCategoryDTO;
 import com.dio.santander.apimanagerpoints.dtos.UserDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserVersionDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
+import com.dio.santander.apimanagerpoints.dtos.WorkDayDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
 import com.dio.santander.apimanagerpoints.mappers.UserMapper;
 import com.dio.santander.apimanagerpoints.models.User;
 import com.dio.santander.apimanagerpoints.repositories.UserRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class UserService {
+    private static final String USER_CATEGORY = "userCategory";
+    private static final String COMPANY = "company";
+    private static final String ACCESS_LEVEL = "accessLevel";
+    private static final String WORK_DAY = "workDay";
+
     private final UserRepository userRepository;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final RowCountCache rowCountCache;
     private final UserMapper userMapper = UserMapper.INSTANCE;
 
     public UserDTO insert(UserDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         User objToSave = userMapper.toModel(objDto);
         User objSaved = userRepository.save(objToSave);
+        rowCountCache.invalidate(User.class);
         return userMapper.toDto(objSaved);
     }
 
-    public UserDTO update(UserDTO objDto) {
-        find(objDto.getId());
+    public UserDTO update(UserDTO objDto, Long expectedVersion) {
         User objToSave = userMapper.toModel(objDto);
-        User objSaved = userRepository.save(objToSave);
+        User objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = userRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = userRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return userMapper.toDto(objSaved);
     }
 
-    public List<UserDTO> findAll() {
-        return userRepository.findAll().stream().map(userMapper::toDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamAll(OutputStream out, FieldSelection selection, DataFormat format) throws IOException {
+        try (Stream<UserDTO> rows = streamRows(selection)) {
+            jsonArrayStreamer.write(rows, out, selection, format);
+        }
     }
 
     public UserDTO find(Long id) {
-        User obj = userRepository.findById(id)
+        return userMapper.toDto(findModel(id));
+    }
+
+    public UserVersionDTO findVersion(Long id) {
+        return userRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + User.class.getName()
                 ));
-        return userMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    public VersionSummaryDTO findVersionSummary() {
+        return userRepository.findVersionSummary();
+    }
+
+    public void delete(Long id, Long expectedVersion) {
         try {
-            userRepository.deleteById(id);
+            if (expectedVersion == null) {
+                userRepository.delete(findModel(id));
+            } else {
+                userRepository.deleteVersioned(User.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(User.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir uma jornada de trabalho que possui dependências");
         }
     }
 
-    public Page<UserDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
+    public Page<UserDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction,
+            FieldSelection selection) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
                 orderBy);
-        return userRepository.findAll(pageRequest).map(userMapper::toDto);
+        if (isReferencesOnly(selection)) {
+            return userRepository.findPageReferences(pageRequest);
+        }
+        return userRepository.findPageProjected(pageRequest).map(row -> collapseReferences(row, selection));
+    }
+
+    public SliceDTO<UserDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal, FieldSelection selection) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<UserDTO> slice = isReferencesOnly(selection) ? userRepository.findSliceReferences(pageRequest)
+                : userRepository.findSliceProjected(pageRequest).map(row -> collapseReferences(row, selection));
+        Long total = withTotal ? rowCountCache.count(User.class, userRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private Stream<UserDTO> streamRows(FieldSelection selection) {
+        if (!selection.isSparse()) {
+            return userRepository.streamAllProjected();
+        }
+        if (isReferencesOnly(selection)) {
+            return userRepository.streamAllReferences();
+        }
+        return userRepository.streamAllProjected().map(row -> collapseReferences(row, selection));
+    }
+
+    private static boolean isReferencesOnly(FieldSelection selection) {
+        return selection.isSparse() && !selection.expandsAny(USER_CATEGORY, COMPANY, ACCESS_LEVEL, WORK_DAY);
+    }
+
+    private static UserDTO collapseReferences(UserDTO row, FieldSelection selection) {
+        if (!selection.expands(USER_CATEGORY) && row.getUserCategory() != null) {
+            row.setUserCategory(UserCategoryDTO.builder().id(row.getUserCategory().getId()).build());
+        }
+        if (!selection.expands(COMPANY) && row.getCompany() != null) {
+            row.setCompany(CompanyDTO.builder().id(row.getCompany().getId()).build());
+        }
+        if (!selection.expands(ACCESS_LEVEL) && row.getAccessLevel() != null) {
+            row.setAccessLevel(AccessLevelDTO.builder().id(row.getAccessLevel().getId()).build());
+        }
+        if (!selection.expands(WORK_DAY) && row.getWorkDay() != null) {
+            row.setWorkDay(WorkDayDTO.builder().id(row.getWorkDay().getId()).build());
+        }
+        return row;
+    }
+
+    private User findModel(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + User.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!userRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + User.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + User.class.getName(), e
+        );
     }
 
     private void verifyIfIsAlreadyRegistered(Long id) {
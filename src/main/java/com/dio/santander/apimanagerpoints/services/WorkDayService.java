@@ -1,5 +1,8 @@
 package com.dio.santander.apimanagerpoints.services;
 
+import com.dio.santander.apimanagerpoints.cache.CachingConfig;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.dtos.WorkDayDTO;
 import com.dio.santander.apimanagerpoints.mappers.WorkDayMapper;
 import com.dio.santander.apimanagerpoints.models.WorkDay;
@@ -7,12 +10,18 @@ import com.dio.santander.apimanagerpoints.repositories.WorkDayRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,46 +29,80 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@CacheConfig(cacheNames = CachingConfig.WORK_DAYS)
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class WorkDayService {
     private final WorkDayRepository workDayRepository;
+    private final RowCountCache rowCountCache;
     private final WorkDayMapper workDayMapper = WorkDayMapper.INSTANCE;
 
+    @CacheEvict(allEntries = true)
     public WorkDayDTO insert(WorkDayDTO objDto) {
         verifyIfIsAlreadyRegistered(objDto.getId());
         WorkDay objToSave = workDayMapper.toModel(objDto);
         WorkDay objSaved = workDayRepository.save(objToSave);
+        rowCountCache.invalidate(WorkDay.class);
         return workDayMapper.toDto(objSaved);
     }
 
-    public WorkDayDTO update(WorkDayDTO objDto) {
-        find(objDto.getId());
+    @CacheEvict(allEntries = true)
+    public WorkDayDTO update(WorkDayDTO objDto, Long expectedVersion) {
         WorkDay objToSave = workDayMapper.toModel(objDto);
-        WorkDay objSaved = workDayRepository.save(objToSave);
+        WorkDay objSaved;
+        try {
+            if (expectedVersion == null) {
+                objToSave.setVersion(findModel(objDto.getId()).getVersion());
+                objSaved = workDayRepository.save(objToSave);
+            } else {
+                objToSave.setVersion(expectedVersion);
+                objSaved = workDayRepository.updateVersioned(objToSave);
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(objDto.getId(), e);
+        }
         return workDayMapper.toDto(objSaved);
     }
 
+    @Cacheable
     public List<WorkDayDTO> findAll() {
         return workDayRepository.findAll().stream().map(workDayMapper::toDto).collect(Collectors.toList());
     }
 
+    @Cacheable
     public WorkDayDTO find(Long id) {
-        WorkDay obj = workDayRepository.findById(id)
+        return workDayMapper.toDto(findModel(id));
+    }
+
+    @Cacheable(key = "'version:' + #id")
+    public long findVersion(Long id) {
+        return workDayRepository.findVersionById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(
                         "Objeto não encontrado! Id: " + id + ", Tipo: " + WorkDay.class.getName()
                 ));
-        return workDayMapper.toDto(obj);
     }
 
-    public void delete(Long id) {
-        find(id);
+    @Cacheable(key = "'versions'")
+    public VersionSummaryDTO findVersionSummary() {
+        return workDayRepository.findVersionSummary();
+    }
+
+    @CacheEvict(allEntries = true)
+    public void delete(Long id, Long expectedVersion) {
         try {
-            workDayRepository.deleteById(id);
+            if (expectedVersion == null) {
+                workDayRepository.delete(findModel(id));
+            } else {
+                workDayRepository.deleteVersioned(WorkDay.builder().id(id).version(expectedVersion).build());
+            }
+            rowCountCache.invalidate(WorkDay.class);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw versionConflict(id, e);
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityException("Não é possível excluir uma jornada de trabalho que possui dependências");
         }
     }
 
+    @Cacheable
     public Page<WorkDayDTO> findPage(Integer page, Integer linesPerPage, String orderBy, String direction) {
 
         PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
@@ -67,6 +110,35 @@ public class WorkDayService {
         return workDayRepository.findAll(pageRequest).map(workDayMapper::toDto);
     }
 
+    @Cacheable
+    public SliceDTO<WorkDayDTO> findSlice(Integer page, Integer linesPerPage, String orderBy, String direction,
+            boolean withTotal) {
+
+        PageRequest pageRequest = PageRequest.of(page, linesPerPage, Sort.Direction.valueOf(direction),
+                orderBy);
+        Slice<WorkDayDTO> slice = workDayRepository.findSliceBy(pageRequest).map(workDayMapper::toDto);
+        Long total = withTotal ? rowCountCache.count(WorkDay.class, workDayRepository::count) : null;
+        return SliceDTO.of(slice, total);
+    }
+
+    private WorkDay findModel(Long id) {
+        return workDayRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Objeto não encontrado! Id: " + id + ", Tipo: " + WorkDay.class.getName()
+                ));
+    }
+
+    private RuntimeException versionConflict(Long id, ObjectOptimisticLockingFailureException e) {
+        if (!workDayRepository.existsById(id)) {
+            return new ObjectNotFoundException(
+                    "Objeto não encontrado! Id: " + id + ", Tipo: " + WorkDay.class.getName(), e
+            );
+        }
+        return new PreconditionFailedException(
+                "Versão desatualizada! Id: " + id + ", Tipo: " + WorkDay.class.getName(), e
+        );
+    }
+
     private void verifyIfIsAlreadyRegistered(Long id) {
         Optional<WorkDay> optObj = workDayRepository.findById(id);
         if (optObj.isPresent()) {
@@ -0,0 +1,155 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.Granularity;
+import com.dio.santander.apimanagerpoints.dtos.WorkedHoursDTO;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDaily;
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDailyPK;
+import com.dio.santander.apimanagerpoints.repositories.WorkedHoursDailyRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class WorkedHoursService {
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+    private static final int WORKED = 0;
+    private static final int LATE = 1;
+    private static final int EARLY_LEAVE = 2;
+    private static final int MOVEMENTS = 3;
+
+    private final WorkedHoursDailyRepository workedHoursDailyRepository;
+    private final HolidayCalendarIndex holidayCalendarIndex;
+
+    @Transactional
+    public void apply(Movement previous, Movement current) {
+        Map<WorkedHoursDailyPK, int[]> deltas = new HashMap<>();
+        accumulate(deltas, previous, -1);
+        accumulate(deltas, current, 1);
+        deltas.forEach(this::add);
+    }
+
+    @Transactional
+    public void applyAll(Collection<Movement> created) {
+        Map<WorkedHoursDailyPK, int[]> deltas = new HashMap<>();
+        created.forEach(movement -> accumulate(deltas, movement, 1));
+        deltas.forEach(this::add);
+    }
+
+    @Transactional
+    public void rebuild(long userId, LocalDate from, Collection<Movement> movements) {
+        Map<WorkedHoursDailyPK, int[]> totals = new HashMap<>();
+        movements.forEach(movement -> accumulate(totals, movement, 1));
+        workedHoursDailyRepository.deleteFrom(userId, from);
+        workedHoursDailyRepository.persistAll(totals.entrySet().stream()
+                .map(total -> daily(total.getKey(), total.getValue()))
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<WorkedHoursDTO> find(Long userId, Granularity granularity, LocalDate from, LocalDate to) {
+        Map<LocalDate, int[]> buckets = new TreeMap<>();
+        for (WorkedHoursDaily daily : workedHoursDailyRepository.findByUserBetween(userId, from, to)) {
+            int[] bucket = buckets.computeIfAbsent(startOf(daily.getId().getWorkedDay(), granularity), start -> new int[4]);
+            bucket[WORKED] += daily.getWorkedMinutes();
+            bucket[LATE] += daily.getLateMinutes();
+            bucket[EARLY_LEAVE] += daily.getEarlyLeaveMinutes();
+            bucket[MOVEMENTS] += daily.getMovements();
+        }
+        return buckets.entrySet().stream()
+                .map(bucket -> WorkedHoursDTO.builder()
+                        .period(label(bucket.getKey(), granularity))
+                        .start(bucket.getKey().toString())
+                        .workedMinutes(bucket.getValue()[WORKED])
+                        .workedHours(BigDecimal.valueOf(bucket.getValue()[WORKED])
+                                .divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP))
+                        .lateMinutes(bucket.getValue()[LATE])
+                        .earlyLeaveMinutes(bucket.getValue()[EARLY_LEAVE])
+                        .movements(bucket.getValue()[MOVEMENTS])
+                        .businessDays(holidayCalendarIndex.businessDaysBetween(
+                                max(bucket.getKey(), from), min(endOf(bucket.getKey(), granularity), to).plusDays(1)))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private void add(WorkedHoursDailyPK id, int[] delta) {
+        if (delta[WORKED] == 0 && delta[LATE] == 0 && delta[EARLY_LEAVE] == 0 && delta[MOVEMENTS] == 0) {
+            return;
+        }
+        workedHoursDailyRepository.addTo(id.getUserId(), id.getWorkedDay(),
+                delta[WORKED], delta[LATE], delta[EARLY_LEAVE], delta[MOVEMENTS]);
+    }
+
+    private static void accumulate(Map<WorkedHoursDailyPK, int[]> deltas, Movement movement, int sign) {
+        if (movement == null || movement.getDateOfIn() == null || movement.getDateOfOut() == null) {
+            return;
+        }
+        WorkedHoursDailyPK id = new WorkedHoursDailyPK(movement.getId().getUserId(), movement.getDateOfIn().toLocalDate());
+        int[] delta = deltas.computeIfAbsent(id, key -> new int[4]);
+        delta[WORKED] += sign * toMinutes(movement.getPeriod());
+        delta[LATE] += sign * (movement.getLateMinutes() == null ? 0 : movement.getLateMinutes());
+        delta[EARLY_LEAVE] += sign * (movement.getEarlyLeaveMinutes() == null ? 0 : movement.getEarlyLeaveMinutes());
+        delta[MOVEMENTS] += sign;
+    }
+
+    private static int toMinutes(BigDecimal hours) {
+        return hours == null ? 0 : hours.multiply(MINUTES_PER_HOUR).setScale(0, RoundingMode.HALF_UP).intValue();
+    }
+
+    private static WorkedHoursDaily daily(WorkedHoursDailyPK id, int[] values) {
+        return new WorkedHoursDaily(id, values[WORKED], values[LATE], values[EARLY_LEAVE], values[MOVEMENTS]);
+    }
+
+    private static LocalDate startOf(LocalDate day, Granularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+
+    private static LocalDate endOf(LocalDate start, Granularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                return start.plusDays(6);
+            case MONTH:
+                return start.with(TemporalAdjusters.lastDayOfMonth());
+            default:
+                return start;
+        }
+    }
+
+    private static LocalDate max(LocalDate first, LocalDate second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static String label(LocalDate start, Granularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                return String.format("%d-W%02d",
+                        start.get(IsoFields.WEEK_BASED_YEAR), start.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH:
+                return String.format("%d-%02d", start.getYear(), start.getMonthValue());
+            default:
+                return start.toString();
+        }
+    }
+}
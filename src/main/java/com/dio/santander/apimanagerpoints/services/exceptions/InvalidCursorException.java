@@ -0,0 +1,14 @@
+package com.dio.santander.apimanagerpoints.services.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidCursorException(String msg) {
+		super(msg);
+	}
+
+	public InvalidCursorException(String msg, Throwable clause) {
+		super(msg, clause);
+	}
+}
@@ -0,0 +1,14 @@
+package com.dio.santander.apimanagerpoints.services.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PreconditionFailedException(String msg) {
+		super(msg);
+	}
+
+	public PreconditionFailedException(String msg, Throwable clause) {
+		super(msg, clause);
+	}
+}
@@ -0,0 +1,14 @@
+package com.dio.santander.apimanagerpoints.services.exceptions;
+
+public class QueueFullException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public QueueFullException(String msg) {
+		super(msg);
+	}
+
+	public QueueFullException(String msg, Throwable clause) {
+		super(msg, clause);
+	}
+}
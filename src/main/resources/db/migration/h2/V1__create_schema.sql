@@ -0,0 +1,141 @@
+create sequence hibernate_sequence start with 1 increment by 1;
+
+create table access_level (
+    id bigint not null,
+    description varchar(255),
+    primary key (id)
+);
+
+create table date_type (
+    id bigint not null,
+    description varchar(255),
+    primary key (id)
+);
+
+create table occurrence (
+    id bigint not null,
+    name varchar(255),
+    description varchar(255),
+    primary key (id)
+);
+
+create table user_category (
+    id bigint not null,
+    description varchar(255),
+    primary key (id)
+);
+
+create table work_day (
+    id bigint not null,
+    description varchar(255),
+    primary key (id)
+);
+
+create table company (
+    id bigint not null,
+    description varchar(255),
+    cnpj varchar(255),
+    address varchar(255),
+    district varchar(255),
+    city varchar(255),
+    state varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table calendar (
+    id bigint not null,
+    date_type_id bigint,
+    description varchar(255),
+    special_date timestamp,
+    primary key (id),
+    constraint fk_calendar_date_type foreign key (date_type_id) references date_type (id)
+);
+
+create index idx_calendar_special_date on calendar (special_date);
+
+create table location (
+    id bigint not null,
+    access_level_id bigint,
+    description varchar(255),
+    primary key (id),
+    constraint fk_location_access_level foreign key (access_level_id) references access_level (id)
+);
+
+create table user (
+    id bigint not null,
+    user_category_id bigint,
+    name varchar(255),
+    company_id bigint,
+    access_level_id bigint,
+    work_day_id bigint,
+    tolerance decimal(19,2),
+    work_day_start timestamp,
+    work_day_final timestamp,
+    primary key (id),
+    constraint fk_user_user_category foreign key (user_category_id) references user_category (id),
+    constraint fk_user_company foreign key (company_id) references company (id),
+    constraint fk_user_access_level foreign key (access_level_id) references access_level (id),
+    constraint fk_user_work_day foreign key (work_day_id) references work_day (id)
+);
+
+create index idx_user_company on user (company_id);
+
+create table movement (
+    movement_id bigint not null,
+    user_id bigint not null,
+    date_of_in timestamp,
+    date_of_out timestamp,
+    period decimal(19,2),
+    late_minutes integer,
+    early_leave_minutes integer,
+    occurrence_id bigint,
+    calendar_id bigint,
+    idempotency_key varchar(255),
+    primary key (movement_id, user_id),
+    constraint uk_movement_idempotency_key unique (idempotency_key),
+    constraint fk_movement_occurrence foreign key (occurrence_id) references occurrence (id),
+    constraint fk_movement_calendar foreign key (calendar_id) references calendar (id)
+);
+
+create index idx_movement_user_date_of_in on movement (user_id, date_of_in);
+create index idx_movement_date_of_out on movement (date_of_out);
+
+create table bank_of_hour (
+    bank_of_hour_id bigint not null,
+    movement_id bigint not null,
+    user_id bigint not null,
+    user_category_id bigint,
+    date_worked timestamp,
+    amount_of_hour decimal(19,2),
+    balance_of_hour decimal(19,2),
+    idempotency_key varchar(255),
+    primary key (bank_of_hour_id, movement_id, user_id),
+    constraint uk_bank_of_hour_idempotency_key unique (idempotency_key),
+    constraint fk_bank_of_hour_user_category foreign key (user_category_id) references user_category (id)
+);
+
+create index idx_bank_of_hour_user_date_worked on bank_of_hour (user_id, date_worked);
+
+create table bank_of_hour_checkpoint (
+    user_id bigint not null,
+    period integer not null,
+    balance decimal(19,2),
+    primary key (user_id, period)
+);
+
+create table worked_hours_daily (
+    user_id bigint not null,
+    worked_day date not null,
+    worked_minutes integer not null,
+    late_minutes integer not null,
+    early_leave_minutes integer not null,
+    movements integer not null,
+    primary key (user_id, worked_day)
+);
+
+create table key_sequence (
+    name varchar(255) not null,
+    next_value bigint not null,
+    primary key (name)
+);
@@ -0,0 +1,125 @@
+create table revinfo (
+    rev integer not null,
+    revtstmp bigint,
+    primary key (rev)
+);
+
+create table access_level_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    description varchar(255),
+    primary key (id, rev),
+    constraint fk_access_level_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table date_type_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    description varchar(255),
+    primary key (id, rev),
+    constraint fk_date_type_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table occurrence_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    name varchar(255),
+    description varchar(255),
+    primary key (id, rev),
+    constraint fk_occurrence_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table user_category_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    description varchar(255),
+    primary key (id, rev),
+    constraint fk_user_category_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table work_day_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    description varchar(255),
+    primary key (id, rev),
+    constraint fk_work_day_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table company_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    description varchar(255),
+    cnpj varchar(255),
+    address varchar(255),
+    district varchar(255),
+    city varchar(255),
+    state varchar(255),
+    phone varchar(255),
+    primary key (id, rev),
+    constraint fk_company_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table calendar_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    date_type_id bigint,
+    description varchar(255),
+    special_date timestamp,
+    primary key (id, rev),
+    constraint fk_calendar_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table user_aud (
+    id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    user_category_id bigint,
+    name varchar(255),
+    company_id bigint,
+    access_level_id bigint,
+    work_day_id bigint,
+    tolerance decimal(19,2),
+    work_day_start timestamp,
+    work_day_final timestamp,
+    primary key (id, rev),
+    constraint fk_user_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table movement_aud (
+    movement_id bigint not null,
+    user_id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    date_of_in timestamp,
+    date_of_out timestamp,
+    period decimal(19,2),
+    late_minutes integer,
+    early_leave_minutes integer,
+    occurrence_id bigint,
+    calendar_id bigint,
+    idempotency_key varchar(255),
+    primary key (movement_id, user_id, rev),
+    constraint fk_movement_aud_revinfo foreign key (rev) references revinfo (rev)
+);
+
+create table bank_of_hour_aud (
+    bank_of_hour_id bigint not null,
+    movement_id bigint not null,
+    user_id bigint not null,
+    rev integer not null,
+    revtype tinyint,
+    user_category_id bigint,
+    date_worked timestamp,
+    amount_of_hour decimal(19,2),
+    balance_of_hour decimal(19,2),
+    idempotency_key varchar(255),
+    primary key (bank_of_hour_id, movement_id, user_id, rev),
+    constraint fk_bank_of_hour_aud_revinfo foreign key (rev) references revinfo (rev)
+);
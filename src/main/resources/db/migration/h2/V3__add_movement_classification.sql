@@ -0,0 +1,9 @@
+alter table movement add column regular_minutes integer;
+alter table movement add column overtime_minutes integer;
+alter table movement add column night_minutes integer;
+alter table movement add column holiday_minutes integer;
+
+alter table movement_aud add column regular_minutes integer;
+alter table movement_aud add column overtime_minutes integer;
+alter table movement_aud add column night_minutes integer;
+alter table movement_aud add column holiday_minutes integer;
@@ -0,0 +1,9 @@
+alter table access_level add column version bigint default 0 not null;
+alter table date_type add column version bigint default 0 not null;
+alter table occurrence add column version bigint default 0 not null;
+alter table user_category add column version bigint default 0 not null;
+alter table work_day add column version bigint default 0 not null;
+alter table company add column version bigint default 0 not null;
+alter table calendar add column version bigint default 0 not null;
+alter table location add column version bigint default 0 not null;
+alter table user add column version bigint default 0 not null;
@@ -0,0 +1,10 @@
+create table movement_dead_letter (
+    id bigint auto_increment not null,
+    movement_id bigint not null,
+    user_id bigint not null,
+    status varchar(20) not null,
+    reason varchar(1000),
+    payload varchar(4000),
+    failed_at timestamp not null,
+    primary key (id)
+);
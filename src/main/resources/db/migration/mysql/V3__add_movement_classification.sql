@@ -0,0 +1,11 @@
+alter table movement
+    add column regular_minutes int,
+    add column overtime_minutes int,
+    add column night_minutes int,
+    add column holiday_minutes int;
+
+alter table movement_aud
+    add column regular_minutes int,
+    add column overtime_minutes int,
+    add column night_minutes int,
+    add column holiday_minutes int;
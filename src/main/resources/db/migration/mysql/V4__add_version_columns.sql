@@ -0,0 +1,9 @@
+alter table access_level add column version bigint not null default 0;
+alter table date_type add column version bigint not null default 0;
+alter table occurrence add column version bigint not null default 0;
+alter table user_category add column version bigint not null default 0;
+alter table work_day add column version bigint not null default 0;
+alter table company add column version bigint not null default 0;
+alter table calendar add column version bigint not null default 0;
+alter table location add column version bigint not null default 0;
+alter table user add column version bigint not null default 0;
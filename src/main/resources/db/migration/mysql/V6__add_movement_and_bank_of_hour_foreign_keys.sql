@@ -0,0 +1,4 @@
+alter table movement add constraint fk_movement_user foreign key (user_id) references user (id);
+alter table bank_of_hour add constraint fk_bank_of_hour_user foreign key (user_id) references user (id);
+alter table bank_of_hour add constraint fk_bank_of_hour_movement
+    foreign key (movement_id, user_id) references movement (movement_id, user_id);
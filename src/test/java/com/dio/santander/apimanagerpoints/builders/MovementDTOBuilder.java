@@ -28,6 +28,18 @@ public class MovementDTOBuilder {
     @Builder.Default
     private BigDecimal period = BigDecimal.valueOf(3.5);
     @Builder.Default
+    private Integer lateMinutes = 0;
+    @Builder.Default
+    private Integer earlyLeaveMinutes = 0;
+    @Builder.Default
+    private Integer regularMinutes = 0;
+    @Builder.Default
+    private Integer overtimeMinutes = 0;
+    @Builder.Default
+    private Integer nightMinutes = 0;
+    @Builder.Default
+    private Integer holidayMinutes = 0;
+    @Builder.Default
     private OccurrenceDTO occurrence = OccurrenceDTOBuilder.builder().build().toOccurrenceDTO();
     @Builder.Default
     private CalendarDTO calendar = CalendarDTOBuilder.builder().build().toCalendarDTO();
@@ -36,7 +48,8 @@ public class MovementDTOBuilder {
         id.setUserId(1);
         id.setMovementId(1);
         return new MovementDTO(
-          id, dateOfIn, dateOfOut, period, occurrence, calendar
+          id, dateOfIn, dateOfOut, period, lateMinutes, earlyLeaveMinutes,
+          regularMinutes, overtimeMinutes, nightMinutes, holidayMinutes, occurrence, calendar
         );
     }
 }
@@ -3,6 +3,7 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.AccessLevelDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.AccessLevelDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.services.AccessLevelService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -111,6 +112,7 @@ public class AccessLevelControllerTest {
         AccessLevelDTO accessLevelDTO = AccessLevelDTOBuilder.builder().build().toAccessLevelDTO();
 
         // when
+        when(accessLevelService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(accessLevelService.findAll()).thenReturn(Collections.singletonList(accessLevelDTO));
 
         // then
@@ -123,7 +125,7 @@ public class AccessLevelControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(accessLevelService).delete(VALID_ACCESS_LEVEL_ID);
+        doNothing().when(accessLevelService).delete(VALID_ACCESS_LEVEL_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(ACCESS_LEVEL_API_URL_PATH + "/" + VALID_ACCESS_LEVEL_ID)
@@ -134,7 +136,7 @@ public class AccessLevelControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(accessLevelService).delete(INVALID_ACCESS_LEVEL_ID);
+        doThrow(ObjectNotFoundException.class).when(accessLevelService).delete(INVALID_ACCESS_LEVEL_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(ACCESS_LEVEL_API_URL_PATH + "/" + INVALID_ACCESS_LEVEL_ID)
@@ -148,7 +150,7 @@ public class AccessLevelControllerTest {
         AccessLevelDTO accessLevelDTO = AccessLevelDTOBuilder.builder().build().toAccessLevelDTO();
         accessLevelDTO.setDescription("Modified Name");
         // when
-        when(accessLevelService.update(accessLevelDTO)).thenReturn(accessLevelDTO);
+        when(accessLevelService.update(accessLevelDTO, null)).thenReturn(accessLevelDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(ACCESS_LEVEL_API_URL_PATH)
@@ -164,7 +166,7 @@ public class AccessLevelControllerTest {
         AccessLevelDTO accessLevelDTO = AccessLevelDTOBuilder.builder().build().toAccessLevelDTO();
 
         // when
-        when(accessLevelService.update(accessLevelDTO)).thenThrow(ObjectNotFoundException.class);
+        when(accessLevelService.update(accessLevelDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(ACCESS_LEVEL_API_URL_PATH)
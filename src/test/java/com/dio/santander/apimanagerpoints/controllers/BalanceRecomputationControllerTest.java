@@ -0,0 +1,117 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
+import com.dio.santander.apimanagerpoints.dtos.BalanceRecomputationJobDTO;
+import com.dio.santander.apimanagerpoints.dtos.RecomputationStatus;
+import com.dio.santander.apimanagerpoints.services.BalanceRecomputationService;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceRecomputationControllerTest {
+    private static final String RECOMPUTATION_API_URL_PATH = "/api/v1/admin/balance_recomputations";
+    private static final String VALID_JOB_ID = "2b1f0a52-0000-4000-8000-000000000001";
+    private static final String INVALID_JOB_ID = "unknown";
+    private static final Long VALID_COMPANY_ID = 1L;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BalanceRecomputationService balanceRecomputationService;
+
+    @InjectMocks
+    private BalanceRecomputationController balanceRecomputationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(balanceRecomputationController)
+                .setControllerAdvice(new ResourceExceptionHandler())
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenAJobIsStarted() throws Exception {
+        // given
+        BalanceRecomputationJobDTO job = job(RecomputationStatus.RUNNING);
+
+        // when
+        when(balanceRecomputationService.start(VALID_COMPANY_ID, LocalDate.parse("2021-07-01"))).thenReturn(job);
+
+        // then
+        mockMvc.perform(post(RECOMPUTATION_API_URL_PATH + "?companyId=" + VALID_COMPANY_ID + "&from=2021-07-01")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(VALID_JOB_ID))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void whenGETIsCalledThenTheProgressIsReturned() throws Exception {
+        // given
+        BalanceRecomputationJobDTO job = job(RecomputationStatus.COMPLETED);
+
+        // when
+        when(balanceRecomputationService.find(VALID_JOB_ID)).thenReturn(job);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(RECOMPUTATION_API_URL_PATH + "/" + VALID_JOB_ID)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedUsers").value(job.getProcessedUsers()))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    void whenGETIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
+        // when
+        when(balanceRecomputationService.find(INVALID_JOB_ID)).thenThrow(ObjectNotFoundException.class);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(RECOMPUTATION_API_URL_PATH + "/" + INVALID_JOB_ID)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenDELETEIsCalledThenTheJobIsCancelled() throws Exception {
+        // given
+        BalanceRecomputationJobDTO job = job(RecomputationStatus.RUNNING);
+
+        // when
+        when(balanceRecomputationService.cancel(VALID_JOB_ID)).thenReturn(job);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.delete(RECOMPUTATION_API_URL_PATH + "/" + VALID_JOB_ID)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+    }
+
+    private static BalanceRecomputationJobDTO job(RecomputationStatus status) {
+        return BalanceRecomputationJobDTO.builder()
+                .id(VALID_JOB_ID)
+                .companyId(VALID_COMPANY_ID)
+                .from("2021-07-01T00:00")
+                .status(status)
+                .totalUsers(10)
+                .processedUsers(4)
+                .build();
+    }
+}
@@ -3,7 +3,10 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.BankOfHourDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
 import com.dio.santander.apimanagerpoints.services.BankOfHourService;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
+import com.dio.santander.apimanagerpoints.services.exceptions.InvalidCursorException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,16 +17,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static com.dio.santander.apimanagerpoints.utils.JsonConvertionUtils.asJsonString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,7 +71,7 @@ public class BankOfHourControllerTest {
         BankOfHourDTO bankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
 
         // when
-        when(bankOfHourService.insert(bankOfHourDTO)).thenReturn(bankOfHourDTO);
+        when(bankOfHourService.insert(bankOfHourDTO, null)).thenReturn(bankOfHourDTO);
 
         // then
         mockMvc.perform(post(BANK_OF_HOUR_API_URL_PATH)
@@ -72,6 +84,25 @@ public class BankOfHourControllerTest {
                 .andExpect(jsonPath("$.balanceOfHour").value(bankOfHourDTO.getBalanceOfHour()));
     }
 
+    @Test
+    void whenGETBalanceIsCalledThenTheLedgerBalanceIsReturned() throws Exception {
+        // given
+        LocalDateTime at = LocalDateTime.parse("2021-07-31T23:59:59");
+        BigDecimal balance = new BigDecimal("12.50");
+
+        // when
+        when(bankOfHourService.balance(VALID_USER_ID, at)).thenReturn(balance);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(BANK_OF_HOUR_API_URL_PATH + "/balance" +
+                "?userId=" + VALID_USER_ID +
+                "&at=" + at)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(VALID_USER_ID))
+                .andExpect(jsonPath("$.balance").value(balance));
+    }
+
     @Test
     void whenPOSTIsCalledWithoutRequiredFieldThenAnErrorIsReturned() throws Exception {
         // given
@@ -129,11 +160,18 @@ public class BankOfHourControllerTest {
         BankOfHourDTO bankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
 
         // when
-        when(bankOfHourService.findAll()).thenReturn(Collections.singletonList(bankOfHourDTO));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class)
+                    .write(asJsonString(Collections.singletonList(bankOfHourDTO)).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bankOfHourService).streamAll(any(), eq(FieldSelection.ALL), eq(DataFormat.JSON));
 
         // then
-        mockMvc.perform(MockMvcRequestBuilders.get(BANK_OF_HOUR_API_URL_PATH)
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(BANK_OF_HOUR_API_URL_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].dateWorked").value(bankOfHourDTO.getDateWorked()))
                 .andExpect(jsonPath("$[0].userCategory.description").value(bankOfHourDTO.getUserCategory().getDescription()))
@@ -218,4 +256,14 @@ public class BankOfHourControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenGETSeekIsCalledWithInvalidTokenThenBadRequestStatusIsReturned() throws Exception {
+        // when
+        when(bankOfHourService.findSeek("not-a-token", 24)).thenThrow(InvalidCursorException.class);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(BANK_OF_HOUR_API_URL_PATH + "/seek?token=not-a-token")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -3,6 +3,7 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.CalendarDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.CalendarDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.services.CalendarService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -111,6 +112,7 @@ public class CalendarControllerTest {
         CalendarDTO calendarDTO = CalendarDTOBuilder.builder().build().toCalendarDTO();
 
         // when
+        when(calendarService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(calendarService.findAll()).thenReturn(Collections.singletonList(calendarDTO));
 
         // then
@@ -123,7 +125,7 @@ public class CalendarControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(calendarService).delete(VALID_CALENDAR_ID);
+        doNothing().when(calendarService).delete(VALID_CALENDAR_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(CALENDAR_API_URL_PATH + "/" + VALID_CALENDAR_ID)
@@ -134,7 +136,7 @@ public class CalendarControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(calendarService).delete(INVALID_CALENDAR_ID);
+        doThrow(ObjectNotFoundException.class).when(calendarService).delete(INVALID_CALENDAR_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(CALENDAR_API_URL_PATH + "/" + INVALID_CALENDAR_ID)
@@ -148,7 +150,7 @@ public class CalendarControllerTest {
         CalendarDTO calendarDTO = CalendarDTOBuilder.builder().build().toCalendarDTO();
         calendarDTO.setDescription("Modified Name");
         // when
-        when(calendarService.update(calendarDTO)).thenReturn(calendarDTO);
+        when(calendarService.update(calendarDTO, null)).thenReturn(calendarDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(CALENDAR_API_URL_PATH)
@@ -164,7 +166,7 @@ public class CalendarControllerTest {
         CalendarDTO calendarDTO = CalendarDTOBuilder.builder().build().toCalendarDTO();
 
         // when
-        when(calendarService.update(calendarDTO)).thenThrow(ObjectNotFoundException.class);
+        when(calendarService.update(calendarDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(CALENDAR_API_URL_PATH)
@@ -3,6 +3,7 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.CompanyDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.CompanyDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.services.CompanyService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -117,6 +118,7 @@ public class CompanyControllerTest {
         CompanyDTO companyDTO = CompanyDTOBuilder.builder().build().toCompanyDTO();
 
         // when
+        when(companyService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(companyService.findAll()).thenReturn(Collections.singletonList(companyDTO));
 
         // then
@@ -132,7 +134,7 @@ public class CompanyControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(companyService).delete(VALID_COMPANY_ID);
+        doNothing().when(companyService).delete(VALID_COMPANY_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(COMPANY_API_URL_PATH + "/" + VALID_COMPANY_ID)
@@ -143,7 +145,7 @@ public class CompanyControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(companyService).delete(INVALID_COMPANY_ID);
+        doThrow(ObjectNotFoundException.class).when(companyService).delete(INVALID_COMPANY_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(COMPANY_API_URL_PATH + "/" + INVALID_COMPANY_ID)
@@ -157,7 +159,7 @@ public class CompanyControllerTest {
         CompanyDTO companyDTO = CompanyDTOBuilder.builder().build().toCompanyDTO();
         companyDTO.setDescription("Modified Name");
         // when
-        when(companyService.update(companyDTO)).thenReturn(companyDTO);
+        when(companyService.update(companyDTO, null)).thenReturn(companyDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(COMPANY_API_URL_PATH)
@@ -173,7 +175,7 @@ public class CompanyControllerTest {
         CompanyDTO companyDTO = CompanyDTOBuilder.builder().build().toCompanyDTO();
 
         // when
-        when(companyService.update(companyDTO)).thenThrow(ObjectNotFoundException.class);
+        when(companyService.update(companyDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(COMPANY_API_URL_PATH)
@@ -3,6 +3,7 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.DateTypeDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.DateTypeDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.services.DateTypeService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -111,6 +112,7 @@ public class DateTypeControllerTest {
         DateTypeDTO dateTypeDTO = DateTypeDTOBuilder.builder().build().toDateTypeDTO();
 
         // when
+        when(dateTypeService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(dateTypeService.findAll()).thenReturn(Collections.singletonList(dateTypeDTO));
 
         // then
@@ -123,7 +125,7 @@ public class DateTypeControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(dateTypeService).delete(VALID_DATE_TYPE_ID);
+        doNothing().when(dateTypeService).delete(VALID_DATE_TYPE_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(DATE_TYPE_API_URL_PATH + "/" + VALID_DATE_TYPE_ID)
@@ -134,7 +136,7 @@ public class DateTypeControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(dateTypeService).delete(INVALID_DATE_TYPE_ID);
+        doThrow(ObjectNotFoundException.class).when(dateTypeService).delete(INVALID_DATE_TYPE_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(DATE_TYPE_API_URL_PATH + "/" + INVALID_DATE_TYPE_ID)
@@ -148,7 +150,7 @@ public class DateTypeControllerTest {
         DateTypeDTO dateTypeDTO = DateTypeDTOBuilder.builder().build().toDateTypeDTO();
         dateTypeDTO.setDescription("Modified Name");
         // when
-        when(dateTypeService.update(dateTypeDTO)).thenReturn(dateTypeDTO);
+        when(dateTypeService.update(dateTypeDTO, null)).thenReturn(dateTypeDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(DATE_TYPE_API_URL_PATH)
@@ -164,7 +166,7 @@ public class DateTypeControllerTest {
         DateTypeDTO dateTypeDTO = DateTypeDTOBuilder.builder().build().toDateTypeDTO();
 
         // when
-        when(dateTypeService.update(dateTypeDTO)).thenThrow(ObjectNotFoundException.class);
+        when(dateTypeService.update(dateTypeDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(DATE_TYPE_API_URL_PATH)
@@ -3,6 +3,7 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.LocationDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.LocationDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.services.LocationService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -111,6 +112,7 @@ public class LocationControllerTest {
         LocationDTO locationDTO = LocationDTOBuilder.builder().build().toLocationDTO();
 
         // when
+        when(locationService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(locationService.findAll()).thenReturn(Collections.singletonList(locationDTO));
 
         // then
@@ -123,7 +125,7 @@ public class LocationControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(locationService).delete(VALID_LOCATION_ID);
+        doNothing().when(locationService).delete(VALID_LOCATION_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(LOCATION_API_URL_PATH + "/" + VALID_LOCATION_ID)
@@ -134,7 +136,7 @@ public class LocationControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(locationService).delete(INVALID_LOCATION_ID);
+        doThrow(ObjectNotFoundException.class).when(locationService).delete(INVALID_LOCATION_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(LOCATION_API_URL_PATH + "/" + INVALID_LOCATION_ID)
@@ -148,7 +150,7 @@ public class LocationControllerTest {
         LocationDTO locationDTO = LocationDTOBuilder.builder().build().toLocationDTO();
         locationDTO.setDescription("Modified Name");
         // when
-        when(locationService.update(locationDTO)).thenReturn(locationDTO);
+        when(locationService.update(locationDTO, null)).thenReturn(locationDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(LOCATION_API_URL_PATH)
@@ -164,7 +166,7 @@ public class LocationControllerTest {
         LocationDTO locationDTO = LocationDTOBuilder.builder().build().toLocationDTO();
 
         // when
-        when(locationService.update(locationDTO)).thenThrow(ObjectNotFoundException.class);
+        when(locationService.update(locationDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(LOCATION_API_URL_PATH)
@@ -2,9 +2,23 @@ package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
+import com.dio.santander.apimanagerpoints.dtos.BatchItemResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.BatchItemStatus;
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.ImportResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.KeysetPageDTO;
 import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
 import com.dio.santander.apimanagerpoints.services.MovementService;
+import com.dio.santander.apimanagerpoints.services.MovementWriteBehindBuffer;
+import com.dio.santander.apimanagerpoints.services.NdjsonImportService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.QueueFullException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,19 +26,35 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 
 import static com.dio.santander.apimanagerpoints.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,11 +65,19 @@ public class MovementControllerTest {
     private static final Long INVALID_MOVEMENT_ID = 2L;
     private static final Long INVALID_USER_ID = 2L;
 
+    private static final ObjectMapper CBOR_MAPPER = new ObjectMapper(new CBORFactory());
+
     private MockMvc mockMvc;
 
     @Mock
     private MovementService movementService;
 
+    @Mock
+    private NdjsonImportService ndjsonImportService;
+
+    @Mock
+    private MovementWriteBehindBuffer movementWriteBehindBuffer;
+
     @InjectMocks
     private MovementController movementController;
 
@@ -58,7 +96,7 @@ public class MovementControllerTest {
         MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
 
         // when
-        when(movementService.insert(movementDTO)).thenReturn(movementDTO);
+        when(movementService.insert(movementDTO, null)).thenReturn(movementDTO);
 
         // then
         mockMvc.perform(post(MOVEMENT_API_URL_PATH)
@@ -72,6 +110,41 @@ public class MovementControllerTest {
                 .andExpect(jsonPath("$.period").value(movementDTO.getPeriod()));
     }
 
+    @Test
+    void whenPOSTIsCalledWithWriteBehindEnabledThenAMovementIsAccepted() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(movementWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(movementWriteBehindBuffer.offer(movementDTO, null)).thenReturn(movementDTO);
+
+        // then
+        mockMvc.perform(post(MOVEMENT_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(movementDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.dateOfIn").value(movementDTO.getDateOfIn()));
+        verify(movementWriteBehindBuffer, times(1)).offer(movementDTO, null);
+        verify(movementService, never()).insert(any(MovementDTO.class), any());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithWriteBehindQueueFullThenServiceUnavailableIsReturned() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(movementWriteBehindBuffer.isEnabled()).thenReturn(true);
+        doThrow(QueueFullException.class).when(movementWriteBehindBuffer).offer(movementDTO, null);
+
+        // then
+        mockMvc.perform(post(MOVEMENT_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(movementDTO)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     void whenPOSTIsCalledWithoutRequiredFieldThenAnErrorIsReturned() throws Exception {
         // given
@@ -85,6 +158,69 @@ public class MovementControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenPOSTBatchIsCalledThenAResultPerItemIsReturned() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        List<MovementDTO> listDto = Collections.singletonList(movementDTO);
+        BatchResultDTO<MovementPK> result = new BatchResultDTO<>(1, 0, 0, Collections.singletonList(
+                new BatchItemResultDTO<>(0, movementDTO.getId(), BatchItemStatus.CREATED, null)));
+
+        // when
+        when(movementService.insertBatch(listDto)).thenReturn(result);
+
+        // then
+        mockMvc.perform(post(MOVEMENT_API_URL_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(listDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].status").value(BatchItemStatus.CREATED.name()))
+                .andExpect(jsonPath("$.items[0].id.movementId").value(VALID_MOVEMENT_ID));
+    }
+
+    @Test
+    void whenPOSTBatchIsCalledWithCborThenTheResultIsReturnedAsCbor() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        List<MovementDTO> listDto = Collections.singletonList(movementDTO);
+        BatchResultDTO<MovementPK> result = new BatchResultDTO<>(1, 0, 0, Collections.singletonList(
+                new BatchItemResultDTO<>(0, movementDTO.getId(), BatchItemStatus.CREATED, null)));
+
+        // when
+        when(movementService.insertBatch(listDto)).thenReturn(result);
+
+        // then
+        byte[] response = mockMvc.perform(post(MOVEMENT_API_URL_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(CBOR_MAPPER.writeValueAsBytes(listDto)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode body = CBOR_MAPPER.readTree(response);
+        assertThat(body.get("created").asInt(), is(equalTo(1)));
+        assertThat(body.get("items").get(0).get("status").asText(), is(equalTo(BatchItemStatus.CREATED.name())));
+    }
+
+    @Test
+    void whenPOSTBatchIsCalledWithNdjsonThenTheBodyIsStreamedToTheImport() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        ImportResultDTO<MovementPK> result = new ImportResultDTO<>(1, 1, 0, 0, Collections.emptyList());
+
+        // when
+        when(ndjsonImportService.importMovements(any(InputStream.class), isNull())).thenReturn(result);
+
+        // then
+        mockMvc.perform(post(MOVEMENT_API_URL_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(asJsonString(movementDTO) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records").value(1))
+                .andExpect(jsonPath("$.created").value(1));
+    }
+
     @Test
     void whenGETIsCalledWithValidIdThenOkStatusIsReturned() throws Exception {
         // given
@@ -125,11 +261,18 @@ public class MovementControllerTest {
         MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
 
         // when
-        when(movementService.findAll()).thenReturn(Collections.singletonList(movementDTO));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class)
+                    .write(asJsonString(Collections.singletonList(movementDTO)).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(movementService).streamAll(any(), eq(FieldSelection.ALL), eq(DataFormat.JSON));
 
         // then
-        mockMvc.perform(MockMvcRequestBuilders.get(MOVEMENT_API_URL_PATH)
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(MOVEMENT_API_URL_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].occurrence.description").value(movementDTO.getOccurrence().getDescription()))
                 .andExpect(jsonPath("$[0].calendar.description").value(movementDTO.getCalendar().getDescription()))
@@ -138,6 +281,47 @@ public class MovementControllerTest {
                 .andExpect(jsonPath("$[0].period").value(movementDTO.getPeriod()));
     }
 
+    @Test
+    void whenGETListIsCalledWithFieldsAndExpandThenASparseSelectionIsStreamed() throws Exception {
+        // when
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("[]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(movementService).streamAll(any(), any(), any());
+
+        // then
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(MOVEMENT_API_URL_PATH)
+                .param("fields", "id,dateOfIn,occurrence")
+                .param("expand", "occurrence")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        verify(movementService, times(1)).streamAll(any(), argThat(selection -> selection.isSparse()
+                && selection.includes("dateOfIn") && !selection.includes("period")
+                && selection.expands("occurrence") && !selection.expands("calendar")), eq(DataFormat.JSON));
+    }
+
+    @Test
+    void whenGETListIsCalledAcceptingCborThenTheListIsStreamedAsCbor() throws Exception {
+        // when
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write(CBOR_MAPPER.writeValueAsBytes(Collections.emptyList()));
+            return null;
+        }).when(movementService).streamAll(any(), eq(FieldSelection.ALL), eq(DataFormat.CBOR));
+
+        // then
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(MOVEMENT_API_URL_PATH)
+                .accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
@@ -212,4 +396,26 @@ public class MovementControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenGETSeekIsCalledThenAKeysetPageIsReturned() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        KeysetPageDTO<MovementDTO> page = KeysetPageDTO.<MovementDTO>builder()
+                .content(Collections.singletonList(movementDTO))
+                .size(1)
+                .last(false)
+                .next("MXwyMDIxLTA3LTAzVDExOjIwOjE1fDE")
+                .build();
+
+        // when
+        when(movementService.findSeek(null, 1)).thenReturn(page);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(MOVEMENT_API_URL_PATH + "/seek?limit=1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].dateOfIn").value(movementDTO.getDateOfIn()))
+                .andExpect(jsonPath("$.next").value(page.getNext()))
+                .andExpect(jsonPath("$.last").value(false));
+    }
 }
@@ -3,6 +3,7 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.OccurrenceDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.OccurrenceDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.services.OccurrenceService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -111,6 +112,7 @@ public class OccurrenceControllerTest {
         OccurrenceDTO occurrenceDTO = OccurrenceDTOBuilder.builder().build().toOccurrenceDTO();
 
         // when
+        when(occurrenceService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(occurrenceService.findAll()).thenReturn(Collections.singletonList(occurrenceDTO));
 
         // then
@@ -123,7 +125,7 @@ public class OccurrenceControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(occurrenceService).delete(VALID_OCCURRENCE_ID);
+        doNothing().when(occurrenceService).delete(VALID_OCCURRENCE_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(OCCURRENCE_API_URL_PATH + "/" + VALID_OCCURRENCE_ID)
@@ -134,7 +136,7 @@ public class OccurrenceControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(occurrenceService).delete(INVALID_OCCURRENCE_ID);
+        doThrow(ObjectNotFoundException.class).when(occurrenceService).delete(INVALID_OCCURRENCE_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(OCCURRENCE_API_URL_PATH + "/" + INVALID_OCCURRENCE_ID)
@@ -148,7 +150,7 @@ public class OccurrenceControllerTest {
         OccurrenceDTO occurrenceDTO = OccurrenceDTOBuilder.builder().build().toOccurrenceDTO();
         occurrenceDTO.setDescription("Modified Name");
         // when
-        when(occurrenceService.update(occurrenceDTO)).thenReturn(occurrenceDTO);
+        when(occurrenceService.update(occurrenceDTO, null)).thenReturn(occurrenceDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(OCCURRENCE_API_URL_PATH)
@@ -164,7 +166,7 @@ public class OccurrenceControllerTest {
         OccurrenceDTO occurrenceDTO = OccurrenceDTOBuilder.builder().build().toOccurrenceDTO();
 
         // when
-        when(occurrenceService.update(occurrenceDTO)).thenThrow(ObjectNotFoundException.class);
+        when(occurrenceService.update(occurrenceDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(OCCURRENCE_API_URL_PATH)
@@ -0,0 +1,100 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.services.PunchClockService;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class PunchClockControllerTest {
+    private static final String USER_API_URL_PATH = "/api/v1/users";
+    private static final Long VALID_USER_ID = 1L;
+    private static final Long INVALID_USER_ID = 2L;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private PunchClockService punchClockService;
+
+    @InjectMocks
+    private PunchClockController punchClockController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(punchClockController)
+                .setControllerAdvice(new ResourceExceptionHandler())
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenClockInIsCalledThenAMovementIsOpened() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        movementDTO.setDateOfOut(null);
+
+        // when
+        when(punchClockService.clockIn(VALID_USER_ID, null, null)).thenReturn(movementDTO);
+
+        // then
+        mockMvc.perform(post(USER_API_URL_PATH + "/" + VALID_USER_ID + "/clock-in")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.dateOfIn").value(movementDTO.getDateOfIn()))
+                .andExpect(jsonPath("$.dateOfOut").doesNotExist());
+    }
+
+    @Test
+    void whenClockInIsCalledWithOpenShiftThenBadRequestStatusIsReturned() throws Exception {
+        // when
+        when(punchClockService.clockIn(VALID_USER_ID, null, null)).thenThrow(ObjectAlreadyRegisteredException.class);
+
+        // then
+        mockMvc.perform(post(USER_API_URL_PATH + "/" + VALID_USER_ID + "/clock-in")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenClockOutIsCalledThenTheMovementIsClosed() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(punchClockService.clockOut(VALID_USER_ID)).thenReturn(movementDTO);
+
+        // then
+        mockMvc.perform(post(USER_API_URL_PATH + "/" + VALID_USER_ID + "/clock-out")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dateOfOut").value(movementDTO.getDateOfOut()));
+    }
+
+    @Test
+    void whenClockOutIsCalledWithoutOpenShiftThenNotFoundStatusIsReturned() throws Exception {
+        // when
+        when(punchClockService.clockOut(INVALID_USER_ID)).thenThrow(ObjectNotFoundException.class);
+
+        // then
+        mockMvc.perform(post(USER_API_URL_PATH + "/" + INVALID_USER_ID + "/clock-out")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,74 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
+import com.dio.santander.apimanagerpoints.dtos.TimesheetFormat;
+import com.dio.santander.apimanagerpoints.services.TimesheetExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TimesheetControllerTest {
+    private static final String COMPANY_API_URL_PATH = "/api/v1/companies";
+    private static final Long VALID_COMPANY_ID = 1L;
+    private static final String CSV = "userId,userName\n1,Maria\n";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TimesheetExportService timesheetExportService;
+
+    @InjectMocks
+    private TimesheetController timesheetController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(timesheetController)
+                .setControllerAdvice(new ResourceExceptionHandler())
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenGETTimesheetIsCalledThenTheCsvIsStreamed() throws Exception {
+        // when
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write(CSV.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(timesheetExportService).export(eq(VALID_COMPANY_ID), eq(YearMonth.of(2021, 7)), eq(TimesheetFormat.CSV), any());
+
+        // then
+        MvcResult result = mockMvc.perform(get(COMPANY_API_URL_PATH + "/" + VALID_COMPANY_ID + "/timesheets?month=2021-07"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"timesheet-1-2021-07.csv\""))
+                .andExpect(content().string(CSV));
+    }
+
+    @Test
+    void whenGETTimesheetIsCalledWithoutMonthThenBadRequestStatusIsReturned() throws Exception {
+        // then
+        mockMvc.perform(get(COMPANY_API_URL_PATH + "/" + VALID_COMPANY_ID + "/timesheets"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -3,6 +3,7 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.UserCategoryDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.UserCategoryDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.services.UserCategoryService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -111,6 +112,7 @@ public class UserCategoryControllerTest {
         UserCategoryDTO userCategoryDTO = UserCategoryDTOBuilder.builder().build().toUserCategoryDTO();
 
         // when
+        when(userCategoryService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(userCategoryService.findAll()).thenReturn(Collections.singletonList(userCategoryDTO));
 
         // then
@@ -123,7 +125,7 @@ public class UserCategoryControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(userCategoryService).delete(VALID_USER_CATEGORY_ID);
+        doNothing().when(userCategoryService).delete(VALID_USER_CATEGORY_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(USER_CATEGORY_API_URL_PATH + "/" + VALID_USER_CATEGORY_ID)
@@ -134,7 +136,7 @@ public class UserCategoryControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(userCategoryService).delete(INVALID_USER_CATEGORY_ID);
+        doThrow(ObjectNotFoundException.class).when(userCategoryService).delete(INVALID_USER_CATEGORY_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(USER_CATEGORY_API_URL_PATH + "/" + INVALID_USER_CATEGORY_ID)
@@ -148,7 +150,7 @@ public class UserCategoryControllerTest {
         UserCategoryDTO userCategoryDTO = UserCategoryDTOBuilder.builder().build().toUserCategoryDTO();
         userCategoryDTO.setDescription("Modified Name");
         // when
-        when(userCategoryService.update(userCategoryDTO)).thenReturn(userCategoryDTO);
+        when(userCategoryService.update(userCategoryDTO, null)).thenReturn(userCategoryDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(USER_CATEGORY_API_URL_PATH)
@@ -164,7 +166,7 @@ public class UserCategoryControllerTest {
         UserCategoryDTO userCategoryDTO = UserCategoryDTOBuilder.builder().build().toUserCategoryDTO();
 
         // when
-        when(userCategoryService.update(userCategoryDTO)).thenThrow(ObjectNotFoundException.class);
+        when(userCategoryService.update(userCategoryDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(USER_CATEGORY_API_URL_PATH)
@@ -3,6 +3,10 @@ package com.dio.santander.apimanagerpoints.controllers;
 import com.dio.santander.apimanagerpoints.builders.UserDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
 import com.dio.santander.apimanagerpoints.dtos.UserDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserVersionDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
 import com.dio.santander.apimanagerpoints.services.UserService;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,19 +16,28 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 
 import static com.dio.santander.apimanagerpoints.utils.JsonConvertionUtils.asJsonString;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -89,6 +102,7 @@ public class UserControllerTest {
         UserDTO userDTO = UserDTOBuilder.builder().build().toUserDTO();
 
         // when
+        when(userService.findVersion(VALID_USER_ID)).thenReturn(new UserVersionDTO(1L, 1L, 1L, 1L, 1L));
         when(userService.find(VALID_USER_ID)).thenReturn(userDTO);
 
         // then
@@ -106,7 +120,7 @@ public class UserControllerTest {
     @Test
     void whenGETIsCalledWithoutRegisteredIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        when(userService.find(INVALID_USER_ID)).thenThrow(ObjectNotFoundException.class);
+        when(userService.findVersion(INVALID_USER_ID)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(USER_API_URL_PATH + "/" + INVALID_USER_ID)
@@ -114,17 +128,70 @@ public class UserControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenGETIsCalledWithCurrentETagThenNotModifiedStatusIsReturned() throws Exception {
+        // when
+        when(userService.findVersion(VALID_USER_ID)).thenReturn(new UserVersionDTO(3L, 1L, 2L, 1L, 1L));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(USER_API_URL_PATH + "/" + VALID_USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3.1.2.1.1\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.1.2.1.1\""));
+        verify(userService, never()).find(VALID_USER_ID);
+    }
+
+    @Test
+    void whenGETIsCalledAfterAReferencedRowChangedThenTheUserIsReturnedAgain() throws Exception {
+        // given
+        UserDTO userDTO = UserDTOBuilder.builder().build().toUserDTO();
+
+        // when
+        when(userService.findVersion(VALID_USER_ID)).thenReturn(new UserVersionDTO(3L, 2L, 2L, 1L, 1L));
+        when(userService.find(VALID_USER_ID)).thenReturn(userDTO);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(USER_API_URL_PATH + "/" + VALID_USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3.1.2.1.1\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.2.2.1.1\""))
+                .andExpect(jsonPath("$.company.description").value(userDTO.getCompany().getDescription()));
+    }
+
+    @Test
+    void whenDELETEIsCalledWithTheUserETagThenTheUserVersionShouldBeExpected() throws Exception {
+        // when
+        doNothing().when(userService).delete(VALID_USER_ID, 3L);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.delete(USER_API_URL_PATH + "/" + VALID_USER_ID)
+                .header(HttpHeaders.IF_MATCH, "\"3.2.2.1.1\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        verify(userService, times(1)).delete(VALID_USER_ID, 3L);
+    }
+
     @Test
     void whenGETListWithUserIsCalledThenOkStatusIsReturned() throws Exception {
         // given
         UserDTO userDTO = UserDTOBuilder.builder().build().toUserDTO();
 
         // when
-        when(userService.findAll()).thenReturn(Collections.singletonList(userDTO));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class)
+                    .write(asJsonString(Collections.singletonList(userDTO)).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userService).streamAll(any(), eq(FieldSelection.ALL), eq(DataFormat.JSON));
+        when(userService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
 
         // then
-        mockMvc.perform(MockMvcRequestBuilders.get(USER_API_URL_PATH)
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(USER_API_URL_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].accessLevel.description").value(userDTO.getAccessLevel().getDescription()))
                 .andExpect(jsonPath("$[0].userCategory.description").value(userDTO.getUserCategory().getDescription()))
@@ -133,10 +200,42 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].workDayStart").value(userDTO.getWorkDayStart()));
     }
 
+    @Test
+    void whenGETListIsCalledWithCurrentETagThenNotModifiedStatusVaryingByAcceptIsReturned() throws Exception {
+        // when
+        when(userService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(USER_API_URL_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-1-1-json\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-1-1-json\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        verify(userService, never()).streamAll(any(), any(), any());
+    }
+
+    @Test
+    void whenGETListIsCalledAcceptingCborWithTheJsonETagThenTheListIsStreamedAgain() throws Exception {
+        // when
+        when(userService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
+
+        // then
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(USER_API_URL_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-1-1-json\"")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-1-1-cbor\""));
+        verify(userService, times(1)).streamAll(any(), eq(FieldSelection.ALL), eq(DataFormat.CBOR));
+    }
+
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(userService).delete(VALID_USER_ID);
+        doNothing().when(userService).delete(VALID_USER_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(USER_API_URL_PATH + "/" + VALID_USER_ID)
@@ -147,7 +246,7 @@ public class UserControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(userService).delete(INVALID_USER_ID);
+        doThrow(ObjectNotFoundException.class).when(userService).delete(INVALID_USER_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(USER_API_URL_PATH + "/" + INVALID_USER_ID)
@@ -161,7 +260,7 @@ public class UserControllerTest {
         UserDTO userDTO = UserDTOBuilder.builder().build().toUserDTO();
         userDTO.setName("Modified Name");
         // when
-        when(userService.update(userDTO)).thenReturn(userDTO);
+        when(userService.update(userDTO, null)).thenReturn(userDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(USER_API_URL_PATH)
@@ -177,7 +276,7 @@ public class UserControllerTest {
         UserDTO userDTO = UserDTOBuilder.builder().build().toUserDTO();
 
         // when
-        when(userService.update(userDTO)).thenThrow(ObjectNotFoundException.class);
+        when(userService.update(userDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(USER_API_URL_PATH)
@@ -0,0 +1,135 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.builders.BankOfHourDTOBuilder;
+import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
+import com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.services.BankOfHourService;
+import com.dio.santander.apimanagerpoints.services.FieldSelection;
+import com.dio.santander.apimanagerpoints.services.JsonArrayStreamer;
+import com.dio.santander.apimanagerpoints.services.MovementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class UserHistoryControllerTest {
+    private static final String USER_API_URL_PATH = "/api/v1/users";
+    private static final Long VALID_USER_ID = 1L;
+    private static final LocalDate FROM = LocalDate.parse("2021-07-01");
+    private static final LocalDate TO = LocalDate.parse("2021-07-31");
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private MovementService movementService;
+
+    @Mock
+    private BankOfHourService bankOfHourService;
+
+    @Spy
+    private JsonArrayStreamer jsonArrayStreamer = new JsonArrayStreamer(new ObjectMapper(), 500);
+
+    @InjectMocks
+    private UserHistoryController userHistoryController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(userHistoryController)
+                .setControllerAdvice(new ResourceExceptionHandler())
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenGETMovementsIsCalledThenTheUserRangeIsReturned() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(movementService.findByUserBetween(VALID_USER_ID, FROM, TO, FieldSelection.ALL))
+                .thenReturn(Collections.singletonList(movementDTO));
+
+        // then
+        MvcResult result = mockMvc.perform(get(USER_API_URL_PATH + "/" + VALID_USER_ID + "/movements?from=" + FROM + "&to=" + TO)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dateOfIn").value(movementDTO.getDateOfIn()));
+    }
+
+    @Test
+    void whenGETMovementsIsCalledWithFieldsThenOnlyTheSelectedFieldsAreReturned() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(movementService.findByUserBetween(eq(VALID_USER_ID), eq(FROM), eq(TO),
+                argThat(selection -> selection.isSparse() && selection.includes("dateOfIn"))))
+                .thenReturn(Collections.singletonList(movementDTO));
+
+        // then
+        MvcResult result = mockMvc.perform(get(USER_API_URL_PATH + "/" + VALID_USER_ID + "/movements?from=" + FROM + "&to=" + TO)
+                .param("fields", "id,dateOfIn")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dateOfIn").value(movementDTO.getDateOfIn()))
+                .andExpect(jsonPath("$[0].period").doesNotExist())
+                .andExpect(jsonPath("$[0].occurrence").doesNotExist());
+    }
+
+    @Test
+    void whenGETBankOfHoursIsCalledThenTheUserRangeIsReturned() throws Exception {
+        // given
+        BankOfHourDTO bankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
+
+        // when
+        when(bankOfHourService.findByUserBetween(VALID_USER_ID, FROM, TO, FieldSelection.ALL))
+                .thenReturn(Collections.singletonList(bankOfHourDTO));
+
+        // then
+        MvcResult result = mockMvc.perform(get(USER_API_URL_PATH + "/" + VALID_USER_ID + "/bank_of_hours?from=" + FROM + "&to=" + TO)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dateWorked").value(bankOfHourDTO.getDateWorked()));
+    }
+
+    @Test
+    void whenGETMovementsIsCalledWithoutRangeThenBadRequestStatusIsReturned() throws Exception {
+        // then
+        mockMvc.perform(get(USER_API_URL_PATH + "/" + VALID_USER_ID + "/movements")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,11 +2,13 @@ package com.dio.santander.apimanagerpoints.controllers;
 
 import com.dio.santander.apimanagerpoints.builders.WorkDayDTOBuilder;
 import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
 import com.dio.santander.apimanagerpoints.dtos.WorkDayDTO;
 import com.dio.santander.apimanagerpoints.services.WorkDayService;
 
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.exceptions.misusing.UnnecessaryStubbingException;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -27,6 +30,7 @@ import static com.dio.santander.apimanagerpoints.utils.JsonConvertionUtils.asJso
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -97,6 +101,33 @@ public class WorkDayControllerTest {
                 .andExpect(jsonPath("$.description").value(workDayDTO.getDescription()));
     }
 
+    @Test
+    void whenGETIsCalledWithCurrentETagThenNotModifiedStatusIsReturned() throws Exception {
+        // when
+        when(workDayService.findVersion(VALID_WORK_DAY_ID)).thenReturn(4L);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(WORK_DAY_API_URL_PATH + "/" + VALID_WORK_DAY_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        verify(workDayService, never()).find(VALID_WORK_DAY_ID);
+    }
+
+    @Test
+    void whenGETListIsCalledWithCurrentETagThenNotModifiedStatusIsReturned() throws Exception {
+        // when
+        when(workDayService.findVersionSummary()).thenReturn(new VersionSummaryDTO(2L, 3L, 0x5e3L));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(WORK_DAY_API_URL_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"2-3-5e3\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+        verify(workDayService, never()).findAll();
+    }
+
     @Test
     void whenGETIsCalledWithoutRegisteredIdThenNotFoundStatusIsReturned() throws Exception {
         // when
@@ -114,6 +145,7 @@ public class WorkDayControllerTest {
         WorkDayDTO workDayDTO = WorkDayDTOBuilder.builder().build().toWorkDayDTO();
 
         // when
+        when(workDayService.findVersionSummary()).thenReturn(new VersionSummaryDTO(1L, 1L, 1L));
         when(workDayService.findAll()).thenReturn(Collections.singletonList(workDayDTO));
 
         // then
@@ -126,7 +158,7 @@ public class WorkDayControllerTest {
     @Test
     void thenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // when
-        doNothing().when(workDayService).delete(VALID_WORK_DAY_ID);
+        doNothing().when(workDayService).delete(VALID_WORK_DAY_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(WORK_DAY_API_URL_PATH + "/" + VALID_WORK_DAY_ID)
@@ -137,7 +169,7 @@ public class WorkDayControllerTest {
     @Test
     void thenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // when
-        doThrow(ObjectNotFoundException.class).when(workDayService).delete(INVALID_WORK_DAY_ID);
+        doThrow(ObjectNotFoundException.class).when(workDayService).delete(INVALID_WORK_DAY_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(WORK_DAY_API_URL_PATH + "/" + INVALID_WORK_DAY_ID)
@@ -151,7 +183,7 @@ public class WorkDayControllerTest {
         WorkDayDTO workDayDTO = WorkDayDTOBuilder.builder().build().toWorkDayDTO();
         workDayDTO.setDescription("Modified Name");
         // when
-        when(workDayService.update(workDayDTO)).thenReturn(workDayDTO);
+        when(workDayService.update(workDayDTO, null)).thenReturn(workDayDTO);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(WORK_DAY_API_URL_PATH)
@@ -167,7 +199,7 @@ public class WorkDayControllerTest {
         WorkDayDTO workDayDTO = WorkDayDTOBuilder.builder().build().toWorkDayDTO();
 
         // when
-        when(workDayService.update(workDayDTO)).thenThrow(ObjectNotFoundException.class);
+        when(workDayService.update(workDayDTO, null)).thenThrow(ObjectNotFoundException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.put(WORK_DAY_API_URL_PATH)
@@ -176,6 +208,22 @@ public class WorkDayControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void thenPUTIsCalledWithStaleETagThenPreconditionFailedStatusIsReturned() throws Exception {
+        // given
+        WorkDayDTO workDayDTO = WorkDayDTOBuilder.builder().build().toWorkDayDTO();
+
+        // when
+        when(workDayService.update(workDayDTO, 1L)).thenThrow(PreconditionFailedException.class);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.put(WORK_DAY_API_URL_PATH)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(workDayDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void thenPUTisCalledWithoutRequiredFieldThenAnErrorIsReturned() throws Exception {
         // given
@@ -0,0 +1,81 @@
+package com.dio.santander.apimanagerpoints.controllers;
+
+import com.dio.santander.apimanagerpoints.controllers.exceptions.ResourceExceptionHandler;
+import com.dio.santander.apimanagerpoints.dtos.Granularity;
+import com.dio.santander.apimanagerpoints.dtos.WorkedHoursDTO;
+import com.dio.santander.apimanagerpoints.services.WorkedHoursService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class WorkedHoursControllerTest {
+    private static final String USER_API_URL_PATH = "/api/v1/users";
+    private static final Long VALID_USER_ID = 1L;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private WorkedHoursService workedHoursService;
+
+    @InjectMocks
+    private WorkedHoursController workedHoursController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(workedHoursController)
+                .setControllerAdvice(new ResourceExceptionHandler())
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenGETHoursIsCalledThenTheRollupIsReturned() throws Exception {
+        // given
+        LocalDate from = LocalDate.parse("2021-01-01");
+        LocalDate to = LocalDate.parse("2021-12-31");
+        WorkedHoursDTO month = WorkedHoursDTO.builder()
+                .period("2021-07")
+                .start("2021-07-01")
+                .workedMinutes(9600)
+                .workedHours(new BigDecimal("160.00"))
+                .movements(20)
+                .build();
+
+        // when
+        when(workedHoursService.find(VALID_USER_ID, Granularity.MONTH, from, to))
+                .thenReturn(Collections.singletonList(month));
+
+        // then
+        mockMvc.perform(get(USER_API_URL_PATH + "/" + VALID_USER_ID + "/hours" +
+                "?granularity=MONTH&from=" + from + "&to=" + to)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].period").value(month.getPeriod()))
+                .andExpect(jsonPath("$[0].workedMinutes").value(month.getWorkedMinutes()));
+    }
+
+    @Test
+    void whenGETHoursIsCalledWithInvalidGranularityThenBadRequestStatusIsReturned() throws Exception {
+        // then
+        mockMvc.perform(get(USER_API_URL_PATH + "/" + VALID_USER_ID + "/hours?granularity=YEAR")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,116 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class CalendarYearTest {
+    private static final long HOLIDAY = 1L;
+    private static final long OPTIONAL_HOLIDAY = 2L;
+
+    @Test
+    void whenADateIsMarkedThenItShouldBeSpecialForItsDateType() {
+        // given
+        CalendarYear calendarYear = calendarYear();
+
+        // when
+        LocalDate independenceDay = LocalDate.parse("2021-09-07");
+
+        // then
+        assertThat(calendarYear.isSpecial(independenceDay), is(true));
+        assertThat(calendarYear.isSpecial(HOLIDAY, independenceDay), is(true));
+        assertThat(calendarYear.isSpecial(OPTIONAL_HOLIDAY, independenceDay), is(false));
+        assertThat(calendarYear.isSpecial(LocalDate.parse("2021-09-08")), is(false));
+    }
+
+    @Test
+    void whenADateTypeIsNotAHolidayThenItsDatesShouldStayBusinessDays() {
+        // given
+        CalendarYear calendarYear = calendarYear();
+
+        // when
+        LocalDate republicDay = LocalDate.parse("2021-11-15");
+
+        // then
+        assertThat(calendarYear.isSpecial(OPTIONAL_HOLIDAY, republicDay), is(true));
+        assertThat(calendarYear.isHoliday(republicDay), is(false));
+        assertThat(calendarYear.isBusinessDay(republicDay), is(true));
+        assertThat(calendarYear.isHoliday(LocalDate.parse("2021-09-07")), is(true));
+    }
+
+    @Test
+    void whenAnEpochDayIsQueriedThenItShouldMatchTheDateLookup() {
+        // given
+        CalendarYear calendarYear = calendarYear();
+
+        // when
+        long independenceDay = LocalDate.parse("2021-09-07").toEpochDay();
+        long saturday = LocalDate.parse("2021-09-11").toEpochDay();
+
+        // then
+        assertThat(calendarYear.contains(LocalDate.parse("2021-01-01").toEpochDay()), is(true));
+        assertThat(calendarYear.contains(LocalDate.parse("2022-01-01").toEpochDay()), is(false));
+        assertThat(calendarYear.isHoliday(independenceDay), is(true));
+        assertThat(calendarYear.isBusinessDay(independenceDay), is(false));
+        assertThat(calendarYear.isHoliday(saturday), is(false));
+        assertThat(calendarYear.isBusinessDay(saturday), is(false));
+        assertThat(calendarYear.isBusinessDay(independenceDay + 1), is(true));
+    }
+
+    @Test
+    void whenBusinessDaysAreCountedThenWeekendsAndSpecialDatesShouldBeSkipped() {
+        // given
+        CalendarYear calendarYear = calendarYear();
+
+        // when
+        int september = calendarYear.businessDays(
+                LocalDate.parse("2021-09-01").getDayOfYear(), LocalDate.parse("2021-10-01").getDayOfYear());
+
+        // then
+        assertThat(september, is(equalTo(21)));
+    }
+
+    @Test
+    void whenTheWholeYearIsCountedThenEveryWordShouldBeConsidered() {
+        // given
+        CalendarYear calendarYear = calendarYear();
+
+        // when
+        int businessDays = calendarYear.businessDays(1, calendarYear.length() + 1);
+        int specialDays = calendarYear.specialDays(1, calendarYear.length() + 1);
+
+        // then
+        assertThat(businessDays, is(equalTo(259)));
+        assertThat(specialDays, is(equalTo(4)));
+    }
+
+    @Test
+    void whenTheRangeIsEmptyThenNoDaysShouldBeCounted() {
+        // given
+        CalendarYear calendarYear = calendarYear();
+
+        // when
+        int businessDays = calendarYear.businessDays(100, 100);
+
+        // then
+        assertThat(businessDays, is(equalTo(0)));
+    }
+
+    private static CalendarYear calendarYear() {
+        Map<Long, Collection<LocalDate>> datesByType = new HashMap<>();
+        datesByType.put(HOLIDAY, Arrays.asList(
+                LocalDate.parse("2021-01-01"),
+                LocalDate.parse("2021-09-07"),
+                LocalDate.parse("2021-12-25")));
+        datesByType.put(OPTIONAL_HOLIDAY, Collections.singletonList(LocalDate.parse("2021-11-15")));
+        return CalendarYear.of(2021, datesByType, Collections.singleton(HOLIDAY));
+    }
+}
@@ -0,0 +1,134 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class MovementClassifierTest {
+    private static final int EIGHT_O_CLOCK = 8 * 60;
+    private static final int FIVE_PM = 17 * 60;
+    private static final int TEN_PM = 22 * 60;
+    private static final int SIX_AM = 6 * 60;
+    private static final long INDEPENDENCE_DAY = LocalDate.parse("2021-09-07").toEpochDay();
+
+    private static final SpecialDays HOLIDAYS = new SpecialDays() {
+        @Override
+        public boolean isHoliday(long epochDay) {
+            return epochDay == INDEPENDENCE_DAY;
+        }
+
+        @Override
+        public boolean isRestDay(long epochDay) {
+            return isHoliday(epochDay) || LocalDate.ofEpochDay(epochDay).getDayOfWeek().getValue() >= 6;
+        }
+    };
+
+    @Test
+    void whenTheShiftStaysInsideTheScheduleThenAllMinutesShouldBeRegular() {
+        // given
+        long in = minute("2021-07-05T08:00:00");
+        long out = minute("2021-07-05T17:00:00");
+
+        // when
+        ClassifiedTime classifiedTime = MovementClassifier.classify(in, out, EIGHT_O_CLOCK, FIVE_PM, HOLIDAYS);
+
+        // then
+        assertThat(classifiedTime, is(equalTo(new ClassifiedTime(9 * 60, 0, 0, 0))));
+    }
+
+    @Test
+    void whenTheShiftGoesBeyondTheScheduleThenTheExtraMinutesShouldBeOvertime() {
+        // given
+        long in = minute("2021-07-05T07:30:00");
+        long out = minute("2021-07-05T23:00:00");
+
+        // when
+        ClassifiedTime classifiedTime = MovementClassifier.classify(in, out, EIGHT_O_CLOCK, FIVE_PM, HOLIDAYS);
+
+        // then
+        assertThat(classifiedTime, is(equalTo(new ClassifiedTime(9 * 60, 30 + 6 * 60, 60, 0))));
+    }
+
+    @Test
+    void whenTheShiftCrossesMidnightThenNightMinutesShouldBeCountedOnBothDays() {
+        // given
+        long in = minute("2021-07-05T22:00:00");
+        long out = minute("2021-07-06T06:00:00");
+
+        // when
+        ClassifiedTime classifiedTime = MovementClassifier.classify(in, out, TEN_PM, SIX_AM, HOLIDAYS);
+
+        // then
+        assertThat(classifiedTime, is(equalTo(new ClassifiedTime(8 * 60, 0, 7 * 60, 0))));
+    }
+
+    @Test
+    void whenTheShiftRunsIntoAHolidayThenMinutesAfterMidnightShouldBeHolidayMinutes() {
+        // given
+        long in = minute("2021-09-06T22:00:00");
+        long out = minute("2021-09-07T06:00:00");
+
+        // when
+        ClassifiedTime classifiedTime = MovementClassifier.classify(in, out, TEN_PM, SIX_AM, HOLIDAYS);
+
+        // then
+        assertThat(classifiedTime, is(equalTo(new ClassifiedTime(2 * 60, 0, 7 * 60, 6 * 60))));
+    }
+
+    @Test
+    void whenTheShiftHappensOnAWeekendThenAllMinutesShouldBeOvertime() {
+        // given
+        long in = minute("2021-07-03T08:00:00");
+        long out = minute("2021-07-03T12:00:00");
+
+        // when
+        ClassifiedTime classifiedTime = MovementClassifier.classify(in, out, EIGHT_O_CLOCK, FIVE_PM, HOLIDAYS);
+
+        // then
+        assertThat(classifiedTime, is(equalTo(new ClassifiedTime(0, 4 * 60, 0, 0))));
+    }
+
+    @Test
+    void whenThereIsNoScheduleThenNonHolidayMinutesShouldBeRegular() {
+        // given
+        long in = minute("2021-07-03T08:00:00");
+        long out = minute("2021-07-03T12:00:00");
+
+        // when
+        ClassifiedTime classifiedTime = MovementClassifier.classify(in, out,
+                WorkedTimeCalculator.NO_SCHEDULE, WorkedTimeCalculator.NO_SCHEDULE, SpecialDays.NONE);
+
+        // then
+        assertThat(classifiedTime, is(equalTo(new ClassifiedTime(4 * 60, 0, 0, 0))));
+    }
+
+    @Test
+    void whenMovementsAreClassifiedInBulkThenEachIndexShouldBeFilled() {
+        // given
+        long[] ins = {minute("2021-07-05T08:00:00"), minute("2021-07-05T22:00:00")};
+        long[] outs = {minute("2021-07-05T18:00:00"), minute("2021-07-06T06:00:00")};
+        int[] starts = {EIGHT_O_CLOCK, TEN_PM};
+        int[] finals = {FIVE_PM, SIX_AM};
+        int[] regular = new int[2];
+        int[] overtime = new int[2];
+        int[] night = new int[2];
+        int[] holiday = new int[2];
+
+        // when
+        MovementClassifier.classifyAll(ins, outs, starts, finals, HOLIDAYS, regular, overtime, night, holiday);
+
+        // then
+        assertThat(regular[0], is(equalTo(9 * 60)));
+        assertThat(overtime[0], is(equalTo(60)));
+        assertThat(regular[1], is(equalTo(8 * 60)));
+        assertThat(night[1], is(equalTo(7 * 60)));
+    }
+
+    private static long minute(String dateTime) {
+        return WorkedTimeCalculator.toEpochMinute(LocalDateTime.parse(dateTime));
+    }
+}
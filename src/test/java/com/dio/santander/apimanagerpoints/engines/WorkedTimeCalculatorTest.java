@@ -0,0 +1,140 @@
+package com.dio.santander.apimanagerpoints.engines;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class WorkedTimeCalculatorTest {
+    private static final int EIGHT_O_CLOCK = 8 * 60;
+    private static final int FIVE_PM = 17 * 60;
+    private static final int TEN_PM = 22 * 60;
+    private static final int SIX_AM = 6 * 60;
+    private static final int TOLERANCE = 5;
+
+    @Test
+    void whenPunchesAreWithinTheToleranceThenTheScheduleShouldBeConsidered() {
+        // given
+        long in = minute("2021-07-05T08:04:00");
+        long out = minute("2021-07-05T16:57:00");
+
+        // when
+        WorkedTime workedTime = WorkedTimeCalculator.calculate(in, out, EIGHT_O_CLOCK, FIVE_PM, TOLERANCE);
+
+        // then
+        assertThat(workedTime, is(equalTo(new WorkedTime(9 * 60, 0, 0))));
+    }
+
+    @Test
+    void whenAPunchExceedsTheToleranceThenLatenessShouldBeCounted() {
+        // given
+        long in = minute("2021-07-05T08:20:00");
+        long out = minute("2021-07-05T17:00:00");
+
+        // when
+        WorkedTime workedTime = WorkedTimeCalculator.calculate(in, out, EIGHT_O_CLOCK, FIVE_PM, TOLERANCE);
+
+        // then
+        assertThat(workedTime, is(equalTo(new WorkedTime(8 * 60 + 40, 20, 0))));
+    }
+
+    @Test
+    void whenTheDailyToleranceIsExceededThenNoPunchShouldBeRounded() {
+        // given
+        long in = minute("2021-07-05T08:05:00");
+        long out = minute("2021-07-05T16:54:00");
+
+        // when
+        WorkedTime workedTime = WorkedTimeCalculator.calculate(in, out, EIGHT_O_CLOCK, FIVE_PM, TOLERANCE);
+
+        // then
+        assertThat(workedTime, is(equalTo(new WorkedTime(8 * 60 + 49, 5, 6))));
+    }
+
+    @Test
+    void whenTheScheduleCrossesMidnightThenThePunchesShouldMatchTheNightShift() {
+        // given
+        long in = minute("2021-07-05T21:58:00");
+        long out = minute("2021-07-06T05:30:00");
+
+        // when
+        WorkedTime workedTime = WorkedTimeCalculator.calculate(in, out, TEN_PM, SIX_AM, TOLERANCE);
+
+        // then
+        assertThat(workedTime, is(equalTo(new WorkedTime(7 * 60 + 32, 0, 30))));
+    }
+
+    @Test
+    void whenThereIsNoScheduleThenTheRawIntervalShouldBeWorked() {
+        // given
+        long in = minute("2021-07-03T11:20:15");
+        long out = minute("2021-07-03T13:20:15");
+
+        // when
+        WorkedTime workedTime = WorkedTimeCalculator.calculate(in, out,
+                WorkedTimeCalculator.NO_SCHEDULE, WorkedTimeCalculator.NO_SCHEDULE, TOLERANCE);
+
+        // then
+        assertThat(workedTime, is(equalTo(new WorkedTime(120, 0, 0))));
+    }
+
+    @Test
+    void whenCalculatingInBulkThenEachEntryShouldBeFilled() {
+        // given
+        long[] ins = {minute("2021-07-05T08:04:00"), minute("2021-07-06T08:20:00")};
+        long[] outs = {minute("2021-07-05T16:57:00"), minute("2021-07-06T17:00:00")};
+        int[] starts = {EIGHT_O_CLOCK, EIGHT_O_CLOCK};
+        int[] finals = {FIVE_PM, FIVE_PM};
+        int[] tolerances = {TOLERANCE, TOLERANCE};
+        int[] worked = new int[2];
+        int[] late = new int[2];
+        int[] earlyLeave = new int[2];
+        long[] effectiveIns = new long[2];
+        long[] effectiveOuts = new long[2];
+
+        // when
+        WorkedTimeCalculator.calculateAll(ins, outs, starts, finals, tolerances, worked, late, earlyLeave,
+                effectiveIns, effectiveOuts);
+
+        // then
+        assertThat(worked[0], is(equalTo(9 * 60)));
+        assertThat(worked[1], is(equalTo(8 * 60 + 40)));
+        assertThat(late[1], is(equalTo(20)));
+        assertThat(earlyLeave[0], is(equalTo(0)));
+        assertThat(effectiveIns[0], is(equalTo(minute("2021-07-05T08:00:00"))));
+        assertThat(effectiveOuts[0], is(equalTo(minute("2021-07-05T17:00:00"))));
+    }
+
+    @Test
+    void whenCalculatingInBulkThenEachEntryShouldMatchTheSingleCalculation() {
+        // given
+        long[] ins = {minute("2021-07-05T08:04:00"), minute("2021-07-06T06:00:00"), minute("2021-07-07T22:00:00"),
+                minute("2021-07-08T09:00:00")};
+        long[] outs = {minute("2021-07-05T16:57:00"), minute("2021-07-06T17:00:00"), minute("2021-07-08T06:00:00"),
+                minute("2021-07-08T08:00:00")};
+        int[] starts = {EIGHT_O_CLOCK, EIGHT_O_CLOCK, WorkedTimeCalculator.NO_SCHEDULE, EIGHT_O_CLOCK};
+        int[] finals = {FIVE_PM, FIVE_PM, WorkedTimeCalculator.NO_SCHEDULE, FIVE_PM};
+        int[] tolerances = {TOLERANCE, TOLERANCE, TOLERANCE, TOLERANCE};
+        int[] worked = new int[4];
+        int[] late = new int[4];
+        int[] earlyLeave = new int[4];
+        long[] effectiveIns = new long[4];
+        long[] effectiveOuts = new long[4];
+
+        // when
+        WorkedTimeCalculator.calculateAll(ins, outs, starts, finals, tolerances, worked, late, earlyLeave,
+                effectiveIns, effectiveOuts);
+
+        // then
+        for (int i = 0; i < ins.length; i++) {
+            assertThat(new WorkedTime(worked[i], late[i], earlyLeave[i]),
+                    is(equalTo(WorkedTimeCalculator.calculate(ins[i], outs[i], starts[i], finals[i], tolerances[i]))));
+        }
+    }
+
+    private static long minute(String dateTime) {
+        return WorkedTimeCalculator.toEpochMinute(LocalDateTime.parse(dateTime));
+    }
+}
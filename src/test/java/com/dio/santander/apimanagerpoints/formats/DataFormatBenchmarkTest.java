@@ -0,0 +1,119 @@
+package com.dio.santander.apimanagerpoints.formats;
+
+import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.builders.UserDTOBuilder;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserDTO;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("benchmark")
+public class DataFormatBenchmarkTest {
+    private static final int ROWS = 5000;
+    private static final int WARM_UP = 20;
+    private static final int ITERATIONS = 50;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Test
+    void compareFormatsForMovements() throws IOException {
+        LocalDateTime start = LocalDateTime.parse("2021-01-01T08:00:00");
+        List<MovementDTO> rows = LongStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> {
+                    MovementPK id = new MovementPK();
+                    id.setMovementId(i);
+                    id.setUserId(i % 50 + 1);
+                    return MovementDTOBuilder.builder()
+                            .id(id)
+                            .dateOfIn(start.plusHours(i).toString())
+                            .dateOfOut(start.plusHours(i + 9).toString())
+                            .period(BigDecimal.valueOf(i % 900, 2))
+                            .build()
+                            .toMovementDTO();
+                })
+                .collect(Collectors.toList());
+
+        compare("MovementDTO", rows, json.getTypeFactory().constructCollectionType(List.class, MovementDTO.class));
+    }
+
+    @Test
+    void compareFormatsForUsers() throws IOException {
+        List<UserDTO> rows = LongStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> UserDTOBuilder.builder()
+                        .id(i)
+                        .name("User name " + i)
+                        .tolerance(BigDecimal.valueOf(i % 1000, 2))
+                        .build()
+                        .toUserDTO())
+                .collect(Collectors.toList());
+
+        compare("UserDTO", rows, json.getTypeFactory().constructCollectionType(List.class, UserDTO.class));
+    }
+
+    private void compare(String type, List<?> rows, JavaType listType) throws IOException {
+        Result jsonResult = measure(json, rows, listType);
+        Result cborResult = measure(cbor, rows, listType);
+        Result smileResult = measure(smile, rows, listType);
+
+        System.out.printf("%s (%d rows)%n", type, rows.size());
+        report("json", jsonResult, jsonResult);
+        report("cbor", cborResult, jsonResult);
+        report("smile", smileResult, jsonResult);
+        assertThat(cborResult.bytes, is(lessThan(jsonResult.bytes)));
+        assertThat(smileResult.bytes, is(lessThan(jsonResult.bytes)));
+    }
+
+    private static Result measure(ObjectMapper mapper, List<?> rows, JavaType listType) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(rows);
+        assertThat(mapper.readValue(payload, listType), is(equalTo(rows)));
+        for (int i = 0; i < WARM_UP; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(rows), listType);
+        }
+        long writing = 0;
+        long reading = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startedAt = System.nanoTime();
+            payload = mapper.writeValueAsBytes(rows);
+            long writtenAt = System.nanoTime();
+            mapper.readValue(payload, listType);
+            reading += System.nanoTime() - writtenAt;
+            writing += writtenAt - startedAt;
+        }
+        return new Result(payload.length, writing / ITERATIONS, reading / ITERATIONS);
+    }
+
+    private static void report(String format, Result result, Result baseline) {
+        System.out.printf("  %-5s %7d KiB (%3d%%), write %.2f ms, read %.2f ms%n",
+                format, result.bytes / 1024, result.bytes * 100 / baseline.bytes,
+                result.writeNanos / 1_000_000.0, result.readNanos / 1_000_000.0);
+    }
+
+    private static final class Result {
+        private final long bytes;
+        private final long writeNanos;
+        private final long readNanos;
+
+        private Result(long bytes, long writeNanos, long readNanos) {
+            this.bytes = bytes;
+            this.writeNanos = writeNanos;
+            this.readNanos = readNanos;
+        }
+    }
+}
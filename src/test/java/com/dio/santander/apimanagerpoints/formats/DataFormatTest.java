@@ -0,0 +1,67 @@
+package com.dio.santander.apimanagerpoints.formats;
+
+import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class DataFormatTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void whenNoAcceptHeaderIsGivenThenJsonShouldBeNegotiated() {
+        assertThat(DataFormat.negotiate(null), is(equalTo(DataFormat.JSON)));
+        assertThat(DataFormat.negotiate("*/*"), is(equalTo(DataFormat.JSON)));
+        assertThat(DataFormat.negotiate("text/csv"), is(equalTo(DataFormat.JSON)));
+        assertThat(DataFormat.negotiate("not a media type"), is(equalTo(DataFormat.JSON)));
+    }
+
+    @Test
+    void whenABinaryFormatIsPreferredThenItShouldBeNegotiated() {
+        assertThat(DataFormat.negotiate("application/cbor"), is(equalTo(DataFormat.CBOR)));
+        assertThat(DataFormat.negotiate("application/json;q=0.5, application/x-jackson-smile"),
+                is(equalTo(DataFormat.SMILE)));
+        assertThat(DataFormat.negotiate("application/cbor;q=0.2, application/json"), is(equalTo(DataFormat.JSON)));
+    }
+
+    @Test
+    void whenARowIsWrittenAsCborThenItShouldBeReadBackUnchanged() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        try (JsonGenerator generator = DataFormat.CBOR.createGenerator(objectMapper, out)) {
+            objectMapper.writeValue(generator, movementDTO);
+        }
+
+        // then
+        MovementDTO read = new ObjectMapper(new CBORFactory()).readValue(out.toByteArray(), MovementDTO.class);
+        assertThat(read, is(equalTo(movementDTO)));
+    }
+
+    @Test
+    void whenARowIsWrittenAsSmileThenItShouldBeReadBackUnchanged() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        try (JsonGenerator generator = DataFormat.SMILE.createGenerator(objectMapper, out)) {
+            objectMapper.writeValue(generator, movementDTO);
+        }
+
+        // then
+        MovementDTO read = new ObjectMapper(new SmileFactory()).readValue(out.toByteArray(), MovementDTO.class);
+        assertThat(read, is(equalTo(movementDTO)));
+    }
+}
@@ -0,0 +1,173 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.mappers.MovementMapper;
+import com.dio.santander.apimanagerpoints.models.Calendar;
+import com.dio.santander.apimanagerpoints.models.DateType;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.Occurrence;
+import com.dio.santander.apimanagerpoints.models.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class MovementRepositoryTest {
+    private static final int MOVEMENTS = 30;
+    private static final int PAGE_SIZE = 24;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    private final MovementMapper movementMapper = MovementMapper.INSTANCE;
+
+    @BeforeEach
+    void setUp() {
+        DateType dateType = entityManager.persist(DateType.builder().id(1L).description("Feriado").build());
+        for (long i = 1; i <= 3; i++) {
+            entityManager.persist(User.builder().id(i).name("User " + i).build());
+        }
+        for (long i = 1; i <= MOVEMENTS; i++) {
+            Occurrence occurrence = entityManager.persist(
+                    Occurrence.builder().id(i).name("Occurrence " + i).description("Occurrence " + i).build());
+            Calendar calendar = entityManager.persist(Calendar.builder()
+                    .id(i)
+                    .dateType(dateType)
+                    .description("Calendar " + i)
+                    .specialDate(LocalDateTime.parse("2021-07-01T00:00:00").plusDays(i))
+                    .build());
+            Movement movement = new Movement();
+            movement.getId().setMovementId(i);
+            movement.getId().setUserId(i % 3 + 1);
+            movement.setDateOfIn(LocalDateTime.parse("2021-07-01T08:00:00").plusDays(i));
+            movement.setDateOfOut(LocalDateTime.parse("2021-07-01T17:00:00").plusDays(i));
+            movement.setOccurrence(occurrence);
+            movement.setCalendar(calendar);
+            entityManager.persist(movement);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        statistics().clear();
+    }
+
+    @Test
+    void whenAPageOfMovementsIsMappedThenOnlyTheContentAndCountQueriesShouldRun() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE);
+
+        // when
+        List<MovementDTO> page = movementRepository.findAll(pageRequest).map(movementMapper::toDto).getContent();
+
+        // then
+        assertThat(page, hasSize(PAGE_SIZE));
+        assertThat(page.get(0).getCalendar().getDateType().getDescription(), is(equalTo("Feriado")));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    void whenAUserRangeIsMappedThenASingleQueryShouldRun() {
+        // when
+        List<MovementDTO> range = movementRepository.findByUserBetween(1L,
+                LocalDateTime.parse("2021-07-01T00:00:00"), LocalDateTime.parse("2021-08-01T00:00:00")).stream()
+                .map(movementMapper::toDto)
+                .collect(Collectors.toList());
+
+        // then
+        assertThat(range, hasSize(MOVEMENTS / 3));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    void whenAPageIsProjectedThenItShouldMatchTheMappedEntitiesInASingleQueryPlusCount() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, Sort.by("id.movementId"));
+        List<MovementDTO> mapped = movementRepository.findAll(pageRequest).map(movementMapper::toDto).getContent();
+        entityManager.clear();
+        statistics().clear();
+
+        // when
+        List<MovementDTO> projected = movementRepository.findPageProjected(pageRequest).getContent();
+
+        // then
+        assertThat(projected, is(equalTo(mapped)));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(2L)));
+        assertThat(statistics().getEntityLoadCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenAllMovementsAreStreamedThenNoEntityShouldEnterThePersistenceContext() {
+        // when
+        long streamed;
+        try (Stream<MovementDTO> rows = movementRepository.streamAllProjected()) {
+            streamed = rows.count();
+        }
+
+        // then
+        assertThat(streamed, is(equalTo((long) MOVEMENTS)));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(1L)));
+        assertThat(statistics().getEntityLoadCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenMovementReferencesAreStreamedThenOnlyTheIdsOfTheNestedObjectsShouldBeRead() {
+        // when
+        List<MovementDTO> rows;
+        try (Stream<MovementDTO> stream = movementRepository.streamAllReferences()) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(rows, hasSize(MOVEMENTS));
+        MovementDTO first = rows.stream()
+                .filter(row -> row.getId().getMovementId() == 1L)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertThat(first.getOccurrence().getId(), is(equalTo(1L)));
+        assertThat(first.getOccurrence().getName(), is(nullValue()));
+        assertThat(first.getCalendar().getId(), is(equalTo(1L)));
+        assertThat(first.getCalendar().getDateType(), is(nullValue()));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(1L)));
+        assertThat(statistics().getEntityLoadCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenASliceIsProjectedThenNoCountQueryShouldRun() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, Sort.by("id.movementId"));
+
+        // when
+        Slice<MovementDTO> first = movementRepository.findSliceProjected(pageRequest);
+        Slice<MovementDTO> second = movementRepository.findSliceProjected(pageRequest.next());
+
+        // then
+        assertThat(first.getContent(), hasSize(PAGE_SIZE));
+        assertThat(first.hasNext(), is(true));
+        assertThat(second.getContent(), hasSize(MOVEMENTS - PAGE_SIZE));
+        assertThat(second.hasNext(), is(false));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(2L)));
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+}
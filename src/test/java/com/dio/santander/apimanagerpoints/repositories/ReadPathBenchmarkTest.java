@@ -0,0 +1,140 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.mappers.MovementMapper;
+import com.dio.santander.apimanagerpoints.models.Calendar;
+import com.dio.santander.apimanagerpoints.models.DateType;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.Occurrence;
+import com.dio.santander.apimanagerpoints.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("benchmark")
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.format_sql=false"})
+public class ReadPathBenchmarkTest {
+    private static final int MOVEMENTS = 5000;
+    private static final int PAGE_SIZE = 500;
+    private static final int WARM_UP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MovementRepository movementRepository;
+
+    private final MovementMapper movementMapper = MovementMapper.INSTANCE;
+
+    @BeforeEach
+    void setUp() {
+        DateType dateType = entityManager.persist(DateType.builder().id(1L).description("Feriado").build());
+        Occurrence occurrence = entityManager.persist(
+                Occurrence.builder().id(1L).name("Normal").description("Expediente normal").build());
+        Calendar calendar = entityManager.persist(Calendar.builder()
+                .id(1L)
+                .dateType(dateType)
+                .description("Calendário")
+                .specialDate(LocalDateTime.parse("2021-07-01T00:00:00"))
+                .build());
+        for (long i = 1; i <= 50; i++) {
+            entityManager.persist(User.builder().id(i).name("User " + i).build());
+        }
+        for (long i = 1; i <= MOVEMENTS; i++) {
+            Movement movement = new Movement();
+            movement.getId().setMovementId(i);
+            movement.getId().setUserId(i % 50 + 1);
+            movement.setDateOfIn(LocalDateTime.parse("2021-01-01T08:00:00").plusHours(i));
+            movement.setDateOfOut(LocalDateTime.parse("2021-01-01T17:00:00").plusHours(i));
+            movement.setOccurrence(occurrence);
+            movement.setCalendar(calendar);
+            entityManager.persist(movement);
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void compareEntityAndProjectionPathsForAPage() {
+        PageRequest pageRequest = PageRequest.of(1, PAGE_SIZE, Sort.by("id.movementId"));
+
+        Result entities = measure(() -> movementRepository.findAll(pageRequest).map(movementMapper::toDto).getContent());
+        Result projections = measure(() -> movementRepository.findPageProjected(pageRequest).getContent());
+
+        report("findPage", entities, projections);
+        assertThat(projections.rows, is(equalTo(entities.rows)));
+    }
+
+    @Test
+    void compareEntityAndProjectionPathsForAUserRange() {
+        LocalDateTime from = LocalDateTime.parse("2021-01-01T00:00:00");
+        LocalDateTime to = LocalDateTime.parse("2022-01-01T00:00:00");
+
+        Result entities = measure(() -> movementRepository.findByUserBetween(1L, from, to).stream()
+                .map(movementMapper::toDto)
+                .collect(Collectors.toList()));
+        Result projections = measure(() -> movementRepository.findProjectedByUserBetween(1L, from, to));
+
+        report("findByUserBetween", entities, projections);
+        assertThat(projections.rows, is(equalTo(entities.rows)));
+    }
+
+    private Result measure(Supplier<List<MovementDTO>> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int rows = 0;
+        for (int i = 0; i < WARM_UP; i++) {
+            rows = read.get().size();
+            entityManager.clear();
+        }
+        long allocated = 0;
+        long elapsed = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            long startedAt = System.nanoTime();
+            rows = read.get().size();
+            elapsed += System.nanoTime() - startedAt;
+            allocated += threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+            entityManager.clear();
+        }
+        return new Result(rows, elapsed / ITERATIONS, allocated / ITERATIONS);
+    }
+
+    private static void report(String read, Result entities, Result projections) {
+        System.out.printf("%s (%d rows): entity+mapper %.2f ms / %d KiB, projection %.2f ms / %d KiB%n",
+                read, entities.rows,
+                entities.nanos / 1_000_000.0, entities.bytes / 1024,
+                projections.nanos / 1_000_000.0, projections.bytes / 1024);
+    }
+
+    private static final class Result {
+        private final int rows;
+        private final long nanos;
+        private final long bytes;
+
+        private Result(int rows, long nanos, long bytes) {
+            this.rows = rows;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.dtos.UserDTO;
+import com.dio.santander.apimanagerpoints.dtos.UserVersionDTO;
+import com.dio.santander.apimanagerpoints.dtos.VersionSummaryDTO;
+import com.dio.santander.apimanagerpoints.mappers.UserMapper;
+import com.dio.santander.apimanagerpoints.models.AccessLevel;
+import com.dio.santander.apimanagerpoints.models.Company;
+import com.dio.santander.apimanagerpoints.models.User;
+import com.dio.santander.apimanagerpoints.models.UserCategory;
+import com.dio.santander.apimanagerpoints.models.WorkDay;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class UserRepositoryTest {
+    private static final int USERS = 30;
+    private static final int PAGE_SIZE = 24;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final UserMapper userMapper = UserMapper.INSTANCE;
+
+    @BeforeEach
+    void setUp() {
+        for (long i = 1; i <= USERS; i++) {
+            entityManager.persist(User.builder()
+                    .id(i)
+                    .name("User " + i)
+                    .tolerance(BigDecimal.valueOf(5))
+                    .userCategory(entityManager.persist(UserCategory.builder().id(i).description("Category " + i).build()))
+                    .company(entityManager.persist(Company.builder().id(i).description("Company " + i).build()))
+                    .accessLevel(entityManager.persist(AccessLevel.builder().id(i).description("Level " + i).build()))
+                    .workDay(entityManager.persist(WorkDay.builder().id(i).description("Work day " + i).build()))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        statistics().clear();
+    }
+
+    @Test
+    void whenAPageOfUsersIsMappedThenOnlyTheContentAndCountQueriesShouldRun() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+
+        // when
+        List<UserDTO> page = userRepository.findAll(pageRequest).map(userMapper::toDto).getContent();
+
+        // then
+        assertThat(page, hasSize(PAGE_SIZE));
+        assertThat(page.get(0).getCompany().getDescription(), is(equalTo("Company 1")));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    void whenAUserIsFoundByIdThenItsAssociationsShouldComeInTheSameQuery() {
+        // when
+        UserDTO user = userRepository.findById(7L).map(userMapper::toDto).orElse(null);
+
+        // then
+        assertThat(user, is(notNullValue()));
+        assertThat(user.getWorkDay().getDescription(), is(equalTo("Work day 7")));
+        assertThat(statistics().getPrepareStatementCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    void whenAPageIsProjectedThenItShouldMatchTheMappedEntitiesWithoutLoadingEntities() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        List<UserDTO> mapped = userRepository.findAll(pageRequest).map(userMapper::toDto).getContent();
+        entityManager.clear();
+        statistics().clear();
+
+        // when
+        List<UserDTO> projected = userRepository.findPageProjected(pageRequest).getContent();
+
+        // then
+        assertThat(projected, is(equalTo(mapped)));
+        assertThat(statistics().getEntityLoadCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenACompanyOfAUserChangesThenTheUserVersionsShouldChange() {
+        // given
+        UserVersionDTO before = userRepository.findVersionById(7L).orElse(null);
+
+        // when
+        entityManager.find(Company.class, 7L).setDescription("Company 7 renamed");
+        entityManager.flush();
+        UserVersionDTO after = userRepository.findVersionById(7L).orElse(null);
+
+        // then
+        assertThat(after, is(notNullValue()));
+        assertThat(after.getVersion(), is(equalTo(before.getVersion())));
+        assertThat(after.getCompanyVersion(), is(equalTo(before.getCompanyVersion() + 1)));
+    }
+
+    @Test
+    void whenAWorkDayOfAUserChangesThenTheVersionSummaryShouldChangeWithoutLoadingUsers() {
+        // given
+        VersionSummaryDTO before = userRepository.findVersionSummary();
+
+        // when
+        entityManager.find(WorkDay.class, 3L).setDescription("Work day 3 renamed");
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+        VersionSummaryDTO after = userRepository.findVersionSummary();
+
+        // then
+        assertThat(after.getCount(), is(equalTo((long) USERS)));
+        assertThat(after.getChecksum(), is(not(equalTo(before.getChecksum()))));
+        assertThat(statistics().getEntityLoadCount(), is(equalTo(0L)));
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,51 @@
+package com.dio.santander.apimanagerpoints.repositories;
+
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDaily;
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDailyPK;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@DataJpaTest
+public class WorkedHoursDailyRepositoryTest {
+    private static final long USER_ID = 1L;
+    private static final LocalDate DAY = LocalDate.parse("2021-07-05");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private WorkedHoursDailyRepository workedHoursDailyRepository;
+
+    @Test
+    void whenTheDayHasNoRollupYetThenAddToShouldInsertIt() {
+        // when
+        workedHoursDailyRepository.addTo(USER_ID, DAY, 510, 5, 0, 1);
+        entityManager.clear();
+
+        // then
+        assertThat(workedHoursDailyRepository.findById(new WorkedHoursDailyPK(USER_ID, DAY)).orElse(null),
+                is(equalTo(new WorkedHoursDaily(new WorkedHoursDailyPK(USER_ID, DAY), 510, 5, 0, 1))));
+    }
+
+    @Test
+    void whenTheDayAlreadyHasARollupThenAddToShouldAccumulateIntoIt() {
+        // given
+        workedHoursDailyRepository.addTo(USER_ID, DAY, 510, 5, 0, 1);
+
+        // when
+        workedHoursDailyRepository.addTo(USER_ID, DAY, 480, 0, 10, 1);
+        entityManager.clear();
+
+        // then
+        assertThat(workedHoursDailyRepository.findById(new WorkedHoursDailyPK(USER_ID, DAY)).orElse(null),
+                is(equalTo(new WorkedHoursDaily(new WorkedHoursDailyPK(USER_ID, DAY), 990, 5, 10, 2))));
+    }
+}
@@ -2,6 +2,7 @@ package com.dio.santander.apimanagerpoints.services;
 
 import com.dio.santander.apimanagerpoints.builders.AccessLevelDTOBuilder;
 import com.dio.santander.apimanagerpoints.dtos.AccessLevelDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
 import com.dio.santander.apimanagerpoints.mappers.AccessLevelMapper;
 import com.dio.santander.apimanagerpoints.models.AccessLevel;
 import com.dio.santander.apimanagerpoints.repositories.AccessLevelRepository;
@@ -12,6 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +24,8 @@ import java.util.Optional;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +36,9 @@ public class AccessLevelServiceTest {
     @Mock
     private AccessLevelRepository accessLevelRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private AccessLevelMapper accessLevelMapper = AccessLevelMapper.INSTANCE;
 
     @InjectMocks
@@ -49,6 +58,7 @@ public class AccessLevelServiceTest {
         AccessLevelDTO createAccessLevelDTO = accessLevelService.insert(expectedAccessLevelDTO);
 
         assertThat(createAccessLevelDTO,  is(equalTo(expectedAccessLevelDTO)));
+        verify(rowCountCache, times(1)).invalidate(AccessLevel.class);
     }
 
     @Test
@@ -99,7 +109,7 @@ public class AccessLevelServiceTest {
         when(accessLevelRepository.save(expectedAccessLevel)).thenReturn(expectedAccessLevel);
 
         // then
-        AccessLevelDTO updateAccessLevelDTO = accessLevelService.update(expectedAccessLevelDTO);
+        AccessLevelDTO updateAccessLevelDTO = accessLevelService.update(expectedAccessLevelDTO, null);
 
         assertThat(updateAccessLevelDTO, is(equalTo(expectedAccessLevelDTO)));
     }
@@ -113,7 +123,7 @@ public class AccessLevelServiceTest {
         when(accessLevelRepository.findById(VALID_ACCESS_LEVEL_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> accessLevelService.update(expectedAccessDTO));
+        assertThrows(ObjectNotFoundException.class, () -> accessLevelService.update(expectedAccessDTO, null));
     }
 
     @Test
@@ -151,13 +161,13 @@ public class AccessLevelServiceTest {
 
         // when
         when(accessLevelRepository.findById(VALID_ACCESS_LEVEL_ID)).thenReturn(Optional.of(expectedAccessLevel));
-        doNothing().when(accessLevelRepository).deleteById(VALID_ACCESS_LEVEL_ID);
+        doNothing().when(accessLevelRepository).delete(expectedAccessLevel);
 
         // then
-        accessLevelService.delete(VALID_ACCESS_LEVEL_ID);
+        accessLevelService.delete(VALID_ACCESS_LEVEL_ID, null);
 
         verify(accessLevelRepository, times(1)).findById(VALID_ACCESS_LEVEL_ID);
-        verify(accessLevelRepository, times(1)).deleteById(VALID_ACCESS_LEVEL_ID);
+        verify(accessLevelRepository, times(1)).delete(expectedAccessLevel);
     }
 
     @Test
@@ -166,6 +176,43 @@ public class AccessLevelServiceTest {
         when(accessLevelRepository.findById(INVALID_ACCESS_LEVEL_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> accessLevelService.delete(INVALID_ACCESS_LEVEL_ID));
+        assertThrows(ObjectNotFoundException.class, () -> accessLevelService.delete(INVALID_ACCESS_LEVEL_ID, null));
+    }
+
+    @Test
+    void whenSliceIsCalledThenTheNextPageShouldBeDetectedWithoutCounting() {
+        // given
+        AccessLevelDTO expectedAccessLevelDTO = AccessLevelDTOBuilder.builder().build().toAccessLevelDTO();
+        PageRequest pageRequest = PageRequest.of(0, 1, Sort.Direction.ASC, "description");
+
+        // when
+        when(accessLevelRepository.findSliceBy(pageRequest)).thenReturn(new SliceImpl<>(
+                Collections.singletonList(accessLevelMapper.toModel(expectedAccessLevelDTO)), pageRequest, true));
+
+        // then
+        SliceDTO<AccessLevelDTO> slice = accessLevelService.findSlice(0, 1, "description", "ASC", false);
+
+        assertThat(slice.getContent(), contains(expectedAccessLevelDTO));
+        assertThat(slice.isLast(), is(false));
+        assertThat(slice.getTotalElements(), is(nullValue()));
+        verifyNoInteractions(rowCountCache);
+        verify(accessLevelRepository, never()).count();
+    }
+
+    @Test
+    void whenSliceIsCalledWithTotalThenTheCachedCountShouldBeReturned() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, 24, Sort.Direction.ASC, "description");
+
+        // when
+        when(accessLevelRepository.findSliceBy(pageRequest))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageRequest, false));
+        when(rowCountCache.count(eq(AccessLevel.class), any())).thenReturn(42L);
+
+        // then
+        SliceDTO<AccessLevelDTO> slice = accessLevelService.findSlice(0, 24, "description", "ASC", true);
+
+        assertThat(slice.isLast(), is(true));
+        assertThat(slice.getTotalElements(), is(equalTo(42L)));
     }
 }
@@ -0,0 +1,170 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.BalanceRecomputationJobDTO;
+import com.dio.santander.apimanagerpoints.dtos.RecomputationStatus;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.User;
+import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
+import com.dio.santander.apimanagerpoints.repositories.UserRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceRecomputationServiceTest {
+    private static final Long VALID_COMPANY_ID = 1L;
+    private static final LocalDate FROM = LocalDate.parse("2021-07-01");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    @Mock
+    private MovementCalculationService movementCalculationService;
+
+    @Mock
+    private BankOfHourLedgerService bankOfHourLedgerService;
+
+    @Mock
+    private WorkedHoursService workedHoursService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceRecomputationService balanceRecomputationService;
+
+    @AfterEach
+    void tearDown() {
+        balanceRecomputationService.stop();
+    }
+
+    @Test
+    void whenJobIsStartedThenEveryUserOfTheCompanyShouldBeRecomputed() throws Exception {
+        // given
+        balanceRecomputationService = newService(2, 1);
+        User first = User.builder().id(1L).build();
+        User second = User.builder().id(2L).build();
+        Movement movement = new Movement();
+
+        // when
+        when(userRepository.findCompanyAndUserIds(VALID_COMPANY_ID))
+                .thenReturn(Arrays.asList(new Object[]{VALID_COMPANY_ID, 1L}, new Object[]{VALID_COMPANY_ID, 2L}));
+        when(userRepository.findAllById(Collections.singletonList(1L))).thenReturn(Collections.singletonList(first));
+        when(userRepository.findAllById(Collections.singletonList(2L))).thenReturn(Collections.singletonList(second));
+        when(movementRepository.findByUserFrom(1L, FROM.atStartOfDay())).thenReturn(Collections.singletonList(movement));
+
+        // then
+        BalanceRecomputationJobDTO job = balanceRecomputationService.start(VALID_COMPANY_ID, FROM);
+        BalanceRecomputationJobDTO finished = awaitFinished(job.getId());
+
+        assertThat(finished.getStatus(), is(equalTo(RecomputationStatus.COMPLETED)));
+        assertThat(finished.getTotalUsers(), is(equalTo(2)));
+        assertThat(finished.getProcessedUsers(), is(equalTo(2)));
+        verify(movementCalculationService).applyAll(Collections.singletonList(movement), first);
+        verify(bankOfHourLedgerService).recomputeFrom(1L, FROM.atStartOfDay());
+        verify(bankOfHourLedgerService).recomputeFrom(2L, FROM.atStartOfDay());
+        verify(bankOfHourLedgerService).lock(1L);
+        verify(bankOfHourLedgerService).lock(2L);
+        verify(workedHoursService).rebuild(1L, FROM, Collections.singletonList(movement));
+    }
+
+    @Test
+    void whenJobIsCancelledThenRemainingUsersShouldBeSkipped() throws Exception {
+        // given
+        balanceRecomputationService = newService(1, 1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        // when
+        when(userRepository.findCompanyAndUserIds())
+                .thenReturn(Arrays.asList(new Object[]{VALID_COMPANY_ID, 1L}, new Object[]{VALID_COMPANY_ID, 2L}));
+        lenient().when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            cancelled.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+
+        // then
+        BalanceRecomputationJobDTO job = balanceRecomputationService.start(null, null);
+        balanceRecomputationService.cancel(job.getId());
+        cancelled.countDown();
+        BalanceRecomputationJobDTO finished = awaitFinished(job.getId());
+
+        assertThat(finished.getStatus(), is(equalTo(RecomputationStatus.CANCELLED)));
+        assertThat(finished.getProcessedUsers(), is(equalTo(0)));
+        verifyNoInteractions(bankOfHourLedgerService);
+    }
+
+    @Test
+    void whenJobDoesNotExistThenAnExceptionShouldBeThrown() {
+        // given
+        balanceRecomputationService = newService(1, 1);
+
+        // then
+        assertThrows(ObjectNotFoundException.class, () -> balanceRecomputationService.find("unknown"));
+    }
+
+    @Test
+    void whenJobIsFinishedForLongerThanTheRetentionThenItShouldBeEvicted() throws Exception {
+        // given
+        balanceRecomputationService = newService(1, 1, 0);
+
+        // when
+        when(userRepository.findCompanyAndUserIds()).thenReturn(Collections.emptyList());
+        BalanceRecomputationJobDTO job = balanceRecomputationService.start(null, null);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (isRetained(job.getId()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // then
+        assertThrows(ObjectNotFoundException.class, () -> balanceRecomputationService.find(job.getId()));
+    }
+
+    private BalanceRecomputationService newService(int parallelism, int usersPerTask) {
+        return newService(parallelism, usersPerTask, 60);
+    }
+
+    private BalanceRecomputationService newService(int parallelism, int usersPerTask, long jobRetentionMinutes) {
+        return new BalanceRecomputationService(userRepository, movementRepository, movementCalculationService,
+                bankOfHourLedgerService, workedHoursService, transactionManager, parallelism, usersPerTask,
+                jobRetentionMinutes);
+    }
+
+    private boolean isRetained(String id) {
+        try {
+            balanceRecomputationService.find(id);
+            return true;
+        } catch (ObjectNotFoundException e) {
+            return false;
+        }
+    }
+
+    private BalanceRecomputationJobDTO awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BalanceRecomputationJobDTO job = balanceRecomputationService.find(id);
+        while (job.getStatus() == RecomputationStatus.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = balanceRecomputationService.find(id);
+        }
+        return job;
+    }
+}
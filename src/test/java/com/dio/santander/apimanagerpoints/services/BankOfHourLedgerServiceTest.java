@@ -0,0 +1,118 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.models.BankOfHour;
+import com.dio.santander.apimanagerpoints.models.BankOfHourCheckpoint;
+import com.dio.santander.apimanagerpoints.models.BankOfHourCheckpointPK;
+import com.dio.santander.apimanagerpoints.models.BankOfHourPK;
+import com.dio.santander.apimanagerpoints.repositories.BankOfHourCheckpointRepository;
+import com.dio.santander.apimanagerpoints.repositories.BankOfHourRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BankOfHourLedgerServiceTest {
+    private static final long VALID_USER_ID = 1L;
+
+    @Mock
+    private BankOfHourRepository bankOfHourRepository;
+
+    @Mock
+    private BankOfHourCheckpointRepository bankOfHourCheckpointRepository;
+
+    @InjectMocks
+    private BankOfHourLedgerService bankOfHourLedgerService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenABackdatedEntryIsRecordedThenOnlyTheSuffixShouldBeRecomputed() {
+        // given
+        LocalDateTime from = LocalDateTime.parse("2021-07-10T08:00:00");
+        BankOfHour previous = entry(1L, "2021-07-02T08:00:00", "2.00", "10.00");
+        BankOfHour backdated = entry(5L, "2021-07-10T08:00:00", "1.50", null);
+        BankOfHour july = entry(2L, "2021-07-20T08:00:00", "-0.50", "11.50");
+        BankOfHour august = entry(3L, "2021-08-03T08:00:00", "3.00", "14.50");
+
+        // when
+        when(bankOfHourRepository.findLedgerPrefix(eq(VALID_USER_ID), eq(from), any()))
+                .thenReturn(Collections.singletonList(previous));
+        when(bankOfHourRepository.findLedgerSuffix(VALID_USER_ID, from))
+                .thenReturn(Arrays.asList(backdated, july, august));
+
+        // then
+        Map<BankOfHourPK, BigDecimal> balances = bankOfHourLedgerService.recomputeFrom(VALID_USER_ID, from);
+
+        assertThat(balances.get(backdated.getId()), is(comparesEqualTo(new BigDecimal("11.50"))));
+        assertThat(july.getBalanceOfHour(), is(comparesEqualTo(new BigDecimal("11.00"))));
+        assertThat(august.getBalanceOfHour(), is(comparesEqualTo(new BigDecimal("14.00"))));
+        assertThat(previous.getBalanceOfHour(), is(comparesEqualTo(new BigDecimal("10.00"))));
+
+        ArgumentCaptor<List<BankOfHourCheckpoint>> checkpoints = ArgumentCaptor.forClass(List.class);
+        verify(bankOfHourCheckpointRepository).deleteFrom(VALID_USER_ID, 202107);
+        verify(bankOfHourCheckpointRepository).persistAll(checkpoints.capture());
+        assertThat(checkpoints.getValue(), contains(
+                new BankOfHourCheckpoint(new BankOfHourCheckpointPK(VALID_USER_ID, 202107), new BigDecimal("11.00")),
+                new BankOfHourCheckpoint(new BankOfHourCheckpointPK(VALID_USER_ID, 202108), new BigDecimal("14.00"))));
+    }
+
+    @Test
+    void whenBalanceIsQueriedThenTheLastCheckpointPlusTheDeltaShouldBeReturned() {
+        // given
+        LocalDateTime at = LocalDateTime.parse("2021-09-15T12:00:00");
+        BankOfHourCheckpoint checkpoint = new BankOfHourCheckpoint(
+                new BankOfHourCheckpointPK(VALID_USER_ID, 202108), new BigDecimal("14.00"));
+
+        // when
+        when(bankOfHourCheckpointRepository.findPrevious(eq(VALID_USER_ID), eq(202109), any()))
+                .thenReturn(Collections.singletonList(checkpoint));
+        when(bankOfHourRepository.sumAmountOfHour(VALID_USER_ID, LocalDateTime.parse("2021-09-01T00:00:00"), at))
+                .thenReturn(new BigDecimal("2.25"));
+
+        // then
+        BigDecimal balance = bankOfHourLedgerService.balanceAt(VALID_USER_ID, at);
+
+        assertThat(balance, is(comparesEqualTo(new BigDecimal("16.25"))));
+        verify(bankOfHourRepository, never()).sumAmountOfHourUntil(VALID_USER_ID, at);
+    }
+
+    @Test
+    void whenThereIsNoCheckpointThenTheWholeHistoryShouldBeSummed() {
+        // given
+        LocalDateTime at = LocalDateTime.parse("2021-07-15T12:00:00");
+
+        // when
+        when(bankOfHourCheckpointRepository.findPrevious(eq(VALID_USER_ID), eq(202107), any()))
+                .thenReturn(Collections.emptyList());
+        when(bankOfHourRepository.sumAmountOfHourUntil(VALID_USER_ID, at)).thenReturn(new BigDecimal("3.50"));
+
+        // then
+        BigDecimal balance = bankOfHourLedgerService.balanceAt(VALID_USER_ID, at);
+
+        assertThat(balance, is(comparesEqualTo(new BigDecimal("3.50"))));
+    }
+
+    private static BankOfHour entry(long bankOfHourId, String dateWorked, String amountOfHour, String balanceOfHour) {
+        BankOfHour entry = new BankOfHour();
+        entry.getId().setBankOfHourId(bankOfHourId);
+        entry.getId().setUserId(VALID_USER_ID);
+        entry.setDateWorked(LocalDateTime.parse(dateWorked));
+        entry.setAmountOfHour(new BigDecimal(amountOfHour));
+        entry.setBalanceOfHour(balanceOfHour == null ? null : new BigDecimal(balanceOfHour));
+        return entry;
+    }
+}
@@ -2,9 +2,11 @@ package com.dio.santander.apimanagerpoints.services;
 
 import com.dio.santander.apimanagerpoints.builders.BankOfHourDTOBuilder;
 import com.dio.santander.apimanagerpoints.dtos.BankOfHourDTO;
+import com.dio.santander.apimanagerpoints.dtos.KeysetPageDTO;
 import com.dio.santander.apimanagerpoints.mappers.BankOfHourMapper;
 import com.dio.santander.apimanagerpoints.models.BankOfHour;
 import com.dio.santander.apimanagerpoints.repositories.BankOfHourRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -12,17 +14,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class BankOfHourServiceTest {
+    private static final String IDEMPOTENCY_KEY = "9f1c2f4e-punch-retry";
     private static final Long VALID_BANK_OF_HOUR_ID = 1L;
     private static final Long VALID_MOVEMENT_ID = 1L;
     private static final Long VALID_USER_ID = 1L;
@@ -33,6 +43,18 @@ public class BankOfHourServiceTest {
     @Mock
     private BankOfHourRepository bankOfHourRepository;
 
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private BankOfHourLedgerService bankOfHourLedgerService;
+
+    @Mock
+    private RowCountCache rowCountCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private BankOfHourMapper bankOfHourMapper = BankOfHourMapper.INSTANCE;
 
     @InjectMocks
@@ -45,8 +67,7 @@ public class BankOfHourServiceTest {
         BankOfHour expectedBankOfHour = bankOfHourMapper.toModel(expectedBankOfHourDTO);
 
         // when
-        when(bankOfHourRepository.findByPK(VALID_BANK_OF_HOUR_ID, VALID_MOVEMENT_ID, VALID_USER_ID)).thenReturn(null);
-        when(bankOfHourRepository.save(expectedBankOfHour)).thenReturn(expectedBankOfHour);
+        when(bankOfHourRepository.persist(expectedBankOfHour)).thenReturn(expectedBankOfHour);
 
         // then
         BankOfHourDTO createBankOfHourDTO = bankOfHourService.insert(expectedBankOfHourDTO);
@@ -54,6 +75,42 @@ public class BankOfHourServiceTest {
         assertThat(createBankOfHourDTO, is(equalTo(expectedBankOfHourDTO)));
     }
 
+    @Test
+    void whenBankOfHourIsCreatedThenTheBalanceShouldComeFromTheLedger() {
+        // given
+        BankOfHourDTO bankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
+        BankOfHour bankOfHour = bankOfHourMapper.toModel(bankOfHourDTO);
+        BigDecimal ledgerBalance = new BigDecimal("4500.99");
+
+        // when
+        when(bankOfHourRepository.persist(bankOfHour)).thenReturn(bankOfHour);
+        when(bankOfHourLedgerService.recomputeFrom(VALID_USER_ID, bankOfHour.getDateWorked()))
+                .thenReturn(Collections.singletonMap(bankOfHour.getId(), ledgerBalance));
+
+        // then
+        BankOfHourDTO createBankOfHourDTO = bankOfHourService.insert(bankOfHourDTO);
+
+        assertThat(createBankOfHourDTO.getBalanceOfHour(), is(equalTo(ledgerBalance)));
+        verify(bankOfHourLedgerService, times(1)).lock(VALID_USER_ID);
+    }
+
+    @Test
+    void whenTheLedgerRecomputeFailsThenTheBankOfHourInsertShouldBeRolledBack() {
+        // given
+        BankOfHourDTO bankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
+        BankOfHour bankOfHour = bankOfHourMapper.toModel(bankOfHourDTO);
+
+        // when
+        when(bankOfHourRepository.persist(bankOfHour)).thenReturn(bankOfHour);
+        when(bankOfHourLedgerService.recomputeFrom(VALID_USER_ID, bankOfHour.getDateWorked()))
+                .thenThrow(new IllegalStateException("ledger"));
+
+        // then
+        assertThrows(IllegalStateException.class, () -> bankOfHourService.insert(bankOfHourDTO));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
     @Test
     void whenAlreadyRegisteredBankOfHourInformedThenAnExceptionShouldBeThrown() {
         // given
@@ -61,12 +118,64 @@ public class BankOfHourServiceTest {
         BankOfHour expectedBankOfHour = bankOfHourMapper.toModel(expectedBankOfHourDTO);
 
         // when
-        when(bankOfHourRepository.findByPK(VALID_BANK_OF_HOUR_ID, VALID_MOVEMENT_ID, VALID_USER_ID)).thenReturn(expectedBankOfHour);
+        when(bankOfHourRepository.persist(expectedBankOfHour)).thenThrow(DataIntegrityViolationException.class);
+        when(bankOfHourRepository.findByPK(expectedBankOfHourDTO.getId().getBankOfHourId(),
+                expectedBankOfHourDTO.getId().getMovementId(),
+                expectedBankOfHourDTO.getId().getUserId())).thenReturn(expectedBankOfHour);
 
         // then
         assertThrows(ObjectAlreadyRegisteredException.class, () -> bankOfHourService.insert(expectedBankOfHourDTO));
     }
 
+    @Test
+    void whenBankOfHourViolatesAnotherConstraintThenADataIntegrityExceptionShouldBeThrown() {
+        // given
+        BankOfHourDTO expectedBankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
+        BankOfHour expectedBankOfHour = bankOfHourMapper.toModel(expectedBankOfHourDTO);
+
+        // when
+        when(bankOfHourRepository.persist(expectedBankOfHour)).thenThrow(DataIntegrityViolationException.class);
+        when(bankOfHourRepository.findByPK(expectedBankOfHourDTO.getId().getBankOfHourId(),
+                expectedBankOfHourDTO.getId().getMovementId(),
+                expectedBankOfHourDTO.getId().getUserId())).thenReturn(null);
+
+        // then
+        assertThrows(DataIntegrityException.class, () -> bankOfHourService.insert(expectedBankOfHourDTO));
+    }
+
+    @Test
+    void whenIdempotencyKeyWasAlreadyProcessedThenTheOriginalBankOfHourShouldBeReplayed() {
+        // given
+        BankOfHourDTO expectedBankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
+
+        // when
+        when(idempotencyCache.get(anyString(), eq(IDEMPOTENCY_KEY), eq(BankOfHourDTO.class))).thenReturn(expectedBankOfHourDTO);
+
+        // then
+        BankOfHourDTO replayedBankOfHourDTO = bankOfHourService.insert(expectedBankOfHourDTO, IDEMPOTENCY_KEY);
+
+        assertThat(replayedBankOfHourDTO, is(equalTo(expectedBankOfHourDTO)));
+        verifyNoInteractions(bankOfHourRepository);
+    }
+
+    @Test
+    void whenIdempotencyKeyIsAlreadyStoredThenThePersistedBankOfHourShouldBeReplayed() {
+        // given
+        BankOfHourDTO expectedBankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
+        BankOfHour expectedBankOfHour = bankOfHourMapper.toModel(expectedBankOfHourDTO);
+        expectedBankOfHour.setIdempotencyKey(IDEMPOTENCY_KEY);
+
+        // when
+        when(bankOfHourRepository.persist(expectedBankOfHour)).thenThrow(DataIntegrityViolationException.class);
+        when(bankOfHourRepository.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(expectedBankOfHour);
+
+        // then
+        BankOfHourDTO replayedBankOfHourDTO = bankOfHourService.insert(expectedBankOfHourDTO, IDEMPOTENCY_KEY);
+
+        assertThat(replayedBankOfHourDTO, is(equalTo(expectedBankOfHourDTO)));
+        verify(idempotencyCache, times(1)).put(anyString(), eq(IDEMPOTENCY_KEY), eq(expectedBankOfHourDTO));
+    }
+
     @Test
     void whenValidBankOfHourIdIsGivenThenReturnAnBankOfHour() {
         // given
@@ -120,30 +229,23 @@ public class BankOfHourServiceTest {
     }
 
     @Test
-    void whenListBankOfHourIsCalledThenReturnAListOfBankOfHour() {
+    void whenLastSeekPageIsRequestedThenNoTokenShouldBeReturned() {
         // given
         BankOfHourDTO expectedBankOfHourDTO = BankOfHourDTOBuilder.builder().build().toBankOfHourDTO();
         BankOfHour expectedBankOfHour = bankOfHourMapper.toModel(expectedBankOfHourDTO);
+        LocalDateTime dateWorked = LocalDateTime.parse("2021-07-01T08:00:00");
+        String token = new SeekCursor(VALID_USER_ID, dateWorked, VALID_BANK_OF_HOUR_ID).encode();
 
         // when
-        when(bankOfHourRepository.findAll()).thenReturn(Collections.singletonList(expectedBankOfHour));
-
-        // then
-        List<BankOfHourDTO> listBankOfHourDTO = bankOfHourService.findAll();
-
-        assertThat(listBankOfHourDTO, is(not(empty())));
-        assertThat(listBankOfHourDTO.get(0), is(equalTo(expectedBankOfHourDTO)));
-    }
-
-    @Test
-    void whenListBankOfHourIsCalledThenReturnAnEmptyListOfBankOfHour() {
-        // when
-        when(bankOfHourRepository.findAll()).thenReturn(Collections.emptyList());
+        when(bankOfHourRepository.findSeekAfter(VALID_USER_ID, dateWorked, VALID_BANK_OF_HOUR_ID, PageRequest.of(0, 25)))
+                .thenReturn(Collections.singletonList(expectedBankOfHour));
 
         // then
-        List<BankOfHourDTO> listBankOfHourDTO = bankOfHourService.findAll();
+        KeysetPageDTO<BankOfHourDTO> page = bankOfHourService.findSeek(token, 24);
 
-        assertThat(listBankOfHourDTO, is(empty()));
+        assertThat(page.getContent(), contains(expectedBankOfHourDTO));
+        assertThat(page.isLast(), is(true));
+        assertThat(page.getNext(), is(nullValue()));
     }
 
     @Test
@@ -30,6 +30,12 @@ public class CalendarServiceTest {
     @Mock
     private CalendarRepository calendarRepository;
 
+    @Mock
+    private HolidayCalendarIndex holidayCalendarIndex;
+
+    @Mock
+    private RowCountCache rowCountCache;
+
     private CalendarMapper calendarMapper = CalendarMapper.INSTANCE;
 
     @InjectMocks
@@ -49,6 +55,7 @@ public class CalendarServiceTest {
         CalendarDTO createCalendarDTO = calendarService.insert(expectedCalendarDTO);
 
         assertThat(createCalendarDTO, is(equalTo(expectedCalendarDTO)));
+        verify(holidayCalendarIndex, times(1)).invalidate();
     }
 
     @Test
@@ -99,7 +106,7 @@ public class CalendarServiceTest {
         when(calendarRepository.save(expectedCalendar)).thenReturn(expectedCalendar);
 
         // then
-        CalendarDTO updateCalendarDTO = calendarService.update(expectedCalendarDTO);
+        CalendarDTO updateCalendarDTO = calendarService.update(expectedCalendarDTO, null);
 
         assertThat(updateCalendarDTO, is(equalTo(expectedCalendarDTO)));
     }
@@ -113,7 +120,7 @@ public class CalendarServiceTest {
         when(calendarRepository.findById(VALID_CALENDAR_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> calendarService.update(expectedCalendarDTO));
+        assertThrows(ObjectNotFoundException.class, () -> calendarService.update(expectedCalendarDTO, null));
     }
 
     @Test
@@ -151,13 +158,13 @@ public class CalendarServiceTest {
 
         //  when
         when(calendarRepository.findById(VALID_CALENDAR_ID)).thenReturn(Optional.of(expectedCalendar));
-        doNothing().when(calendarRepository).deleteById(VALID_CALENDAR_ID);
+        doNothing().when(calendarRepository).delete(expectedCalendar);
 
         // then
-        calendarService.delete(VALID_CALENDAR_ID);
+        calendarService.delete(VALID_CALENDAR_ID, null);
 
         verify(calendarRepository, times(1)).findById(VALID_CALENDAR_ID);
-        verify(calendarRepository, times(1)).deleteById(VALID_CALENDAR_ID);
+        verify(calendarRepository, times(1)).delete(expectedCalendar);
     }
 
     @Test
@@ -166,6 +173,6 @@ public class CalendarServiceTest {
         when(calendarRepository.findById(INVALID_CALENDAR_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> calendarService.delete(INVALID_CALENDAR_ID));
+        assertThrows(ObjectNotFoundException.class, () -> calendarService.delete(INVALID_CALENDAR_ID, null));
     }
 }
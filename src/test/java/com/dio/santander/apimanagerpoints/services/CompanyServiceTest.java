@@ -30,6 +30,9 @@ public class CompanyServiceTest {
     @Mock
     private CompanyRepository companyRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private CompanyMapper companyMapper = CompanyMapper.INSTANCE;
 
     @InjectMocks
@@ -99,7 +102,7 @@ public class CompanyServiceTest {
         when(companyRepository.save(expectedCompany)).thenReturn(expectedCompany);
 
         // then
-        CompanyDTO updateCompanyDTO = companyService.update(expectedCompanyDTO);
+        CompanyDTO updateCompanyDTO = companyService.update(expectedCompanyDTO, null);
 
         assertThat(updateCompanyDTO, is(equalTo(expectedCompanyDTO)));
     }
@@ -113,7 +116,7 @@ public class CompanyServiceTest {
         when(companyRepository.findById(VALID_COMPANY_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> companyService.update(expectedCompanyDTO));
+        assertThrows(ObjectNotFoundException.class, () -> companyService.update(expectedCompanyDTO, null));
     }
 
     @Test
@@ -151,13 +154,13 @@ public class CompanyServiceTest {
 
         //  when
         when(companyRepository.findById(VALID_COMPANY_ID)).thenReturn(Optional.of(expectedCompany));
-        doNothing().when(companyRepository).deleteById(VALID_COMPANY_ID);
+        doNothing().when(companyRepository).delete(expectedCompany);
 
         // then
-        companyService.delete(VALID_COMPANY_ID);
+        companyService.delete(VALID_COMPANY_ID, null);
 
         verify(companyRepository, times(1)).findById(VALID_COMPANY_ID);
-        verify(companyRepository, times(1)).deleteById(VALID_COMPANY_ID);
+        verify(companyRepository, times(1)).delete(expectedCompany);
     }
 
     @Test
@@ -166,6 +169,6 @@ public class CompanyServiceTest {
         when(companyRepository.findById(INVALID_COMPANY_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> companyService.delete(INVALID_COMPANY_ID));
+        assertThrows(ObjectNotFoundException.class, () -> companyService.delete(INVALID_COMPANY_ID, null));
     }
 }
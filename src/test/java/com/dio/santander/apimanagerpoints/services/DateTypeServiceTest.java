@@ -32,6 +32,9 @@ public class DateTypeServiceTest {
     @Mock
     private DateTypeRepository dateTypeRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private DateTypeMapper dateTypeMapper = DateTypeMapper.INSTANCE;
 
     @InjectMocks
@@ -101,7 +104,7 @@ public class DateTypeServiceTest {
         when(dateTypeRepository.save(expectedUpdateDateType)).thenReturn(expectedUpdateDateType);
 
         // then
-        DateTypeDTO updateDateTypeDTO = dateTypeService.update(expectedUpdatedDateTypeDTO);
+        DateTypeDTO updateDateTypeDTO = dateTypeService.update(expectedUpdatedDateTypeDTO, null);
 
         assertThat(updateDateTypeDTO, is(equalTo(expectedUpdatedDateTypeDTO)));
     }
@@ -115,7 +118,7 @@ public class DateTypeServiceTest {
         when(dateTypeRepository.findById(VALID_DATE_TYPE_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> dateTypeService.update(expectedFoundDateTypeDTO));
+        assertThrows(ObjectNotFoundException.class, () -> dateTypeService.update(expectedFoundDateTypeDTO, null));
     }
 
     @Test
@@ -153,13 +156,13 @@ public class DateTypeServiceTest {
 
         // when
         when(dateTypeRepository.findById(VALID_DATE_TYPE_ID)).thenReturn(Optional.of(expectedDeletedDateType));
-        doNothing().when(dateTypeRepository).deleteById(VALID_DATE_TYPE_ID);
+        doNothing().when(dateTypeRepository).delete(expectedDeletedDateType);
 
         // then
-        dateTypeService.delete(VALID_DATE_TYPE_ID);
+        dateTypeService.delete(VALID_DATE_TYPE_ID, null);
 
         verify(dateTypeRepository, times(1)).findById(VALID_DATE_TYPE_ID);
-        verify(dateTypeRepository, times(1)).deleteById(VALID_DATE_TYPE_ID);
+        verify(dateTypeRepository, times(1)).delete(expectedDeletedDateType);
     }
 
     @Test
@@ -168,6 +171,6 @@ public class DateTypeServiceTest {
         when(dateTypeRepository.findById(INVALID_DATE_TYPE_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> dateTypeService.delete(INVALID_DATE_TYPE_ID));
+        assertThrows(ObjectNotFoundException.class, () -> dateTypeService.delete(INVALID_DATE_TYPE_ID, null));
     }
 }
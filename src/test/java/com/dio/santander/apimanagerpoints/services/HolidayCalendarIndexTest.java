@@ -0,0 +1,114 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.models.Calendar;
+import com.dio.santander.apimanagerpoints.models.DateType;
+import com.dio.santander.apimanagerpoints.repositories.CalendarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HolidayCalendarIndexTest {
+    private static final long HOLIDAY = 1L;
+    private static final long OPTIONAL_POINT = 2L;
+
+    @Mock
+    private CalendarRepository calendarRepository;
+
+    private HolidayCalendarIndex holidayCalendarIndex;
+
+    @BeforeEach
+    void setUp() {
+        holidayCalendarIndex = new HolidayCalendarIndex(calendarRepository, Collections.singleton(HOLIDAY));
+    }
+
+    @Test
+    void whenAYearIsQueriedTwiceThenItShouldBeLoadedOnce() {
+        // given
+        LocalDate christmas = LocalDate.parse("2021-12-25");
+
+        // when
+        when(calendarRepository.findBySpecialDateBetween(
+                LocalDateTime.parse("2021-01-01T00:00:00"), LocalDateTime.parse("2022-01-01T00:00:00")))
+                .thenReturn(Collections.singletonList(calendar("2021-12-25T00:00:00")));
+
+        // then
+        assertThat(holidayCalendarIndex.isHoliday(christmas), is(true));
+        assertThat(holidayCalendarIndex.isSpecialDay(HOLIDAY, christmas), is(true));
+        assertThat(holidayCalendarIndex.isHoliday(LocalDate.parse("2021-12-24")), is(false));
+        verify(calendarRepository, times(1)).findBySpecialDateBetween(any(), any());
+    }
+
+    @Test
+    void whenTheIndexIsInvalidatedThenTheYearShouldBeReloaded() {
+        // given
+        LocalDate christmas = LocalDate.parse("2021-12-25");
+
+        // when
+        when(calendarRepository.findBySpecialDateBetween(any(), any()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(calendar("2021-12-25T00:00:00")));
+
+        // then
+        assertThat(holidayCalendarIndex.isHoliday(christmas), is(false));
+        holidayCalendarIndex.invalidate();
+        assertThat(holidayCalendarIndex.isHoliday(christmas), is(true));
+        verify(calendarRepository, times(2)).findBySpecialDateBetween(any(), any());
+    }
+
+    @Test
+    void whenBusinessDaysCrossAYearThenEachYearShouldBeCounted() {
+        // given
+        LocalDate from = LocalDate.parse("2021-12-27");
+        LocalDate to = LocalDate.parse("2022-01-08");
+
+        // when
+        when(calendarRepository.findBySpecialDateBetween(any(), any()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(calendar("2022-01-01T00:00:00")));
+
+        // then
+        int businessDays = holidayCalendarIndex.businessDaysBetween(from, to);
+
+        assertThat(businessDays, is(equalTo(10)));
+    }
+
+    @Test
+    void whenADateTypeIsNotConfiguredAsHolidayThenItsDatesShouldNotBeHolidays() {
+        // given
+        LocalDate carnival = LocalDate.parse("2021-02-16");
+
+        // when
+        when(calendarRepository.findBySpecialDateBetween(any(), any()))
+                .thenReturn(Collections.singletonList(calendar("2021-02-16T00:00:00", OPTIONAL_POINT)));
+
+        // then
+        assertThat(holidayCalendarIndex.isSpecialDay(OPTIONAL_POINT, carnival), is(true));
+        assertThat(holidayCalendarIndex.isHoliday(carnival), is(false));
+        assertThat(holidayCalendarIndex.isRestDay(carnival.toEpochDay()), is(false));
+    }
+
+    private static Calendar calendar(String specialDate) {
+        return calendar(specialDate, HOLIDAY);
+    }
+
+    private static Calendar calendar(String specialDate, long dateTypeId) {
+        return Calendar.builder()
+                .id(1L)
+                .dateType(DateType.builder().id(dateTypeId).description("Feriado").build())
+                .description("Feriado")
+                .specialDate(LocalDateTime.parse(specialDate))
+                .build();
+    }
+}
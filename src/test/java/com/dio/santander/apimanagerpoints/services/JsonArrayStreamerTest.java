@@ -0,0 +1,114 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.dtos.SliceDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JsonArrayStreamerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonArrayStreamer jsonArrayStreamer = new JsonArrayStreamer(objectMapper, 2);
+
+    @Test
+    void whenRowsAreStreamedThenAJsonArrayShouldBeWritten() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long written = jsonArrayStreamer.write(Stream.of(movementDTO, movementDTO), out);
+
+        // then
+        JsonNode array = objectMapper.readTree(out.toByteArray());
+        assertThat(written, is(equalTo(2L)));
+        assertThat(array.size(), is(equalTo(2)));
+        assertThat(array.get(1).get("dateOfIn").asText(), is(equalTo(movementDTO.getDateOfIn())));
+        assertThat(array.get(1).get("occurrence").get("name").asText(), is(equalTo(movementDTO.getOccurrence().getName())));
+    }
+
+    @Test
+    void whenASparseSelectionIsGivenThenOnlyTheSelectedFieldsShouldBeWritten() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        movementDTO.setDateOfOut(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        jsonArrayStreamer.write(Stream.of(movementDTO), out,
+                FieldSelection.of("id,dateOfIn,dateOfOut,occurrence", null), DataFormat.JSON);
+
+        // then
+        JsonNode row = objectMapper.readTree(out.toByteArray()).get(0);
+        assertThat(row.get("dateOfIn").asText(), is(equalTo(movementDTO.getDateOfIn())));
+        assertThat(row.get("id").get("movementId").asLong(), is(equalTo(movementDTO.getId().getMovementId())));
+        assertThat(row.get("occurrence").get("name").asText(), is(equalTo(movementDTO.getOccurrence().getName())));
+        assertThat(row.has("dateOfOut"), is(false));
+        assertThat(row.has("period"), is(false));
+        assertThat(row.has("calendar"), is(false));
+    }
+
+    @Test
+    void whenASparseSelectionIsGivenForASliceThenOnlyItsRowsShouldBeFiltered() throws Exception {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        SliceDTO<MovementDTO> slice = new SliceDTO<>(Collections.singletonList(movementDTO), 0, 24, true, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        jsonArrayStreamer.writeValue(slice, out, FieldSelection.of("id,dateOfIn", null), DataFormat.JSON);
+
+        // then
+        JsonNode written = objectMapper.readTree(out.toByteArray());
+        JsonNode row = written.get("content").get(0);
+        assertThat(written.get("size").asInt(), is(equalTo(24)));
+        assertThat(written.get("last").asBoolean(), is(true));
+        assertThat(written.has("totalElements"), is(false));
+        assertThat(row.get("dateOfIn").asText(), is(equalTo(movementDTO.getDateOfIn())));
+        assertThat(row.has("period"), is(false));
+        assertThat(row.has("occurrence"), is(false));
+    }
+
+    @Test
+    void whenNoRowsAreStreamedThenAnEmptyArrayShouldBeWritten() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long written = jsonArrayStreamer.write(Stream.empty(), out);
+
+        // then
+        assertThat(written, is(equalTo(0L)));
+        assertThat(out.toString("UTF-8"), is(equalTo("[]")));
+    }
+
+    @Test
+    void whenAChunkIsCompleteThenItShouldBeFlushedToTheResponse() throws Exception {
+        // given
+        AtomicInteger flushes = new AtomicInteger();
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // when
+        jsonArrayStreamer.write(IntStream.range(0, 5).boxed(), out);
+
+        // then
+        assertThat(flushes.get(), is(greaterThanOrEqualTo(2)));
+    }
+}
@@ -30,6 +30,9 @@ public class LocationServiceTest {
     @Mock
     private LocationRepository locationRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private LocationMapper locationMapper = LocationMapper.INSTANCE;
 
     @InjectMocks
@@ -99,7 +102,7 @@ public class LocationServiceTest {
         when(locationRepository.save(expectedLocation)).thenReturn(expectedLocation);
 
         // then
-        LocationDTO updateLocationDTO = locationService.update(expectedLocationDTO);
+        LocationDTO updateLocationDTO = locationService.update(expectedLocationDTO, null);
 
         assertThat(updateLocationDTO, is(equalTo(expectedLocationDTO)));
     }
@@ -113,7 +116,7 @@ public class LocationServiceTest {
         when(locationRepository.findById(VALID_LOCATION_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> locationService.update(expectedLocationDTO));
+        assertThrows(ObjectNotFoundException.class, () -> locationService.update(expectedLocationDTO, null));
     }
 
     @Test
@@ -151,13 +154,13 @@ public class LocationServiceTest {
 
         //  when
         when(locationRepository.findById(VALID_LOCATION_ID)).thenReturn(Optional.of(expectedLocation));
-        doNothing().when(locationRepository).deleteById(VALID_LOCATION_ID);
+        doNothing().when(locationRepository).delete(expectedLocation);
 
         // then
-        locationService.delete(VALID_LOCATION_ID);
+        locationService.delete(VALID_LOCATION_ID, null);
 
         verify(locationRepository, times(1)).findById(VALID_LOCATION_ID);
-        verify(locationRepository, times(1)).deleteById(VALID_LOCATION_ID);
+        verify(locationRepository, times(1)).delete(expectedLocation);
     }
 
     @Test
@@ -166,6 +169,6 @@ public class LocationServiceTest {
         when(locationRepository.findById(INVALID_LOCATION_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> locationService.delete(INVALID_LOCATION_ID));
+        assertThrows(ObjectNotFoundException.class, () -> locationService.delete(INVALID_LOCATION_ID, null));
     }
 }
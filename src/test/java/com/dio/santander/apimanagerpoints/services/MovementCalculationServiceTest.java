@@ -0,0 +1,128 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.UserScheduleDTO;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MovementCalculationServiceTest {
+    private static final Long VALID_USER_ID = 1L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HolidayCalendarIndex holidayCalendarIndex;
+
+    @InjectMocks
+    private MovementCalculationService movementCalculationService;
+
+    @Test
+    void whenMovementIsAppliedThenPeriodAndLatenessShouldBeDerived() {
+        // given
+        Movement movement = movement("2021-07-05T08:20:00", "2021-07-05T17:00:00");
+
+        // when
+        when(userRepository.findSchedules(anyCollection())).thenReturn(Collections.singletonList(schedule()));
+
+        // then
+        movementCalculationService.apply(movement);
+
+        assertThat(movement.getPeriod(), is(comparesEqualTo(new BigDecimal("8.67"))));
+        assertThat(movement.getLateMinutes(), is(equalTo(20)));
+        assertThat(movement.getEarlyLeaveMinutes(), is(equalTo(0)));
+        assertThat(movement.getRegularMinutes(), is(equalTo(520)));
+        assertThat(movement.getOvertimeMinutes(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenMovementHappensOnAHolidayThenNoLatenessShouldBeCounted() {
+        // given
+        Movement movement = movement("2021-09-07T08:20:00", "2021-09-07T12:00:00");
+
+        // when
+        when(userRepository.findSchedules(anyCollection())).thenReturn(Collections.singletonList(schedule()));
+        when(holidayCalendarIndex.isRestDay(anyLong())).thenAnswer(invocation -> isHoliday(invocation.getArgument(0)));
+        when(holidayCalendarIndex.isHoliday(anyLong())).thenAnswer(invocation -> isHoliday(invocation.getArgument(0)));
+
+        // then
+        movementCalculationService.apply(movement);
+
+        assertThat(movement.getPeriod(), is(comparesEqualTo(new BigDecimal("3.67"))));
+        assertThat(movement.getLateMinutes(), is(equalTo(0)));
+        assertThat(movement.getEarlyLeaveMinutes(), is(equalTo(0)));
+        assertThat(movement.getHolidayMinutes(), is(equalTo(220)));
+        assertThat(movement.getRegularMinutes(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenMovementIsStillOpenThenNothingShouldBeDerived() {
+        // given
+        Movement movement = movement("2021-07-05T08:20:00", null);
+
+        // when
+
+        // then
+        movementCalculationService.apply(movement);
+
+        assertThat(movement.getPeriod(), is(nullValue()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void whenMovementsAreAppliedInBulkThenUsersShouldBeLoadedOnce() {
+        // given
+        Movement first = movement("2021-07-05T08:04:00", "2021-07-05T16:57:00");
+        Movement second = movement("2021-07-06T08:00:00", "2021-07-06T16:30:00");
+
+        // when
+        when(userRepository.findSchedules(anyCollection())).thenReturn(Collections.singletonList(schedule()));
+
+        // then
+        movementCalculationService.applyAll(Arrays.asList(first, second));
+
+        assertThat(first.getPeriod(), is(comparesEqualTo(new BigDecimal("9.00"))));
+        assertThat(second.getEarlyLeaveMinutes(), is(equalTo(30)));
+        verify(userRepository, times(1)).findSchedules(anyCollection());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    private static boolean isHoliday(long epochDay) {
+        return epochDay == LocalDate.parse("2021-09-07").toEpochDay();
+    }
+
+    private static Movement movement(String dateOfIn, String dateOfOut) {
+        Movement movement = new Movement();
+        movement.getId().setUserId(VALID_USER_ID);
+        movement.getId().setMovementId(1L);
+        movement.setDateOfIn(LocalDateTime.parse(dateOfIn));
+        movement.setDateOfOut(dateOfOut == null ? null : LocalDateTime.parse(dateOfOut));
+        return movement;
+    }
+
+    private static UserScheduleDTO schedule() {
+        return UserScheduleDTO.builder()
+                .id(VALID_USER_ID)
+                .tolerance(BigDecimal.valueOf(5))
+                .workDayStart(LocalDateTime.parse("2021-01-01T08:00:00"))
+                .workDayFinal(LocalDateTime.parse("2021-01-01T17:00:00"))
+                .build();
+    }
+}
@@ -1,10 +1,17 @@
 package com.dio.santander.apimanagerpoints.services;
 
 import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.dtos.BatchItemStatus;
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.KeysetPageDTO;
 import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.formats.DataFormat;
 import com.dio.santander.apimanagerpoints.mappers.MovementMapper;
 import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
 import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.DataIntegrityException;
+import com.dio.santander.apimanagerpoints.services.exceptions.InvalidCursorException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -12,25 +19,71 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validator;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class MovementServiceTest {
+    private static final String IDEMPOTENCY_KEY = "9f1c2f4e-punch-retry";
     private static final Long VALID_MOVEMENT_ID = 1L;
     private static final Long VALID_USER_ID = 1L;
     private static final Long INVALID_MOVEMENT_ID = 2L;
     private static final Long INVALID_USER_ID = 2L;
+    private static final Long GENERATED_MOVEMENT_ID = 1001L;
 
     @Mock
     private MovementRepository movementRepository;
 
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private PooledIdGenerator pooledIdGenerator;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private OpenShiftIndex openShiftIndex;
+
+    @Mock
+    private MovementCalculationService movementCalculationService;
+
+    @Mock
+    private WorkedHoursService workedHoursService;
+
+    @Mock
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RowCountCache rowCountCache;
+
     private MovementMapper movementMapper = MovementMapper.INSTANCE;
 
     @InjectMocks
@@ -43,13 +96,115 @@ public class MovementServiceTest {
         Movement expectedMovement = movementMapper.toModel(expectedMovementDTO);
 
         // when
-        when(movementRepository.findByPK(VALID_MOVEMENT_ID, VALID_USER_ID)).thenReturn(null);
-        when(movementRepository.save(expectedMovement)).thenReturn(expectedMovement);
+        when(movementRepository.persist(expectedMovement)).thenReturn(expectedMovement);
 
         // then
         MovementDTO createMovementDTO = movementService.insert(expectedMovementDTO);
 
         assertThat(createMovementDTO, is(equalTo(expectedMovementDTO)));
+        verify(rowCountCache, times(1)).invalidate(Movement.class);
+    }
+
+    @Test
+    void whenOpenMovementIsInformedThenTheShiftShouldBeRegisteredAsOpen() {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().dateOfOut(null).build().toMovementDTO();
+        Movement movement = movementMapper.toModel(movementDTO);
+
+        // when
+        when(openShiftIndex.reserve(VALID_USER_ID)).thenReturn(true);
+        when(movementRepository.persist(movement)).thenReturn(movement);
+
+        // then
+        movementService.insert(movementDTO);
+
+        verify(openShiftIndex, times(1)).open(VALID_USER_ID, VALID_MOVEMENT_ID);
+        verify(openShiftIndex, times(1)).release(VALID_USER_ID);
+    }
+
+    @Test
+    void whenOpenMovementIsInformedForAUserWithAnOpenShiftThenAnExceptionShouldBeThrown() {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().dateOfOut(null).build().toMovementDTO();
+
+        // when
+        when(openShiftIndex.reserve(VALID_USER_ID)).thenReturn(false);
+
+        // then
+        assertThrows(ObjectAlreadyRegisteredException.class, () -> movementService.insert(movementDTO));
+        verify(movementRepository, never()).persist(any(Movement.class));
+    }
+
+    @Test
+    void whenTheWorkedHoursRollupFailsThenTheMovementInsertShouldBeRolledBack() {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        Movement movement = movementMapper.toModel(movementDTO);
+
+        // when
+        when(movementRepository.persist(movement)).thenReturn(movement);
+        doThrow(new IllegalStateException("rollup")).when(workedHoursService).apply(null, movement);
+
+        // then
+        assertThrows(IllegalStateException.class, () -> movementService.insert(movementDTO));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void whenMovementIsInformedWithoutIdThenAPooledIdShouldBeAssigned() {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        movementDTO.getId().setMovementId(0);
+
+        // when
+        when(pooledIdGenerator.isEnabled()).thenReturn(true);
+        when(pooledIdGenerator.nextId(eq(PooledIdGenerator.MOVEMENT), any())).thenReturn(GENERATED_MOVEMENT_ID);
+        when(movementRepository.persist(any(Movement.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // then
+        MovementDTO createdMovementDTO = movementService.insert(movementDTO);
+
+        assertThat(createdMovementDTO.getId().getMovementId(), is(equalTo(GENERATED_MOVEMENT_ID)));
+        assertThat(createdMovementDTO.getId().getUserId(), is(equalTo(VALID_USER_ID)));
+        verify(movementRepository, never()).findByPK(anyLong(), anyLong());
+    }
+
+    @Test
+    void whenMovementIsInformedWithIdWhileIdsAreGeneratedThenAnExceptionShouldBeThrown() {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(pooledIdGenerator.isEnabled()).thenReturn(true);
+
+        // then
+        assertThrows(DataIntegrityException.class, () -> movementService.insert(movementDTO));
+        verify(pooledIdGenerator, never()).nextId(anyString(), any());
+        verify(movementRepository, never()).persist(any(Movement.class));
+    }
+
+    @Test
+    void whenBatchContainsMovementWithIdWhileIdsAreGeneratedThenItShouldBeReportedAsInvalid() {
+        // given
+        MovementDTO generatedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        generatedMovementDTO.getId().setMovementId(0);
+        MovementDTO informedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(validator.validate(any(MovementDTO.class))).thenReturn(Collections.emptySet());
+        when(pooledIdGenerator.isEnabled()).thenReturn(true);
+        when(pooledIdGenerator.nextId(eq(PooledIdGenerator.MOVEMENT), any())).thenReturn(GENERATED_MOVEMENT_ID);
+        when(movementRepository.findExistingIds(anyCollection(), anyCollection())).thenReturn(Collections.emptyList());
+        when(movementRepository.persistAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // then
+        BatchResultDTO<MovementPK> result = movementService.insertBatch(Arrays.asList(generatedMovementDTO, informedMovementDTO));
+
+        assertThat(result.getCreated(), is(equalTo(1)));
+        assertThat(result.getInvalid(), is(equalTo(1)));
+        assertThat(result.getItems().get(0).getId().getMovementId(), is(equalTo(GENERATED_MOVEMENT_ID)));
+        assertThat(result.getItems().get(1).getStatus(), is(equalTo(BatchItemStatus.INVALID)));
     }
 
     @Test
@@ -59,12 +214,62 @@ public class MovementServiceTest {
         Movement expectedMovement = movementMapper.toModel(expectedMovementDTO);
 
         // when
-        when(movementRepository.findByPK(VALID_MOVEMENT_ID, VALID_USER_ID)).thenReturn(expectedMovement);
+        when(movementRepository.persist(expectedMovement)).thenThrow(DataIntegrityViolationException.class);
+        when(movementRepository.findByPK(expectedMovementDTO.getId().getMovementId(),
+                expectedMovementDTO.getId().getUserId())).thenReturn(expectedMovement);
 
         // then
         assertThrows(ObjectAlreadyRegisteredException.class, () -> movementService.insert(expectedMovementDTO));
     }
 
+    @Test
+    void whenMovementViolatesAnotherConstraintThenADataIntegrityExceptionShouldBeThrown() {
+        // given
+        MovementDTO expectedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        Movement expectedMovement = movementMapper.toModel(expectedMovementDTO);
+
+        // when
+        when(movementRepository.persist(expectedMovement)).thenThrow(DataIntegrityViolationException.class);
+        when(movementRepository.findByPK(expectedMovementDTO.getId().getMovementId(),
+                expectedMovementDTO.getId().getUserId())).thenReturn(null);
+
+        // then
+        assertThrows(DataIntegrityException.class, () -> movementService.insert(expectedMovementDTO));
+    }
+
+    @Test
+    void whenIdempotencyKeyWasAlreadyProcessedThenTheOriginalMovementShouldBeReplayed() {
+        // given
+        MovementDTO expectedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(idempotencyCache.get(anyString(), eq(IDEMPOTENCY_KEY), eq(MovementDTO.class))).thenReturn(expectedMovementDTO);
+
+        // then
+        MovementDTO replayedMovementDTO = movementService.insert(expectedMovementDTO, IDEMPOTENCY_KEY);
+
+        assertThat(replayedMovementDTO, is(equalTo(expectedMovementDTO)));
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    void whenIdempotencyKeyIsAlreadyStoredThenThePersistedMovementShouldBeReplayed() {
+        // given
+        MovementDTO expectedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        Movement expectedMovement = movementMapper.toModel(expectedMovementDTO);
+        expectedMovement.setIdempotencyKey(IDEMPOTENCY_KEY);
+
+        // when
+        when(movementRepository.persist(expectedMovement)).thenThrow(DataIntegrityViolationException.class);
+        when(movementRepository.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(expectedMovement);
+
+        // then
+        MovementDTO replayedMovementDTO = movementService.insert(expectedMovementDTO, IDEMPOTENCY_KEY);
+
+        assertThat(replayedMovementDTO, is(equalTo(expectedMovementDTO)));
+        verify(idempotencyCache, times(1)).put(anyString(), eq(IDEMPOTENCY_KEY), eq(expectedMovementDTO));
+    }
+
     @Test
     void whenValidMovementIdIsGivenThenReturnAnMovement() {
         // given
@@ -118,30 +323,136 @@ public class MovementServiceTest {
     }
 
     @Test
-    void whenListMovementIsCalledThenReturnAListOfMovement() {
+    void whenFirstSeekPageIsRequestedThenTheTokenShouldPointToItsLastRow() {
+        // given
+        MovementDTO firstMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        Movement firstMovement = movementMapper.toModel(firstMovementDTO);
+        Movement secondMovement = movementMapper.toModel(MovementDTOBuilder.builder().build().toMovementDTO());
+
+        // when
+        when(movementRepository.findFirstSeek(PageRequest.of(0, 2))).thenReturn(Arrays.asList(firstMovement, secondMovement));
+
+        // then
+        KeysetPageDTO<MovementDTO> page = movementService.findSeek(null, 1);
+
+        assertThat(page.getContent(), contains(firstMovementDTO));
+        assertThat(page.isLast(), is(false));
+        SeekCursor cursor = SeekCursor.decode(page.getNext());
+        assertThat(cursor.getUserId(), is(equalTo(VALID_USER_ID)));
+        assertThat(cursor.getDate(), is(equalTo(firstMovement.getDateOfIn())));
+        assertThat(cursor.getId(), is(equalTo(VALID_MOVEMENT_ID)));
+    }
+
+    @Test
+    void whenSeekTokenIsInvalidThenAnExceptionShouldBeThrown() {
+        // then
+        assertThrows(InvalidCursorException.class, () -> movementService.findSeek("not-a-token", 24));
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    void whenSeekCursorHasNoDateThenTheUndatedSeekShouldBeUsed() {
+        // given
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        String token = new SeekCursor(VALID_USER_ID, null, VALID_MOVEMENT_ID).encode();
+
+        // when
+        when(movementRepository.findSeekAfterUndated(VALID_USER_ID, VALID_MOVEMENT_ID, PageRequest.of(0, 25)))
+                .thenReturn(Collections.singletonList(movementMapper.toModel(movementDTO)));
+
+        // then
+        KeysetPageDTO<MovementDTO> page = movementService.findSeek(token, 24);
+
+        assertThat(page.getContent(), contains(movementDTO));
+        assertThat(SeekCursor.decode(token).getDate(), is(nullValue()));
+    }
+
+    @Test
+    void whenMovementsOfAUserAreRequestedThenTheWholeLastDayShouldBeIncluded() {
         // given
         MovementDTO expectedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
-        Movement expectedMovement = movementMapper.toModel(expectedMovementDTO);
+        LocalDate from = LocalDate.parse("2021-07-01");
+        LocalDate to = LocalDate.parse("2021-07-31");
+
+        // when
+        when(movementRepository.findProjectedByUserBetween(VALID_USER_ID, from.atStartOfDay(),
+                LocalDate.parse("2021-08-01").atStartOfDay())).thenReturn(Collections.singletonList(expectedMovementDTO));
+
+        // then
+        List<MovementDTO> listMovementDTO = movementService.findByUserBetween(VALID_USER_ID, from, to,
+                FieldSelection.ALL);
+
+        assertThat(listMovementDTO, contains(expectedMovementDTO));
+    }
+
+    @Test
+    void whenMovementsAreStreamedThenTheRepositoryStreamShouldBeClosed() throws Exception {
+        // given
+        MovementDTO expectedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<MovementDTO> rows = Stream.of(expectedMovementDTO).onClose(() -> closed.set(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        when(movementRepository.streamAllProjected()).thenReturn(rows);
+
+        // then
+        movementService.streamAll(out, FieldSelection.ALL, DataFormat.JSON);
+
+        verify(jsonArrayStreamer, times(1)).write(rows, out, FieldSelection.ALL, DataFormat.JSON);
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    void whenMovementsAreStreamedWithoutExpansionThenOnlyReferencesShouldBeRead() throws Exception {
+        // given
+        FieldSelection selection = FieldSelection.of("id,dateOfIn,occurrence", null);
+        Stream<MovementDTO> rows = Stream.empty();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
 
         // when
-        when(movementRepository.findAll()).thenReturn(Collections.singletonList(expectedMovement));
+        when(movementRepository.streamAllReferences()).thenReturn(rows);
 
         // then
-        List<MovementDTO> listMovementDTO = movementService.findAll();
+        movementService.streamAll(out, selection, DataFormat.JSON);
 
-        assertThat(listMovementDTO, is(not(empty())));
-        assertThat(listMovementDTO.get(0), is(equalTo(expectedMovementDTO)));
+        verify(jsonArrayStreamer, times(1)).write(rows, out, selection, DataFormat.JSON);
+        verify(movementRepository, never()).streamAllProjected();
     }
 
     @Test
-    void whenListMovementIsCalledThenReturnAnEmptyListOfMovement() {
+    void whenAPageIsRequestedWithSomeExpansionThenTheOtherReferencesShouldBeCollapsed() {
+        // given
+        MovementDTO expectedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        PageRequest pageRequest = PageRequest.of(0, 24, Sort.Direction.ASC, "dateOfIn");
+
+        // when
+        when(movementRepository.findPageProjected(pageRequest))
+                .thenReturn(new PageImpl<>(Collections.singletonList(expectedMovementDTO), pageRequest, 1));
+
+        // then
+        Page<MovementDTO> page = movementService.findPage(0, 24, "dateOfIn", "ASC",
+                FieldSelection.of(null, "occurrence"));
+
+        MovementDTO row = page.getContent().get(0);
+        assertThat(row.getOccurrence().getDescription(), is(notNullValue()));
+        assertThat(row.getCalendar().getId(), is(equalTo(expectedMovementDTO.getCalendar().getId())));
+        assertThat(row.getCalendar().getDescription(), is(nullValue()));
+        verify(movementRepository, never()).findPageReferences(any());
+    }
+
+    @Test
+    void whenAPageIsRequestedWithoutExpansionThenOnlyReferencesShouldBeRead() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, 24, Sort.Direction.ASC, "dateOfIn");
+
         // when
-        when(movementRepository.findAll()).thenReturn(Collections.emptyList());
+        when(movementRepository.findPageReferences(pageRequest)).thenReturn(Page.empty(pageRequest));
 
         // then
-        List<MovementDTO> listMovementDTO = movementService.findAll();
+        movementService.findPage(0, 24, "dateOfIn", "ASC", FieldSelection.of("id,dateOfIn", null));
 
-        assertThat(listMovementDTO, is(empty()));
+        verify(movementRepository, never()).findPageProjected(any());
     }
 
     @Test
@@ -159,6 +470,7 @@ public class MovementServiceTest {
 
         verify(movementRepository, times(2)).findByPK(VALID_MOVEMENT_ID, VALID_USER_ID);
         verify(movementRepository, times(1)).delete(expectedMovement);
+        verify(openShiftIndex, times(1)).close(VALID_USER_ID, VALID_MOVEMENT_ID);
     }
 
     @Test
@@ -169,4 +481,97 @@ public class MovementServiceTest {
         // then
         assertThrows(ObjectNotFoundException.class, () -> movementService.delete(INVALID_MOVEMENT_ID, INVALID_USER_ID));
     }
+
+    @Test
+    void whenBatchWithNotExistingMovementsIsInformedThenTheyShouldBeCreated() {
+        // given
+        MovementDTO firstMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        MovementDTO secondMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        secondMovementDTO.setId(new MovementPK());
+        secondMovementDTO.getId().setMovementId(INVALID_MOVEMENT_ID);
+        secondMovementDTO.getId().setUserId(VALID_USER_ID);
+
+        // when
+        when(validator.validate(any(MovementDTO.class))).thenReturn(Collections.emptySet());
+        when(movementRepository.findExistingIds(anyCollection(), anyCollection())).thenReturn(Collections.emptyList());
+        when(movementRepository.persistAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // then
+        BatchResultDTO<MovementPK> result = movementService.insertBatch(Arrays.asList(firstMovementDTO, secondMovementDTO));
+
+        assertThat(result.getCreated(), is(equalTo(2)));
+        assertThat(result.getConflicts(), is(equalTo(0)));
+        assertThat(result.getItems().get(1).getId(), is(equalTo(secondMovementDTO.getId())));
+        verify(movementRepository, times(1)).findExistingIds(anyCollection(), anyCollection());
+        verify(movementRepository, never()).findByPK(anyLong(), anyLong());
+    }
+
+    @Test
+    void whenBatchFlushFailsThenEachMovementShouldBeInsertedAndReportedOnItsOwn() {
+        // given
+        MovementDTO firstMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        MovementDTO secondMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        secondMovementDTO.setId(new MovementPK());
+        secondMovementDTO.getId().setMovementId(INVALID_MOVEMENT_ID);
+        secondMovementDTO.getId().setUserId(INVALID_USER_ID);
+
+        // when
+        when(validator.validate(any(MovementDTO.class))).thenReturn(Collections.emptySet());
+        when(movementRepository.findExistingIds(anyCollection(), anyCollection())).thenReturn(Collections.emptyList());
+        when(movementRepository.persistAll(anyList()))
+                .thenThrow(DataIntegrityViolationException.class)
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(DataIntegrityViolationException.class);
+
+        // then
+        BatchResultDTO<MovementPK> result = movementService.insertBatch(Arrays.asList(firstMovementDTO, secondMovementDTO));
+
+        assertThat(result.getCreated(), is(equalTo(1)));
+        assertThat(result.getInvalid(), is(equalTo(1)));
+        assertThat(result.getItems().get(0).getStatus(), is(equalTo(BatchItemStatus.CREATED)));
+        assertThat(result.getItems().get(1).getStatus(), is(equalTo(BatchItemStatus.INVALID)));
+        verify(movementRepository, times(3)).persistAll(anyList());
+    }
+
+    @Test
+    void whenBatchContainsAlreadyRegisteredMovementThenItShouldBeReportedAsConflict() {
+        // given
+        MovementDTO expectedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        MovementDTO duplicatedMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(validator.validate(any(MovementDTO.class))).thenReturn(Collections.emptySet());
+        when(movementRepository.findExistingIds(anyCollection(), anyCollection()))
+                .thenReturn(Collections.singletonList(expectedMovementDTO.getId()));
+
+        // then
+        BatchResultDTO<MovementPK> result = movementService.insertBatch(Arrays.asList(expectedMovementDTO, duplicatedMovementDTO));
+
+        assertThat(result.getCreated(), is(equalTo(0)));
+        assertThat(result.getConflicts(), is(equalTo(2)));
+        assertThat(result.getItems().get(0).getStatus(), is(equalTo(BatchItemStatus.CONFLICT)));
+        verify(movementRepository, never()).persistAll(anyList());
+    }
+
+    @Test
+    void whenBatchOpensASecondShiftForTheSameUserThenItShouldBeReportedAsConflict() {
+        // given
+        MovementDTO openMovementDTO = MovementDTOBuilder.builder().dateOfOut(null).build().toMovementDTO();
+        MovementDTO secondOpenMovementDTO = MovementDTOBuilder.builder().dateOfOut(null).build().toMovementDTO();
+        secondOpenMovementDTO.getId().setMovementId(INVALID_MOVEMENT_ID);
+
+        // when
+        when(validator.validate(any(MovementDTO.class))).thenReturn(Collections.emptySet());
+        when(openShiftIndex.reserve(VALID_USER_ID)).thenReturn(true, false);
+        when(movementRepository.findExistingIds(anyCollection(), anyCollection())).thenReturn(Collections.emptyList());
+        when(movementRepository.persistAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // then
+        BatchResultDTO<MovementPK> result = movementService.insertBatch(Arrays.asList(openMovementDTO, secondOpenMovementDTO));
+
+        assertThat(result.getCreated(), is(equalTo(1)));
+        assertThat(result.getConflicts(), is(equalTo(1)));
+        assertThat(result.getItems().get(1).getStatus(), is(equalTo(BatchItemStatus.CONFLICT)));
+        verify(openShiftIndex, times(1)).open(VALID_USER_ID, VALID_MOVEMENT_ID);
+    }
 }
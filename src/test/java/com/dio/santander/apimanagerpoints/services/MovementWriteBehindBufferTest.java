@@ -0,0 +1,203 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.dtos.BatchItemResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.BatchItemStatus;
+import com.dio.santander.apimanagerpoints.dtos.BatchResultDTO;
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.models.MovementDeadLetter;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.dio.santander.apimanagerpoints.repositories.MovementDeadLetterRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.QueueFullException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MovementWriteBehindBufferTest {
+    private static final String IDEMPOTENCY_KEY = "5b7e0a2d-punch-accepted";
+
+    @Mock
+    private MovementService movementService;
+
+    @Mock
+    private MovementDeadLetterRepository movementDeadLetterRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void whenPartitionIsFullThenAnExceptionShouldBeThrown() {
+        // given
+        MovementWriteBehindBuffer buffer = buffer(1, 3);
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        buffer.offer(movementDTO, null);
+
+        // then
+        assertThrows(QueueFullException.class, () -> buffer.offer(movementDTO, null));
+        assertThat(meterRegistry.get("movements.write_behind.queue.depth").gauge().value(), is(equalTo(1.0)));
+        assertThat(meterRegistry.get("movements.write_behind.rejected").counter().count(), is(equalTo(1.0)));
+    }
+
+    @Test
+    void whenMovementsAreOfferedThenTheyShouldBeGroupCommitted() throws InterruptedException {
+        // given
+        MovementWriteBehindBuffer buffer = buffer(10, 3);
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(movementService.insertBatch(anyList(), anyMap())).thenReturn(new BatchResultDTO<>(3, 0, 0, Collections.emptyList()));
+        buffer.offer(movementDTO, null);
+        buffer.offer(movementDTO, null);
+        buffer.offer(movementDTO, null);
+        buffer.start();
+        buffer.stop();
+
+        // then
+        verify(movementService, times(1)).insertBatch(anyList(), anyMap());
+        assertThat(meterRegistry.get("movements.write_behind.commit.batch.size").summary().totalAmount(), is(equalTo(3.0)));
+        assertThat(meterRegistry.get("movements.write_behind.queue.depth").gauge().value(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void whenCommitFailsThenTheBatchShouldBeRetried() throws InterruptedException {
+        // given
+        MovementWriteBehindBuffer buffer = buffer(10, 3);
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+
+        // when
+        when(movementService.insertBatch(anyList(), anyMap()))
+                .thenThrow(new IllegalStateException("conexão perdida"))
+                .thenReturn(new BatchResultDTO<>(1, 0, 0, Collections.emptyList()));
+        buffer.offer(movementDTO, null);
+        buffer.start();
+        buffer.stop();
+
+        // then
+        verify(movementService, times(2)).insertBatch(anyList(), anyMap());
+        verify(movementDeadLetterRepository, never()).saveAll(anyList());
+        assertThat(meterRegistry.get("movements.write_behind.retries").counter().count(), is(equalTo(1.0)));
+    }
+
+    @Test
+    void whenCommitKeepsFailingThenTheBatchShouldBeDeadLettered() throws InterruptedException {
+        // given
+        MovementWriteBehindBuffer buffer = buffer(10, 2);
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        ArgumentCaptor<List<MovementDeadLetter>> deadLetters = ArgumentCaptor.forClass(List.class);
+
+        // when
+        when(movementService.insertBatch(anyList(), anyMap())).thenThrow(new IllegalStateException("conexão perdida"));
+        buffer.offer(movementDTO, null);
+        buffer.start();
+        buffer.stop();
+
+        // then
+        verify(movementService, times(2)).insertBatch(anyList(), anyMap());
+        verify(movementDeadLetterRepository).saveAll(deadLetters.capture());
+        assertThat(deadLetters.getValue(), hasSize(1));
+        assertThat(deadLetters.getValue().get(0).getStatus(), is(equalTo("FAILED")));
+        assertThat(deadLetters.getValue().get(0).getMovementId(), is(equalTo(movementDTO.getId().getMovementId())));
+        assertThat(meterRegistry.get("movements.write_behind.queue.depth").gauge().value(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void whenBatchHasConflictsThenOnlyTheConflictingMovementsShouldBeDeadLettered() throws InterruptedException {
+        // given
+        MovementWriteBehindBuffer buffer = buffer(10, 3);
+        MovementDTO createdMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        MovementDTO conflictingMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        ArgumentCaptor<List<MovementDeadLetter>> deadLetters = ArgumentCaptor.forClass(List.class);
+
+        // when
+        when(movementService.insertBatch(anyList(), anyMap())).thenReturn(new BatchResultDTO<>(1, 1, 0, Arrays.asList(
+                new BatchItemResultDTO<MovementPK>(0, createdMovementDTO.getId(), BatchItemStatus.CREATED, null),
+                new BatchItemResultDTO<MovementPK>(1, conflictingMovementDTO.getId(), BatchItemStatus.CONFLICT,
+                        "Objeto existente!"))));
+        buffer.offer(createdMovementDTO, null);
+        buffer.offer(conflictingMovementDTO, null);
+        buffer.start();
+        buffer.stop();
+
+        // then
+        verify(movementDeadLetterRepository).saveAll(deadLetters.capture());
+        assertThat(deadLetters.getValue(), hasSize(1));
+        assertThat(deadLetters.getValue().get(0).getStatus(), is(equalTo("CONFLICT")));
+        assertThat(deadLetters.getValue().get(0).getReason(), is(equalTo("Objeto existente!")));
+    }
+
+    @Test
+    void whenOneMovementOfTheBatchKeepsFailingThenOnlyItShouldBeDeadLettered() throws InterruptedException {
+        // given
+        MovementWriteBehindBuffer buffer = buffer(10, 2);
+        MovementDTO createdMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        MovementDTO failingMovementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        failingMovementDTO.getId().setMovementId(2);
+        ArgumentCaptor<List<MovementDeadLetter>> deadLetters = ArgumentCaptor.forClass(List.class);
+
+        // when
+        when(movementService.insertBatch(anyList(), anyMap())).thenAnswer(invocation -> {
+            List<MovementDTO> batch = invocation.getArgument(0);
+            if (batch.contains(failingMovementDTO)) {
+                throw new IllegalStateException("usuário não encontrado");
+            }
+            return new BatchResultDTO<>(1, 0, 0, Collections.singletonList(
+                    new BatchItemResultDTO<MovementPK>(0, batch.get(0).getId(), BatchItemStatus.CREATED, null)));
+        });
+        buffer.offer(createdMovementDTO, null);
+        buffer.offer(failingMovementDTO, null);
+        buffer.start();
+        buffer.stop();
+
+        // then
+        verify(movementService, times(4)).insertBatch(anyList(), anyMap());
+        verify(movementDeadLetterRepository).saveAll(deadLetters.capture());
+        assertThat(deadLetters.getValue(), hasSize(1));
+        assertThat(deadLetters.getValue().get(0).getStatus(), is(equalTo("FAILED")));
+        assertThat(deadLetters.getValue().get(0).getMovementId(), is(equalTo(2L)));
+        assertThat(meterRegistry.get("movements.write_behind.queue.depth").gauge().value(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void whenIdempotencyKeyIsRepeatedThenTheMovementShouldBeEnqueuedOnceWithItsKey() throws InterruptedException {
+        // given
+        MovementWriteBehindBuffer buffer = buffer(10, 3);
+        MovementDTO movementDTO = MovementDTOBuilder.builder().build().toMovementDTO();
+        ArgumentCaptor<Map<MovementDTO, String>> idempotencyKeys = ArgumentCaptor.forClass(Map.class);
+
+        // when
+        when(movementService.insertBatch(anyList(), anyMap())).thenReturn(new BatchResultDTO<>(1, 0, 0, Collections.emptyList()));
+        MovementDTO acceptedMovementDTO = buffer.offer(movementDTO, IDEMPOTENCY_KEY);
+        MovementDTO replayedMovementDTO = buffer.offer(MovementDTOBuilder.builder().build().toMovementDTO(), IDEMPOTENCY_KEY);
+        buffer.start();
+        buffer.stop();
+
+        // then
+        assertThat(replayedMovementDTO, is(sameInstance(acceptedMovementDTO)));
+        verify(movementService, times(1)).insertBatch(anyList(), idempotencyKeys.capture());
+        assertThat(idempotencyKeys.getValue().get(movementDTO), is(equalTo(IDEMPOTENCY_KEY)));
+        assertThat(meterRegistry.get("movements.write_behind.commit.batch.size").summary().totalAmount(), is(equalTo(1.0)));
+    }
+
+    private MovementWriteBehindBuffer buffer(int capacity, int maxAttempts) {
+        return new MovementWriteBehindBuffer(movementService, movementDeadLetterRepository, new ObjectMapper(),
+                new IdempotencyCache(100, 60), meterRegistry, true, 1, capacity, 10, 50, maxAttempts, 1);
+    }
+}
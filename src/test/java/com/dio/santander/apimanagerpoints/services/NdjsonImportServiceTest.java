@@ -0,0 +1,135 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.builders.MovementDTOBuilder;
+import com.dio.santander.apimanagerpoints.dtos.*;
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.dio.santander.apimanagerpoints.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NdjsonImportServiceTest {
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private MovementService movementService;
+
+    @Mock
+    private BankOfHourService bankOfHourService;
+
+    private NdjsonImportService ndjsonImportService;
+
+    @BeforeEach
+    void setUp() {
+        ndjsonImportService = new NdjsonImportService(new ObjectMapper(), movementService, bankOfHourService, CHUNK_SIZE);
+    }
+
+    @Test
+    void whenNdjsonMovementsAreInformedThenTheyShouldBeFlushedInChunks() throws IOException {
+        // given
+        String line = asJsonString(MovementDTOBuilder.builder().build().toMovementDTO());
+        String body = line + "\n" + line + "\n\n" + line + "\n";
+
+        // when
+        when(movementService.insertBatch(anyList())).thenAnswer(invocation -> allCreated(invocation.getArgument(0)));
+
+        // then
+        ImportResultDTO<MovementPK> result = ndjsonImportService.importMovements(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(result.getRecords(), is(equalTo(3L)));
+        assertThat(result.getCreated(), is(equalTo(3L)));
+        assertThat(result.getRejected(), is(empty()));
+        verify(movementService, times(2)).insertBatch(anyList());
+    }
+
+    @Test
+    void whenGzipNdjsonWithMalformedLineIsInformedThenOnlyThatLineShouldBeRejected() throws IOException {
+        // given
+        String line = asJsonString(MovementDTOBuilder.builder().build().toMovementDTO());
+        byte[] body = gzip("{not json\n" + line + "\n");
+
+        // when
+        when(movementService.insertBatch(anyList())).thenAnswer(invocation -> allCreated(invocation.getArgument(0)));
+
+        // then
+        ImportResultDTO<MovementPK> result = ndjsonImportService.importMovements(new ByteArrayInputStream(body), "gzip");
+
+        assertThat(result.getRecords(), is(equalTo(2L)));
+        assertThat(result.getCreated(), is(equalTo(1L)));
+        assertThat(result.getInvalid(), is(equalTo(1L)));
+        assertThat(result.getRejected().get(0).getIndex(), is(equalTo(1)));
+        assertThat(result.getRejected().get(0).getStatus(), is(equalTo(BatchItemStatus.INVALID)));
+    }
+
+    @Test
+    void whenNdjsonLineDoesNotMapToAMovementThenTheFollowingLinesShouldStillBeImported() throws IOException {
+        // given
+        String line = asJsonString(MovementDTOBuilder.builder().build().toMovementDTO());
+        String body = line + "\n{\"period\": \"not a number\"}\n" + line + "\n";
+
+        // when
+        when(movementService.insertBatch(anyList())).thenAnswer(invocation -> allCreated(invocation.getArgument(0)));
+
+        // then
+        ImportResultDTO<MovementPK> result = ndjsonImportService.importMovements(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(result.getRecords(), is(equalTo(3L)));
+        assertThat(result.getCreated(), is(equalTo(2L)));
+        assertThat(result.getInvalid(), is(equalTo(1L)));
+        assertThat(result.getRejected().get(0).getIndex(), is(equalTo(2)));
+    }
+
+    @Test
+    void whenNdjsonLineIsTruncatedThenTheFollowingLineShouldStillBeImported() throws IOException {
+        // given
+        String line = asJsonString(MovementDTOBuilder.builder().build().toMovementDTO());
+        String body = "{\"period\": 1\n" + line + "\n";
+
+        // when
+        when(movementService.insertBatch(anyList())).thenAnswer(invocation -> allCreated(invocation.getArgument(0)));
+
+        // then
+        ImportResultDTO<MovementPK> result = ndjsonImportService.importMovements(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(result.getRecords(), is(equalTo(2L)));
+        assertThat(result.getCreated(), is(equalTo(1L)));
+        assertThat(result.getInvalid(), is(equalTo(1L)));
+        assertThat(result.getRejected().get(0).getIndex(), is(equalTo(1)));
+    }
+
+    private static BatchResultDTO<MovementPK> allCreated(List<MovementDTO> chunk) {
+        List<BatchItemResultDTO<MovementPK>> items = new ArrayList<>();
+        for (int index = 0; index < chunk.size(); index++) {
+            items.add(new BatchItemResultDTO<>(index, chunk.get(index).getId(), BatchItemStatus.CREATED, null));
+        }
+        return new BatchResultDTO<>(chunk.size(), 0, 0, items);
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
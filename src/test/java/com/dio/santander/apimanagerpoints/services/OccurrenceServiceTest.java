@@ -30,6 +30,9 @@ public class OccurrenceServiceTest {
     @Mock
     private OccurrenceRepository occurrenceRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private OccurrenceMapper occurrenceMapper = OccurrenceMapper.INSTANCE;
 
     @InjectMocks
@@ -99,7 +102,7 @@ public class OccurrenceServiceTest {
         when(occurrenceRepository.save(expectedOccurrence)).thenReturn(expectedOccurrence);
 
         // then
-        OccurrenceDTO updateOccurrenceDTO = occurrenceService.update(expectedOccurrenceDTO);
+        OccurrenceDTO updateOccurrenceDTO = occurrenceService.update(expectedOccurrenceDTO, null);
 
         assertThat(updateOccurrenceDTO, is(equalTo(expectedOccurrenceDTO)));
     }
@@ -113,7 +116,7 @@ public class OccurrenceServiceTest {
         when(occurrenceRepository.findById(VALID_OCCURRENCE_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> occurrenceService.update(expectedOccurrenceDTO));
+        assertThrows(ObjectNotFoundException.class, () -> occurrenceService.update(expectedOccurrenceDTO, null));
     }
 
     @Test
@@ -151,13 +154,13 @@ public class OccurrenceServiceTest {
 
         //  when
         when(occurrenceRepository.findById(VALID_OCCURRENCE_ID)).thenReturn(Optional.of(expectedOccurrence));
-        doNothing().when(occurrenceRepository).deleteById(VALID_OCCURRENCE_ID);
+        doNothing().when(occurrenceRepository).delete(expectedOccurrence);
 
         // then
-        occurrenceService.delete(VALID_OCCURRENCE_ID);
+        occurrenceService.delete(VALID_OCCURRENCE_ID, null);
 
         verify(occurrenceRepository, times(1)).findById(VALID_OCCURRENCE_ID);
-        verify(occurrenceRepository, times(1)).deleteById(VALID_OCCURRENCE_ID);
+        verify(occurrenceRepository, times(1)).delete(expectedOccurrence);
     }
 
     @Test
@@ -166,6 +169,6 @@ public class OccurrenceServiceTest {
         when(occurrenceRepository.findById(INVALID_OCCURRENCE_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> occurrenceService.delete(INVALID_OCCURRENCE_ID));
+        assertThrows(ObjectNotFoundException.class, () -> occurrenceService.delete(INVALID_OCCURRENCE_ID, null));
     }
 }
@@ -0,0 +1,113 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.models.MovementPK;
+import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OpenShiftIndexTest {
+    private static final Long USER_ID = 1L;
+    private static final Long MOVEMENT_ID = 1001L;
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    @InjectMocks
+    private OpenShiftIndex openShiftIndex;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenIndexIsRebuiltThenTheLatestOpenMovementOfEachUserShouldBeIndexed() {
+        // given
+        openShiftIndex.reserve(2L);
+
+        // when
+        when(movementRepository.findOpenIds()).thenReturn(Arrays.asList(
+                movementPK(MOVEMENT_ID, USER_ID), movementPK(MOVEMENT_ID + 1, USER_ID)));
+        openShiftIndex.rebuild();
+
+        // then
+        assertThat(openShiftIndex.find(USER_ID), is(equalTo(MOVEMENT_ID + 1)));
+        assertThat(openShiftIndex.reserve(2L), is(true));
+    }
+
+    @Test
+    void whenShiftIsOpenedInsideATransactionThenItShouldOnlyBeIndexedAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        openShiftIndex.reserve(USER_ID);
+
+        // when
+        openShiftIndex.open(USER_ID, MOVEMENT_ID);
+
+        // then
+        assertThat(openShiftIndex.find(USER_ID), is(nullValue()));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(openShiftIndex.find(USER_ID), is(equalTo(MOVEMENT_ID)));
+    }
+
+    @Test
+    void whenTransactionOpeningAShiftRollsBackThenTheReservationShouldBeReleased() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        openShiftIndex.reserve(USER_ID);
+
+        // when
+        openShiftIndex.open(USER_ID, MOVEMENT_ID);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        assertThat(openShiftIndex.find(USER_ID), is(nullValue()));
+        assertThat(openShiftIndex.reserve(USER_ID), is(true));
+    }
+
+    @Test
+    void whenTransactionClosingAShiftRollsBackThenTheShiftShouldBeRestored() {
+        // given
+        when(movementRepository.findOpenIds()).thenReturn(Collections.singletonList(movementPK(MOVEMENT_ID, USER_ID)));
+        openShiftIndex.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        Long claimed = openShiftIndex.claim(USER_ID);
+        openShiftIndex.restoreOnRollback(USER_ID, claimed);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        assertThat(openShiftIndex.find(USER_ID), is(equalTo(MOVEMENT_ID)));
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static MovementPK movementPK(Long movementId, Long userId) {
+        MovementPK id = new MovementPK();
+        id.setMovementId(movementId);
+        id.setUserId(userId);
+        return id;
+    }
+}
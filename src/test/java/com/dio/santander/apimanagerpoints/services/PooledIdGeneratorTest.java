@@ -0,0 +1,56 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.LongSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PooledIdGeneratorTest {
+    private static final int POOL_SIZE = 3;
+
+    @Mock
+    private KeySequenceService keySequenceService;
+
+    @Test
+    void whenPoolIsExhaustedThenANewBlockShouldBeReserved() {
+        // given
+        PooledIdGenerator pooledIdGenerator = new PooledIdGenerator(keySequenceService, true, POOL_SIZE);
+        LongSupplier initialValue = () -> 1L;
+
+        // when
+        when(keySequenceService.reserveBlock(eq(PooledIdGenerator.MOVEMENT), eq(POOL_SIZE), any(LongSupplier.class)))
+                .thenReturn(1L, 4L);
+
+        // then
+        assertThat(pooledIdGenerator.nextId(PooledIdGenerator.MOVEMENT, initialValue), is(equalTo(1L)));
+        assertThat(pooledIdGenerator.nextId(PooledIdGenerator.MOVEMENT, initialValue), is(equalTo(2L)));
+        assertThat(pooledIdGenerator.nextId(PooledIdGenerator.MOVEMENT, initialValue), is(equalTo(3L)));
+        assertThat(pooledIdGenerator.nextId(PooledIdGenerator.MOVEMENT, initialValue), is(equalTo(4L)));
+        verify(keySequenceService, times(2)).reserveBlock(eq(PooledIdGenerator.MOVEMENT), eq(POOL_SIZE), any(LongSupplier.class));
+    }
+
+    @Test
+    void whenDifferentSequencesAreUsedThenEachShouldHaveItsOwnPool() {
+        // given
+        PooledIdGenerator pooledIdGenerator = new PooledIdGenerator(keySequenceService, true, POOL_SIZE);
+
+        // when
+        when(keySequenceService.reserveBlock(eq(PooledIdGenerator.MOVEMENT), eq(POOL_SIZE), any(LongSupplier.class)))
+                .thenReturn(10L);
+        when(keySequenceService.reserveBlock(eq(PooledIdGenerator.BANK_OF_HOUR), eq(POOL_SIZE), any(LongSupplier.class)))
+                .thenReturn(100L);
+
+        // then
+        assertThat(pooledIdGenerator.nextId(PooledIdGenerator.MOVEMENT, () -> 1L), is(equalTo(10L)));
+        assertThat(pooledIdGenerator.nextId(PooledIdGenerator.BANK_OF_HOUR, () -> 1L), is(equalTo(100L)));
+    }
+}
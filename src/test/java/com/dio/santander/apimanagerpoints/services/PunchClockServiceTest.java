@@ -0,0 +1,142 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.MovementDTO;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.repositories.CalendarRepository;
+import com.dio.santander.apimanagerpoints.repositories.MovementRepository;
+import com.dio.santander.apimanagerpoints.repositories.OccurrenceRepository;
+import com.dio.santander.apimanagerpoints.repositories.UserRepository;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
+import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PunchClockServiceTest {
+    private static final Long VALID_USER_ID = 1L;
+    private static final Long INVALID_USER_ID = 2L;
+    private static final Long OPEN_MOVEMENT_ID = 1001L;
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OccurrenceRepository occurrenceRepository;
+
+    @Mock
+    private CalendarRepository calendarRepository;
+
+    @Mock
+    private OpenShiftIndex openShiftIndex;
+
+    @Mock
+    private PooledIdGenerator pooledIdGenerator;
+
+    @Mock
+    private MovementCalculationService movementCalculationService;
+
+    @Mock
+    private WorkedHoursService workedHoursService;
+
+    @InjectMocks
+    private PunchClockService punchClockService;
+
+    @Test
+    void whenClockInIsCalledWithoutOpenShiftThenAMovementShouldBeOpened() {
+        // when
+        when(userRepository.existsById(VALID_USER_ID)).thenReturn(true);
+        when(openShiftIndex.reserve(VALID_USER_ID)).thenReturn(true);
+        when(pooledIdGenerator.nextId(eq(PooledIdGenerator.MOVEMENT), any())).thenReturn(OPEN_MOVEMENT_ID);
+        when(movementRepository.persist(any(Movement.class))).then(returnsFirstArg());
+
+        // then
+        MovementDTO openedMovementDTO = punchClockService.clockIn(VALID_USER_ID, null, null);
+
+        assertThat(openedMovementDTO.getId().getUserId(), is(equalTo(VALID_USER_ID)));
+        assertThat(openedMovementDTO.getId().getMovementId(), is(equalTo(OPEN_MOVEMENT_ID)));
+        assertThat(openedMovementDTO.getDateOfIn(), is(notNullValue()));
+        assertThat(openedMovementDTO.getDateOfOut(), is(nullValue()));
+        verify(openShiftIndex, times(1)).open(VALID_USER_ID, OPEN_MOVEMENT_ID);
+    }
+
+    @Test
+    void whenClockInIsCalledWithOpenShiftThenAnExceptionShouldBeThrown() {
+        // when
+        when(userRepository.existsById(VALID_USER_ID)).thenReturn(true);
+        when(openShiftIndex.reserve(VALID_USER_ID)).thenReturn(false);
+
+        // then
+        assertThrows(ObjectAlreadyRegisteredException.class, () -> punchClockService.clockIn(VALID_USER_ID, null, null));
+        verify(movementRepository, never()).persist(any(Movement.class));
+    }
+
+    @Test
+    void whenClockInIsCalledWithNotExistingUserThenAnExceptionShouldBeThrown() {
+        // when
+        when(userRepository.existsById(INVALID_USER_ID)).thenReturn(false);
+
+        // then
+        assertThrows(ObjectNotFoundException.class, () -> punchClockService.clockIn(INVALID_USER_ID, null, null));
+        verify(openShiftIndex, never()).reserve(INVALID_USER_ID);
+    }
+
+    @Test
+    void whenClockInFailsToPersistThenTheReservationShouldBeReleased() {
+        // when
+        when(userRepository.existsById(VALID_USER_ID)).thenReturn(true);
+        when(openShiftIndex.reserve(VALID_USER_ID)).thenReturn(true);
+        when(pooledIdGenerator.nextId(eq(PooledIdGenerator.MOVEMENT), any())).thenReturn(OPEN_MOVEMENT_ID);
+        when(movementRepository.persist(any(Movement.class))).thenThrow(DataIntegrityViolationException.class);
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> punchClockService.clockIn(VALID_USER_ID, null, null));
+        verify(openShiftIndex, times(1)).release(VALID_USER_ID);
+    }
+
+    @Test
+    void whenClockOutIsCalledWithOpenShiftThenTheMovementShouldBeClosed() {
+        // given
+        Movement openMovement = new Movement();
+        openMovement.getId().setUserId(VALID_USER_ID);
+        openMovement.getId().setMovementId(OPEN_MOVEMENT_ID);
+        openMovement.setDateOfIn(LocalDateTime.now().minusMinutes(90));
+
+        // when
+        when(openShiftIndex.claim(VALID_USER_ID)).thenReturn(OPEN_MOVEMENT_ID);
+        when(movementRepository.findByPK(OPEN_MOVEMENT_ID, VALID_USER_ID)).thenReturn(openMovement);
+        when(movementRepository.saveAndFlush(openMovement)).thenReturn(openMovement);
+
+        // then
+        MovementDTO closedMovementDTO = punchClockService.clockOut(VALID_USER_ID);
+
+        assertThat(closedMovementDTO.getDateOfOut(), is(notNullValue()));
+        verify(movementCalculationService, times(1)).apply(openMovement);
+    }
+
+    @Test
+    void whenClockOutIsCalledWithoutOpenShiftThenAnExceptionShouldBeThrown() {
+        // when
+        when(openShiftIndex.claim(VALID_USER_ID)).thenReturn(null);
+
+        // then
+        assertThrows(ObjectNotFoundException.class, () -> punchClockService.clockOut(VALID_USER_ID));
+        verify(movementRepository, never()).saveAndFlush(any(Movement.class));
+    }
+}
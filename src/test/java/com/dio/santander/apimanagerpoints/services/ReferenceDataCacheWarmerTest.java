@@ -0,0 +1,69 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.builders.AccessLevelDTOBuilder;
+import com.dio.santander.apimanagerpoints.builders.WorkDayDTOBuilder;
+import com.dio.santander.apimanagerpoints.cache.CachingConfig;
+import com.dio.santander.apimanagerpoints.dtos.AccessLevelDTO;
+import com.dio.santander.apimanagerpoints.dtos.WorkDayDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceDataCacheWarmerTest {
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private AccessLevelService accessLevelService;
+
+    @Mock
+    private DateTypeService dateTypeService;
+
+    @Mock
+    private OccurrenceService occurrenceService;
+
+    @Mock
+    private UserCategoryService userCategoryService;
+
+    @Mock
+    private WorkDayService workDayService;
+
+    @InjectMocks
+    private ReferenceDataCacheWarmer referenceDataCacheWarmer;
+
+    @Test
+    void whenTheApplicationIsReadyThenEveryReferenceRecordShouldBeCachedById() {
+        // given
+        WorkDayDTO workDayDTO = WorkDayDTOBuilder.builder().build().toWorkDayDTO();
+        AccessLevelDTO accessLevelDTO = AccessLevelDTOBuilder.builder().build().toAccessLevelDTO();
+        ConcurrentMapCache workDays = new ConcurrentMapCache(CachingConfig.WORK_DAYS);
+        ConcurrentMapCache accessLevels = new ConcurrentMapCache(CachingConfig.ACCESS_LEVELS);
+
+        // when
+        when(cacheManager.getCache(anyString())).thenReturn(null);
+        when(cacheManager.getCache(CachingConfig.WORK_DAYS)).thenReturn(workDays);
+        when(cacheManager.getCache(CachingConfig.ACCESS_LEVELS)).thenReturn(accessLevels);
+        when(workDayService.findAll()).thenReturn(Collections.singletonList(workDayDTO));
+        when(accessLevelService.findAll()).thenReturn(Collections.singletonList(accessLevelDTO));
+
+        // then
+        referenceDataCacheWarmer.warmUp();
+
+        assertThat(workDays.get(workDayDTO.getId(), WorkDayDTO.class), is(equalTo(workDayDTO)));
+        assertThat(accessLevels.get(accessLevelDTO.getId(), AccessLevelDTO.class), is(equalTo(accessLevelDTO)));
+        verify(dateTypeService, times(1)).findAll();
+        verify(occurrenceService, times(1)).findAll();
+        verify(userCategoryService, times(1)).findAll();
+    }
+}
@@ -0,0 +1,43 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RowCountCacheTest {
+    private final RowCountCache rowCountCache = new RowCountCache(60);
+
+    @Test
+    void whenACountIsCachedThenTheCounterShouldRunOnlyOnce() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        long first = rowCountCache.count(Movement.class, () -> calls.incrementAndGet() * 100L);
+        long second = rowCountCache.count(Movement.class, () -> calls.incrementAndGet() * 100L);
+
+        // then
+        assertThat(first, is(equalTo(100L)));
+        assertThat(second, is(equalTo(100L)));
+        assertThat(calls.get(), is(equalTo(1)));
+    }
+
+    @Test
+    void whenACountIsInvalidatedThenItShouldBeCountedAgain() {
+        // given
+        rowCountCache.count(Movement.class, () -> 100L);
+        rowCountCache.count(User.class, () -> 7L);
+
+        // when
+        rowCountCache.invalidate(Movement.class);
+
+        // then
+        assertThat(rowCountCache.count(Movement.class, () -> 101L), is(equalTo(101L)));
+        assertThat(rowCountCache.count(User.class, () -> 8L), is(equalTo(7L)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.TimesheetFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TimesheetExportServiceTest {
+    private static final Long VALID_COMPANY_ID = 1L;
+    private static final YearMonth MONTH = YearMonth.of(2021, 7);
+
+    private EmbeddedDatabase dataSource;
+    private TimesheetExportService timesheetExportService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table user (id bigint primary key, name varchar(255), company_id bigint)");
+        jdbcTemplate.execute("create table occurrence (id bigint primary key, name varchar(255))");
+        jdbcTemplate.execute("create table calendar (id bigint primary key, description varchar(255))");
+        jdbcTemplate.execute("create table movement (movement_id bigint, user_id bigint, date_of_in timestamp, " +
+                "date_of_out timestamp, period decimal(19, 2), late_minutes integer, early_leave_minutes integer, " +
+                "regular_minutes integer, overtime_minutes integer, night_minutes integer, holiday_minutes integer, " +
+                "occurrence_id bigint, calendar_id bigint, primary key (movement_id, user_id))");
+        jdbcTemplate.update("insert into user values (1, 'Maria, da Silva', 1), (2, 'João', 1), (3, 'Outra', 2)");
+        jdbcTemplate.update("insert into occurrence values (1, 'Normal')");
+        jdbcTemplate.update("insert into calendar values (1, 'Dia útil')");
+        jdbcTemplate.update("insert into movement values " +
+                "(1, 1, '2021-07-05 08:00:00', '2021-07-05 17:00:00', 9.00, 0, 0, 480, 60, 0, 0, 1, 1), " +
+                "(2, 2, '2021-07-05 08:20:00', '2021-07-05 17:00:00', 8.67, 20, 0, 520, 0, 0, 0, 1, null), " +
+                "(3, 1, '2021-08-02 08:00:00', '2021-08-02 17:00:00', 9.00, 0, 0, 540, 0, 0, 0, 1, 1), " +
+                "(4, 3, '2021-07-05 08:00:00', '2021-07-05 17:00:00', 9.00, 0, 0, 540, 0, 0, 0, 1, 1)");
+        timesheetExportService = new TimesheetExportService(dataSource, new ObjectMapper(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void whenCsvIsExportedThenOnlyTheCompanyMonthShouldBeWritten() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        timesheetExportService.export(VALID_COMPANY_ID, MONTH, TimesheetFormat.CSV, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertThat(lines.length, is(equalTo(3)));
+        assertThat(lines[0], startsWith("userId,userName,movementId,dateOfIn"));
+        assertThat(lines[0], containsString("earlyLeaveMinutes,regularMinutes,overtimeMinutes,nightMinutes,holidayMinutes"));
+        assertThat(lines[1], is(equalTo(
+                "1,\"Maria, da Silva\",1,2021-07-05T08:00,2021-07-05T17:00,9.00,0,0,480,60,0,0,Normal,Dia útil")));
+        assertThat(lines[2], endsWith(",20,0,520,0,0,0,Normal,"));
+    }
+
+    @Test
+    void whenJsonIsExportedThenEachMovementShouldBeAnObject() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        timesheetExportService.export(VALID_COMPANY_ID, MONTH, TimesheetFormat.JSON, out);
+
+        // then
+        JsonNode timesheet = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(timesheet.size(), is(equalTo(2)));
+        assertThat(timesheet.get(1).get("userName").asText(), is(equalTo("João")));
+        assertThat(timesheet.get(1).get("period").decimalValue(), is(comparesEqualTo(new BigDecimal("8.67"))));
+        assertThat(timesheet.get(1).get("calendar").isNull(), is(true));
+        assertThat(timesheet.get(0).get("regularMinutes").asInt(), is(equalTo(480)));
+        assertThat(timesheet.get(0).get("overtimeMinutes").asInt(), is(equalTo(60)));
+        assertThat(timesheet.get(1).get("holidayMinutes").asInt(), is(equalTo(0)));
+    }
+}
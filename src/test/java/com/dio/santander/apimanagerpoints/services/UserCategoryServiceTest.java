@@ -30,6 +30,9 @@ public class UserCategoryServiceTest {
     @Mock
     private UserCategoryRepository userCategoryRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private UserCategoryMapper userCategoryMapper = UserCategoryMapper.INSTANCE;
 
     @InjectMocks
@@ -99,7 +102,7 @@ public class UserCategoryServiceTest {
         when(userCategoryRepository.save(expectedUpdatedUserCategory)).thenReturn(expectedUpdatedUserCategory);
 
         // then
-        UserCategoryDTO updateUserCategoryDTO = userCategoryService.update(expectedUpdatedUserCategoryDTO);
+        UserCategoryDTO updateUserCategoryDTO = userCategoryService.update(expectedUpdatedUserCategoryDTO, null);
 
         assertThat(updateUserCategoryDTO, is(equalTo(expectedUpdatedUserCategoryDTO)));
     }
@@ -113,7 +116,7 @@ public class UserCategoryServiceTest {
         when(userCategoryRepository.findById(VALID_USER_CATEGORY_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> userCategoryService.update(expectedFoundUserCategoryDTO));
+        assertThrows(ObjectNotFoundException.class, () -> userCategoryService.update(expectedFoundUserCategoryDTO, null));
     }
 
     @Test
@@ -151,13 +154,13 @@ public class UserCategoryServiceTest {
 
         // when
         when(userCategoryRepository.findById(VALID_USER_CATEGORY_ID)).thenReturn(Optional.of(expectedDeletedUserCategory));
-        doNothing().when(userCategoryRepository).deleteById(VALID_USER_CATEGORY_ID);
+        doNothing().when(userCategoryRepository).delete(expectedDeletedUserCategory);
 
         // then
-        userCategoryService.delete(VALID_USER_CATEGORY_ID);
+        userCategoryService.delete(VALID_USER_CATEGORY_ID, null);
 
         verify(userCategoryRepository, times(1)).findById(VALID_USER_CATEGORY_ID);
-        verify(userCategoryRepository, times(1)).deleteById(VALID_USER_CATEGORY_ID);
+        verify(userCategoryRepository, times(1)).delete(expectedDeletedUserCategory);
     }
 
     @Test
@@ -166,6 +169,6 @@ public class UserCategoryServiceTest {
         when(userCategoryRepository.findById(INVALID_USER_CATEGORY_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> userCategoryService.delete(INVALID_USER_CATEGORY_ID));
+        assertThrows(ObjectNotFoundException.class, () -> userCategoryService.delete(INVALID_USER_CATEGORY_ID, null));
     }
 }
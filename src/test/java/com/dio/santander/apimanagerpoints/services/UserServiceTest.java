@@ -30,6 +30,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private UserMapper userMapper = UserMapper.INSTANCE;
 
     @InjectMocks
@@ -99,7 +102,7 @@ public class UserServiceTest {
         when(userRepository.save(expectedUser)).thenReturn(expectedUser);
 
         // then
-        UserDTO updateUserDTO = userService.update(expectedUserDTO);
+        UserDTO updateUserDTO = userService.update(expectedUserDTO, null);
 
         assertThat(updateUserDTO, is(equalTo(expectedUserDTO)));
     }
@@ -113,34 +116,7 @@ public class UserServiceTest {
         when(userRepository.findById(VALID_USER_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> userService.update(expectedUserDTO));
-    }
-
-    @Test
-    void whenListUserIsCalledThenReturnAListOfUser() {
-        // given
-        UserDTO expectedUserDTO = UserDTOBuilder.builder().build().toUserDTO();
-        User expectedUser = userMapper.toModel(expectedUserDTO);
-
-        // when
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(expectedUser));
-
-        // then
-        List<UserDTO> listUserDTO = userService.findAll();
-
-        assertThat(listUserDTO, is(not(empty())));
-        assertThat(listUserDTO.get(0), is(equalTo(expectedUserDTO)));
-    }
-
-    @Test
-    void whenListUserIsCalledThenReturnAnEmptyListOfUser() {
-        // when
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
-
-        // then
-        List<UserDTO> listUserDTO = userService.findAll();
-
-        assertThat(listUserDTO, is(empty()));
+        assertThrows(ObjectNotFoundException.class, () -> userService.update(expectedUserDTO, null));
     }
 
     @Test
@@ -151,13 +127,13 @@ public class UserServiceTest {
 
         //  when
         when(userRepository.findById(VALID_USER_ID)).thenReturn(Optional.of(expectedUser));
-        doNothing().when(userRepository).deleteById(VALID_USER_ID);
+        doNothing().when(userRepository).delete(expectedUser);
 
         // then
-        userService.delete(VALID_USER_ID);
+        userService.delete(VALID_USER_ID, null);
 
         verify(userRepository, times(1)).findById(VALID_USER_ID);
-        verify(userRepository, times(1)).deleteById(VALID_USER_ID);
+        verify(userRepository, times(1)).delete(expectedUser);
     }
 
     @Test
@@ -166,6 +142,6 @@ public class UserServiceTest {
         when(userRepository.findById(INVALID_USER_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> userService.delete(INVALID_USER_ID));
+        assertThrows(ObjectNotFoundException.class, () -> userService.delete(INVALID_USER_ID, null));
     }
 }
@@ -7,6 +7,7 @@ import com.dio.santander.apimanagerpoints.models.WorkDay;
 import com.dio.santander.apimanagerpoints.repositories.WorkDayRepository;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectAlreadyRegisteredException;
 import com.dio.santander.apimanagerpoints.services.exceptions.ObjectNotFoundException;
+import com.dio.santander.apimanagerpoints.services.exceptions.PreconditionFailedException;
 import lombok.With;
 import org.hamcrest.core.Is;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Collections;
 import java.util.List;
@@ -35,6 +37,9 @@ public class WorkDayServiceTest {
     @Mock
     private WorkDayRepository workDayRepository;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
     private WorkDayMapper workDayMapper = WorkDayMapper.INSTANCE;
 
     @InjectMocks
@@ -105,7 +110,7 @@ public class WorkDayServiceTest {
         when(workDayRepository.save(expectedUpdatedWorkDay)).thenReturn(expectedUpdatedWorkDay);
 
         // then
-        WorkDayDTO updateWorkDayDTO = workDayService.update(expectedUpdatedWorkDayDTO);
+        WorkDayDTO updateWorkDayDTO = workDayService.update(expectedUpdatedWorkDayDTO, null);
 
         assertThat(updateWorkDayDTO.getId(), is(equalTo(expectedUpdatedWorkDayDTO.getId())));
         assertThat(updateWorkDayDTO.getDescription(), is(equalTo(expectedUpdatedWorkDayDTO.getDescription())));
@@ -120,7 +125,51 @@ public class WorkDayServiceTest {
         when(workDayRepository.findById(VALID_WORK_DAY_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> workDayService.update(expectedFoundWorkDayDTO));
+        assertThrows(ObjectNotFoundException.class, () -> workDayService.update(expectedFoundWorkDayDTO, null));
+    }
+
+    @Test
+    void whenUpdateIsCalledWithStaleVersionThenAnExceptionShouldBeThrown() {
+        // given
+        WorkDayDTO expectedFoundWorkDayDTO = WorkDayDTOBuilder.builder().build().toWorkDayDTO();
+
+        // when
+        when(workDayRepository.updateVersioned(any(WorkDay.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(WorkDay.class, VALID_WORK_DAY_ID));
+        when(workDayRepository.existsById(VALID_WORK_DAY_ID)).thenReturn(true);
+
+        // then
+        assertThrows(PreconditionFailedException.class, () -> workDayService.update(expectedFoundWorkDayDTO, 2L));
+        verify(workDayRepository, never()).findById(any());
+    }
+
+    @Test
+    void whenUpdateIsCalledWithMatchingVersionThenAVersionedUpdateShouldBeIssued() {
+        // given
+        WorkDayDTO expectedUpdatedWorkDayDTO = WorkDayDTOBuilder.builder().build().toWorkDayDTO();
+        WorkDay expectedUpdatedWorkDay = workDayMapper.toModel(expectedUpdatedWorkDayDTO);
+        expectedUpdatedWorkDay.setVersion(2L);
+
+        // when
+        when(workDayRepository.updateVersioned(expectedUpdatedWorkDay)).thenReturn(expectedUpdatedWorkDay);
+
+        // then
+        WorkDayDTO updateWorkDayDTO = workDayService.update(expectedUpdatedWorkDayDTO, 2L);
+
+        assertThat(updateWorkDayDTO.getDescription(), is(equalTo(expectedUpdatedWorkDayDTO.getDescription())));
+        verify(workDayRepository, never()).findById(any());
+    }
+
+    @Test
+    void whenExclusionIsCalledWithStaleVersionThenAnExceptionShouldBeThrown() {
+        // when
+        doThrow(new ObjectOptimisticLockingFailureException(WorkDay.class, VALID_WORK_DAY_ID))
+                .when(workDayRepository).deleteVersioned(any(WorkDay.class));
+        when(workDayRepository.existsById(VALID_WORK_DAY_ID)).thenReturn(true);
+
+        // then
+        assertThrows(PreconditionFailedException.class, () -> workDayService.delete(VALID_WORK_DAY_ID, 2L));
+        verify(workDayRepository, never()).findById(any());
     }
 
     @Test
@@ -158,13 +207,13 @@ public class WorkDayServiceTest {
 
         // when
         when(workDayRepository.findById(VALID_WORK_DAY_ID)).thenReturn(Optional.of(expectedDeletedWorkDay));
-        doNothing().when(workDayRepository).deleteById(VALID_WORK_DAY_ID);
+        doNothing().when(workDayRepository).delete(expectedDeletedWorkDay);
 
         // then
-        workDayService.delete(VALID_WORK_DAY_ID);
+        workDayService.delete(VALID_WORK_DAY_ID, null);
 
         verify(workDayRepository, times(1)).findById(VALID_WORK_DAY_ID);
-        verify(workDayRepository, times(1)).deleteById(VALID_WORK_DAY_ID);
+        verify(workDayRepository, times(1)).delete(expectedDeletedWorkDay);
     }
 
     @Test
@@ -173,6 +222,6 @@ public class WorkDayServiceTest {
         when(workDayRepository.findById(INVALID_WORK_DAY_ID)).thenReturn(Optional.empty());
 
         // then
-        assertThrows(ObjectNotFoundException.class, () -> workDayService.delete(INVALID_WORK_DAY_ID));
+        assertThrows(ObjectNotFoundException.class, () -> workDayService.delete(INVALID_WORK_DAY_ID, null));
     }
 }
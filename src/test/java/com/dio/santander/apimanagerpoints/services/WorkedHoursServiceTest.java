@@ -0,0 +1,131 @@
+package com.dio.santander.apimanagerpoints.services;
+
+import com.dio.santander.apimanagerpoints.dtos.Granularity;
+import com.dio.santander.apimanagerpoints.dtos.WorkedHoursDTO;
+import com.dio.santander.apimanagerpoints.models.Movement;
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDaily;
+import com.dio.santander.apimanagerpoints.models.WorkedHoursDailyPK;
+import com.dio.santander.apimanagerpoints.repositories.WorkedHoursDailyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WorkedHoursServiceTest {
+    private static final long VALID_USER_ID = 1L;
+    private static final LocalDate DAY = LocalDate.parse("2021-07-05");
+
+    @Mock
+    private WorkedHoursDailyRepository workedHoursDailyRepository;
+
+    @Mock
+    private HolidayCalendarIndex holidayCalendarIndex;
+
+    @InjectMocks
+    private WorkedHoursService workedHoursService;
+
+    @Test
+    void whenAMovementIsCreatedThenItsDayShouldBeUpserted() {
+        // given
+        Movement movement = movement("2021-07-05T08:00:00", "8.50", 5);
+
+        // when
+        workedHoursService.apply(null, movement);
+
+        // then
+        verify(workedHoursDailyRepository, times(1)).addTo(VALID_USER_ID, DAY, 510, 5, 0, 1);
+        verify(workedHoursDailyRepository, never()).save(any(WorkedHoursDaily.class));
+    }
+
+    @Test
+    void whenAMovementIsUpdatedThenOnlyTheDifferenceShouldBeApplied() {
+        // given
+        Movement previous = movement("2021-07-05T08:00:00", "8.50", 5);
+        Movement current = movement("2021-07-05T08:00:00", "9.00", 0);
+
+        // when
+        workedHoursService.apply(previous, current);
+
+        // then
+        verify(workedHoursDailyRepository, times(1)).addTo(VALID_USER_ID, DAY, 30, -5, 0, 0);
+    }
+
+    @Test
+    void whenWeeklyHoursAreRequestedThenDaysShouldBeGroupedByIsoWeek() {
+        // given
+        LocalDate from = LocalDate.parse("2021-07-01");
+        LocalDate to = LocalDate.parse("2021-07-31");
+        List<WorkedHoursDaily> days = Arrays.asList(
+                daily("2021-07-02", 480),
+                daily("2021-07-05", 510),
+                daily("2021-07-06", 450));
+
+        // when
+        when(workedHoursDailyRepository.findByUserBetween(VALID_USER_ID, from, to)).thenReturn(days);
+
+        // then
+        List<WorkedHoursDTO> weeks = workedHoursService.find(VALID_USER_ID, Granularity.WEEK, from, to);
+
+        assertThat(weeks, hasSize(2));
+        assertThat(weeks.get(0).getPeriod(), is(equalTo("2021-W26")));
+        assertThat(weeks.get(1).getPeriod(), is(equalTo("2021-W27")));
+        assertThat(weeks.get(1).getStart(), is(equalTo("2021-07-05")));
+        assertThat(weeks.get(1).getWorkedMinutes(), is(equalTo(960)));
+        assertThat(weeks.get(1).getWorkedHours(), is(comparesEqualTo(new BigDecimal("16.00"))));
+    }
+
+    @Test
+    void whenMonthlyHoursAreRequestedThenDaysShouldBeGroupedByMonth() {
+        // given
+        LocalDate from = LocalDate.parse("2021-07-01");
+        LocalDate to = LocalDate.parse("2021-08-31");
+        List<WorkedHoursDaily> days = Arrays.asList(
+                daily("2021-07-02", 480),
+                daily("2021-07-30", 480),
+                daily("2021-08-02", 420));
+
+        // when
+        when(workedHoursDailyRepository.findByUserBetween(VALID_USER_ID, from, to)).thenReturn(days);
+        when(holidayCalendarIndex.businessDaysBetween(from, LocalDate.parse("2021-08-01"))).thenReturn(21);
+        when(holidayCalendarIndex.businessDaysBetween(LocalDate.parse("2021-08-01"), LocalDate.parse("2021-09-01")))
+                .thenReturn(22);
+
+        // then
+        List<WorkedHoursDTO> months = workedHoursService.find(VALID_USER_ID, Granularity.MONTH, from, to);
+
+        assertThat(months, hasSize(2));
+        assertThat(months.get(0).getPeriod(), is(equalTo("2021-07")));
+        assertThat(months.get(0).getWorkedMinutes(), is(equalTo(960)));
+        assertThat(months.get(0).getBusinessDays(), is(equalTo(21)));
+        assertThat(months.get(1).getMovements(), is(equalTo(1)));
+    }
+
+    private static Movement movement(String dateOfIn, String period, int lateMinutes) {
+        Movement movement = new Movement();
+        movement.getId().setUserId(VALID_USER_ID);
+        movement.getId().setMovementId(1L);
+        movement.setDateOfIn(LocalDateTime.parse(dateOfIn));
+        movement.setDateOfOut(movement.getDateOfIn().plusHours(9));
+        movement.setPeriod(new BigDecimal(period));
+        movement.setLateMinutes(lateMinutes);
+        movement.setEarlyLeaveMinutes(0);
+        return movement;
+    }
+
+    private static WorkedHoursDaily daily(String day, int workedMinutes) {
+        return new WorkedHoursDaily(new WorkedHoursDailyPK(VALID_USER_ID, LocalDate.parse(day)), workedMinutes, 0, 0, 1);
+    }
+}